@@ -0,0 +1,279 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+import java.util.WeakHashMap;
+
+/**
+ * The BKTreeSuggestionEngine class suggests the dictionary words closest to a
+ * misspelled word by searching a BK-tree built over the English dictionary.
+ * Each node of the tree holds a word, and its children are grouped by their
+ * distance from it; by the triangle inequality, a search for words within k
+ * edits only needs to visit the children whose distance is within k of the
+ * searched word's distance to the node. Distances are unrestricted
+ * Damerau-Levenshtein distances (see EditDistance), so swapped letters count
+ * as one edit.
+ *
+ * The tree is shared by every engine made for the same English dictionary, so
+ * it survives across documents. It should be built ahead of time with prepare,
+ * for example when the dictionary is preloaded by DictionaryRegistry; otherwise
+ * it is built the first time a suggestion is asked for. A search only keeps
+ * the best SUGGESTION_SLOTS words (the number of suggestion buttons shown by
+ * SpellCheckInterface). The radius starts at 0 and grows one edit at a time,
+ * stopping as soon as the slots are filled, and within a search the radius
+ * shrinks to the worst word kept once they are full.
+ * User dictionary words are compared directly, since the user dictionary is
+ * small and changes; each is compared once per suggestion, not once per radius.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class BKTreeSuggestionEngine implements SuggestionEngine {
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+    public static final int SUGGESTION_SLOTS = 5;
+
+    private static final WeakHashMap<EnglishDictionary, BKTree> trees = new WeakHashMap<>();
+
+    private final EnglishDictionary englishDictionary;
+    private final UserDictionary userDictionary;
+    private final int maxDistance;
+    private final int limit;
+    private int visitedNodes;
+
+    /**
+     * Constructor for the BK-tree suggestion engine class, suggesting the best
+     * SUGGESTION_SLOTS words up to DEFAULT_MAX_DISTANCE edits away.
+     *
+     * @param englishDictionary the English dictionary to search
+     * @param userDictionary the user dictionary to search
+     */
+    public BKTreeSuggestionEngine(EnglishDictionary englishDictionary, UserDictionary userDictionary) {
+        this(englishDictionary, userDictionary, DEFAULT_MAX_DISTANCE, SUGGESTION_SLOTS);
+    }
+
+    /**
+     * Constructor for the BK-tree suggestion engine class. The tree is not built
+     * here; it is built by prepare, or by the first suggestion if prepare was not called.
+     *
+     * @param englishDictionary the English dictionary to search
+     * @param userDictionary the user dictionary to search
+     * @param maxDistance the largest number of edits between a misspelling and a suggestion
+     * @param limit the largest number of suggestions to return
+     */
+    public BKTreeSuggestionEngine(EnglishDictionary englishDictionary, UserDictionary userDictionary, int maxDistance, int limit) {
+        if (maxDistance < 0) throw new IllegalArgumentException("Maximum distance must not be negative: " + maxDistance);
+        if (limit < 1) throw new IllegalArgumentException("Limit must be at least 1: " + limit);
+        this.englishDictionary = englishDictionary;
+        this.userDictionary = userDictionary;
+        this.maxDistance = maxDistance;
+        this.limit = limit;
+    }
+
+    /**
+     * Builds the shared BK-tree for a dictionary, unless it is already built, so
+     * the first suggestion does not have to wait for it.
+     *
+     * @param englishDictionary the English dictionary to build the tree for
+     */
+    public static void prepare(EnglishDictionary englishDictionary) {
+        treeFor(englishDictionary);
+    }
+
+    /**
+     * Checks if the shared BK-tree for a dictionary has been built.
+     *
+     * @param englishDictionary the English dictionary to check
+     * @return true if the tree is built, false otherwise
+     */
+    static synchronized boolean isPrepared(EnglishDictionary englishDictionary) {
+        return trees.containsKey(englishDictionary);
+    }
+
+    /**
+     * Retrieves the shared BK-tree for a dictionary, building it if needed.
+     */
+    private static synchronized BKTree treeFor(EnglishDictionary englishDictionary) {
+        return trees.computeIfAbsent(englishDictionary, BKTree::new);
+    }
+
+    /**
+     * Suggests the closest dictionary words within the maximum distance of a word,
+     * closest first, and in alphabetical order among words the same distance away.
+     *
+     * @param word the misspelled word, in lowercase and without punctuation
+     * @return an ArrayList<String> containing at most limit suggested words
+     */
+    @Override
+    public ArrayList<String> suggest(String word) {
+        String lowerWord = word.toLowerCase();
+        BKTree tree = treeFor(englishDictionary);
+        ArrayList<Candidate> best = new ArrayList<Candidate>();
+
+        // user words are compared once, and offered again at each radius
+        ArrayList<Candidate> userCandidates = new ArrayList<Candidate>();
+        userDictionary.forEachWord(userWord -> {
+            int distance = EditDistance.unrestrictedDamerauLevenshtein(lowerWord, userWord, maxDistance);
+            if (distance <= maxDistance) userCandidates.add(new Candidate(userWord, distance));
+        });
+
+        // search with a growing radius, so words one edit away can fill the slots before the wider search
+        visitedNodes = 0;
+        for (int radius = 0; radius <= maxDistance && best.size() < limit; radius++) {
+            for (Candidate userCandidate : userCandidates) {
+                offer(best, userCandidate.word, userCandidate.distance, radius);
+            }
+            if (tree.words.length > 0) search(tree, lowerWord, radius, best);
+        }
+
+        ArrayList<String> suggestedCorrections = new ArrayList<String>();
+        for (Candidate candidate : best) {
+            suggestedCorrections.add(candidate.word);
+        }
+        return suggestedCorrections;
+    }
+
+    /**
+     * Searches the tree for words within a radius of a word. Once the best suggestions
+     * fill up, the radius shrinks to the worst of them.
+     *
+     * @param tree the tree to search
+     * @param word the misspelled word
+     * @param radius the largest distance of a word to find
+     * @param best the best suggestions found so far, which found words are offered to
+     */
+    private void search(BKTree tree, String word, int radius, ArrayList<Candidate> best) {
+        int[] stack = new int[16];
+        int stackSize = 0;
+        stack[stackSize++] = 0; // the root
+        while (stackSize > 0) {
+            int node = stack[--stackSize];
+            visitedNodes++;
+            int bound = radius + tree.maxChildDistance[node]; // no child can be in range of a node further than this
+            int distance = EditDistance.unrestrictedDamerauLevenshtein(word, tree.words[node], bound);
+            if (distance > bound) continue;
+            radius = offer(best, tree.words[node], distance, radius);
+            for (int child = tree.firstChild[node]; child >= 0; child = tree.nextSibling[child]) {
+                if (Math.abs(tree.edgeDistance[child] - distance) > radius) continue; // too far by the triangle inequality
+                if (stackSize == stack.length) stack = Arrays.copyOf(stack, 2 * stack.length);
+                stack[stackSize++] = child;
+            }
+        }
+    }
+
+    /**
+     * Offers a word to the best suggestions found so far, keeping them sorted and
+     * at most limit long.
+     *
+     * @param best the best suggestions found so far
+     * @param word the word to offer
+     * @param distance the word's distance from the misspelling
+     * @param radius the current search radius
+     * @return the new search radius: the worst distance kept, once the list is full
+     */
+    private int offer(ArrayList<Candidate> best, String word, int distance, int radius) {
+        if (distance > radius) return radius;
+        Candidate candidate = new Candidate(word, distance);
+        int position = Collections.binarySearch(best, candidate);
+        if (position >= 0) return radius; // already suggested
+        best.add(-position - 1, candidate);
+        if (best.size() > limit) best.remove(best.size() - 1);
+        return best.size() == limit ? best.get(limit - 1).distance : radius;
+    }
+
+    /**
+     * Retrieves the number of tree nodes the last suggestion visited, counting nodes
+     * visited again by a wider search.
+     *
+     * @return the number of nodes compared with the last misspelling
+     */
+    public int getVisitedNodeCount() {
+        return visitedNodes;
+    }
+
+    /**
+     * Retrieves the number of words in the shared BK-tree, building it if needed.
+     *
+     * @return the number of words in the tree
+     */
+    public int getTreeSize() {
+        return treeFor(englishDictionary).words.length;
+    }
+
+    /**
+     * A suggested word and its distance from the misspelling, ordered by distance
+     * and then alphabetically.
+     */
+    private static class Candidate implements Comparable<Candidate> {
+        final String word;
+        final int distance;
+
+        Candidate(String word, int distance) {
+            this.word = word;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            if (distance != other.distance) return Integer.compare(distance, other.distance);
+            return word.compareTo(other.word);
+        }
+    }
+
+    /**
+     * The BK-tree of an English dictionary, stored in arrays indexed by node. Each
+     * node's children form a linked list through nextSibling, edgeDistance holds a
+     * child's distance from its parent, and maxChildDistance the largest distance of
+     * a node's children (0 for a leaf). Node 0 is the root.
+     */
+    private static class BKTree {
+        final String[] words;
+        final int[] firstChild;
+        final int[] nextSibling;
+        final int[] edgeDistance;
+        final int[] maxChildDistance;
+
+        BKTree(EnglishDictionary englishDictionary) {
+            ArrayList<String> wordList = new ArrayList<String>(englishDictionary.size());
+            englishDictionary.forEachWord(wordList::add);
+            Collections.shuffle(wordList, new Random(0)); // sorted insertion makes a deep, lopsided tree
+
+            words = wordList.toArray(new String[0]);
+            firstChild = new int[words.length];
+            nextSibling = new int[words.length];
+            edgeDistance = new int[words.length];
+            maxChildDistance = new int[words.length];
+            Arrays.fill(firstChild, -1);
+            Arrays.fill(nextSibling, -1);
+
+            for (int node = 1; node < words.length; node++) {
+                insert(node);
+            }
+        }
+
+        /**
+         * Hangs a node below the first node on its path whose children have no word
+         * at the same distance.
+         */
+        private void insert(int node) {
+            int parent = 0;
+            while (true) {
+                int distance = EditDistance.unrestrictedDamerauLevenshtein(words[node], words[parent]);
+                int child = firstChild[parent];
+                while (child >= 0 && edgeDistance[child] != distance) child = nextSibling[child];
+                if (child < 0) {
+                    edgeDistance[node] = distance;
+                    nextSibling[node] = firstChild[parent];
+                    firstChild[parent] = node;
+                    maxChildDistance[parent] = Math.max(maxChildDistance[parent], distance);
+                    return;
+                }
+                parent = child;
+            }
+        }
+    }
+}
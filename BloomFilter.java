@@ -0,0 +1,253 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The BloomFilter class is a compact probabilistic set of words, used in front
+ * of the dictionaries to reject words that are definitely not in them before
+ * any hash set or DAWG lookup is made. A filter never rejects a word that was
+ * added, and wrongly accepts a word that was not added at roughly the false
+ * positive rate it was created with. Words are folded to lowercase while they
+ * are hashed.
+ *
+ * The filter counts its answers: a hit is a word the filter let through to the
+ * dictionary, and a miss is a word it rejected.
+ *
+ * A filter can be written into a compiled dictionary file and read back as a
+ * view of the mapped file, so its bits are not rebuilt or copied onto the heap.
+ * The written form (big-endian) is the bit count, the hash count, the number of
+ * words the filter was sized for and its false positive rate, followed by the
+ * bits as longs.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class BloomFilter {
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+    static final int HEADER_SIZE = 24; // the bytes written before the bits
+
+    private final LongBuffer bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int capacity;
+    private final double falsePositiveRate;
+    private int wordCount;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructor for the bloom filter class. Sizes the filter so that after
+     * the expected number of words have been added, it wrongly accepts words
+     * at about the given false positive rate.
+     *
+     * @param expectedWords the number of words expected to be added
+     * @param falsePositiveRate the wanted false positive rate, between 0 and 1 (exclusive)
+     */
+    public BloomFilter(int expectedWords, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        this.capacity = Math.max(1, expectedWords);
+        this.falsePositiveRate = falsePositiveRate;
+        // optimal size m = -n ln(p) / ln(2)^2 bits, with k = (m / n) ln(2) hash functions
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bitCount = Math.max(64, optimalBits);
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * Math.log(2)));
+        bits = LongBuffer.wrap(new long[(int) ((bitCount + 63) / 64)]);
+    }
+
+    /**
+     * Constructor for a bloom filter whose bits were written by another filter.
+     */
+    private BloomFilter(LongBuffer bits, long bitCount, int hashCount, int capacity, double falsePositiveRate) {
+        this.bits = bits;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.capacity = capacity;
+        this.falsePositiveRate = falsePositiveRate;
+        this.wordCount = capacity;
+    }
+
+    /**
+     * Reads a filter written by write. The filter's bits are a view of the
+     * buffer, so a filter read from a mapped file stays in the file.
+     *
+     * @param section the written filter, from the buffer's position to its limit, which are not moved
+     * @return the filter
+     * @throws IOException if the section is not a whole written filter
+     */
+    public static BloomFilter read(ByteBuffer section) throws IOException {
+        int start = section.position();
+        if (section.remaining() < HEADER_SIZE) throw new IOException("Bloom filter is truncated");
+        long bitCount = section.getLong(start);
+        int hashCount = section.getInt(start + 8);
+        int capacity = section.getInt(start + 12);
+        double falsePositiveRate = section.getDouble(start + 16);
+        if (bitCount < 64 || hashCount < 1 || capacity < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)
+                || HEADER_SIZE + 8 * ((bitCount + 63) / 64) != section.remaining()) {
+            throw new IOException("Bloom filter is damaged");
+        }
+        LongBuffer bits = section.duplicate().position(start + HEADER_SIZE).slice().order(section.order()).asLongBuffer();
+        return new BloomFilter(bits, bitCount, hashCount, capacity, falsePositiveRate);
+    }
+
+    /**
+     * Writes the filter to a buffer, to be read back by read.
+     *
+     * @param out the buffer to write to, from its position, which is moved past the filter
+     */
+    public void write(ByteBuffer out) {
+        out.putLong(bitCount);
+        out.putInt(hashCount);
+        out.putInt(capacity);
+        out.putDouble(falsePositiveRate);
+        for (int i = 0; i < bits.capacity(); i++) {
+            out.putLong(bits.get(i));
+        }
+    }
+
+    /**
+     * Retrieves the number of bytes write puts into a buffer.
+     *
+     * @return the size of the written filter
+     */
+    public int getWrittenSize() {
+        return HEADER_SIZE + 8 * bits.capacity();
+    }
+
+    /**
+     * Adds a word to the filter.
+     *
+     * @param word the word to add
+     */
+    public void add(String word) {
+        long hash = hash(word, 0, word.length());
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            int index = (int) (bit >>> 6);
+            bits.put(index, bits.get(index) | 1L << bit);
+        }
+        wordCount++;
+    }
+
+    /**
+     * Checks if a word may have been added to the filter. A false answer is
+     * always correct; a true answer may be a false positive.
+     *
+     * @param word the word to check
+     * @return false if the word was definitely not added, true if it may have been
+     */
+    public boolean mightContain(String word) {
+        return mightContain(word, 0, word.length());
+    }
+
+    /**
+     * Checks if part of a buffer, ignoring case, may be a word added to the filter.
+     * No objects are created by the check.
+     *
+     * @param buffer the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return false if the word was definitely not added, true if it may have been
+     */
+    public boolean mightContain(CharSequence buffer, int start, int end) {
+        long hash = hash(buffer, start, end);
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                misses.increment();
+                return false;
+            }
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Hashes part of a word with 64-bit FNV-1a, folding each character to lowercase.
+     */
+    private static long hash(CharSequence word, int start, int end) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = start; i < end; i++) {
+            hash ^= Character.toLowerCase(word.charAt(i));
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Derives the second hash used for double hashing by remixing the first
+     * (the MurmurHash3 finalizer). The step is odd so it never repeats a bit early.
+     */
+    private static long step(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash | 1;
+    }
+
+    /**
+     * Checks if more words have been added than the filter was sized for, which
+     * makes its false positive rate climb above the configured rate.
+     *
+     * @return true if the filter is over capacity, false otherwise
+     */
+    public boolean isOverCapacity() {
+        return wordCount > capacity;
+    }
+
+    /**
+     * Retrieves the false positive rate the filter was sized for.
+     *
+     * @return the configured false positive rate
+     */
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    /**
+     * Retrieves the number of checks the filter let through to the dictionary.
+     *
+     * @return the number of checks answered "may contain"
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the number of checks the filter rejected without a dictionary lookup.
+     *
+     * @return the number of checks answered "definitely not"
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Resets the hit and miss counters to 0.
+     */
+    public void resetCounters() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Retrieves the heap used by the filter's bits, which is 0 for a filter read
+     * from a mapped file.
+     *
+     * @return the number of bytes held by the filter
+     */
+    public long getMemoryFootprint() {
+        return bits.isDirect() ? 0 : 8L * bits.capacity();
+    }
+}
@@ -0,0 +1,185 @@
+/**
+ * The CommentTokenizer class splits the source code of Java, C and languages
+ * with the same comment syntax into the words of its comments. Code, string and
+ * character literals, and text blocks are never read as words, so comment markers
+ * inside them are not mistaken for comments. Within a comment, words that are
+ * code rather than prose are left out: identifiers (with underscores, camelCase,
+ * letters and digits mixed, or calls and member accesses), Javadoc tags and the
+ * parameter names after @param and @throws, inline tags such as {@code ...},
+ * HTML tags, `code` spans, URLs, and words with no letters, such as the leading
+ * stars of a block comment.
+ *
+ * Block comments, inline tags and text blocks may span lines, and the tokenizer
+ * keeps its state between lines.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class CommentTokenizer implements Tokenizer {
+    private static final int CODE = 0;
+    private static final int LINE_COMMENT = 1; // in a // comment, until the end of the line
+    private static final int BLOCK_COMMENT = 2; // in a /* comment, until its */
+    private static final int STRING = 3; // in a string literal, until its " or the end of the line
+    private static final int CHARACTER = 4; // in a character literal, until its ' or the end of the line
+    private static final int TEXT_BLOCK = 5; // in a text block, until its """
+
+    private int state = CODE;
+    private int wordStart = -1; // the offset of the word being read, or -1 if there is none
+    private int inlineTagDepth; // the braces open in an inline tag such as {@code ...}, which may span lines
+    private boolean inHtmlTag; // whether the comment is in an HTML tag, which may span lines
+    private boolean skipNextWord; // whether the next word is a parameter or exception name after a Javadoc tag
+
+    @Override
+    public void tokenizeLine(CharSequence text, int textBase, int lineStart, int lineEnd, WordSink sink) {
+        int end = lineEnd - textBase;
+        for (int i = lineStart - textBase; i < end; i++) {
+            char c = text.charAt(i);
+            char next = i + 1 < end ? text.charAt(i + 1) : 0;
+            switch (state) {
+                case CODE:
+                    if (c == '/' && next == '/') {
+                        state = LINE_COMMENT;
+                        i++;
+                    }
+                    else if (c == '/' && next == '*') {
+                        state = BLOCK_COMMENT;
+                        i++;
+                    }
+                    else if (c == '"' && next == '"' && i + 2 < end && text.charAt(i + 2) == '"') {
+                        state = TEXT_BLOCK;
+                        i += 2;
+                    }
+                    else if (c == '"') state = STRING;
+                    else if (c == '\'') state = CHARACTER;
+                    break;
+                case STRING:
+                case CHARACTER:
+                    if (c == '\\') i++; // an escaped character
+                    else if (c == (state == STRING ? '"' : '\'')) state = CODE;
+                    break;
+                case TEXT_BLOCK:
+                    if (c == '\\') i++;
+                    else if (c == '"' && next == '"' && i + 2 < end && text.charAt(i + 2) == '"') {
+                        state = CODE;
+                        i += 2;
+                    }
+                    break;
+                case BLOCK_COMMENT:
+                    if (c == '*' && next == '/' && inlineTagDepth == 0) {
+                        endWord(text, textBase, i, sink);
+                        state = CODE;
+                        inHtmlTag = false;
+                        i++;
+                        break;
+                    }
+                    i = readComment(text, textBase, i, end, sink);
+                    break;
+                case LINE_COMMENT:
+                    i = readComment(text, textBase, i, end, sink);
+                    break;
+            }
+        }
+        endWord(text, textBase, end, sink);
+        if (state == LINE_COMMENT) { // a line comment ends with its line
+            state = CODE;
+            inlineTagDepth = 0;
+            inHtmlTag = false;
+        }
+        else if (state == STRING || state == CHARACTER) state = CODE; // an unclosed literal ends with its line
+    }
+
+    /**
+     * Reads a character of a comment, skipping any inline tag, HTML tag or code
+     * span it starts.
+     *
+     * @return the index of the last character read
+     */
+    private int readComment(CharSequence text, int textBase, int i, int end, WordSink sink) {
+        char c = text.charAt(i);
+        char next = i + 1 < end ? text.charAt(i + 1) : 0;
+        if (inlineTagDepth > 0) {
+            if (c == '{') inlineTagDepth++;
+            else if (c == '}') inlineTagDepth--;
+            return i;
+        }
+        if (inHtmlTag) {
+            if (c == '>') inHtmlTag = false;
+            return i;
+        }
+        if (c == '{' && next == '@') {
+            endWord(text, textBase, i, sink);
+            inlineTagDepth = 1;
+            return i + 1;
+        }
+        if (c == '<' && (Character.isLetter(next) || next == '/')) {
+            endWord(text, textBase, i, sink);
+            inHtmlTag = true;
+            return i + 1;
+        }
+        if (c == '`') { // a code span, within the line
+            endWord(text, textBase, i, sink);
+            int close = i + 1;
+            while (close < end && text.charAt(close) != '`') close++;
+            return close < end ? close : i;
+        }
+        if (Character.isWhitespace(c)) endWord(text, textBase, i, sink);
+        else if (wordStart < 0) wordStart = i;
+        return i;
+    }
+
+    /**
+     * Ends the word being read, if there is one, and gives it to the sink unless
+     * it is code or a Javadoc tag.
+     */
+    private void endWord(CharSequence text, int textBase, int end, WordSink sink) {
+        int start = wordStart;
+        wordStart = -1;
+        if (start < 0 || end <= start) return;
+        if (text.charAt(start) == '@') { // a Javadoc tag, or an annotation
+            String tag = text.subSequence(start, end).toString();
+            skipNextWord = tag.equals("@param") || tag.equals("@throws") || tag.equals("@exception");
+            return;
+        }
+        if (skipNextWord) {
+            skipNextWord = false;
+            return;
+        }
+        if (isCode(text, start, end)) return;
+        sink.addWord(textBase + start, textBase + end);
+    }
+
+    /**
+     * Checks if a word in a comment is code rather than prose: an identifier with
+     * an underscore, camelCase or letters and digits mixed, a call, a member access,
+     * an operator, a path or URL, or anything without letters.
+     *
+     * @param text the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return true if the word should not be spell-checked
+     */
+    static boolean isCode(CharSequence text, int start, int end) {
+        boolean letters = false;
+        boolean digits = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            char previous = i > start ? text.charAt(i - 1) : 0;
+            if (Character.isLetter(c)) {
+                letters = true;
+                if (Character.isUpperCase(c) && Character.isLowerCase(previous)) return true; // camelCase
+            }
+            else if (Character.isDigit(c)) digits = true;
+            else if ("_#=<>/\\|&*$%^~[".indexOf(c) >= 0) return true;
+            else if (c == '(' && Character.isLetterOrDigit(previous)) return true; // a call
+            else if (c == ':' && i + 1 < end && text.charAt(i + 1) == ':') return true;
+            else if (c == '.' && Character.isLetter(previous) && i + 2 < end
+                    && Character.isLetter(text.charAt(i + 1)) && Character.isLetter(text.charAt(i + 2))) return true; // a member access, but not e.g. or i.e.
+        }
+        return !letters || digits;
+    }
+}
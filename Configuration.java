@@ -72,4 +72,74 @@ public class Configuration {
         properties.setProperty("mode", mode);
         saveConfiguration(); // Save updated configuration to file
     }
+
+    /**
+     * Returns the strategy used to suggest corrections for misspellings: "edits"
+     * for single letter edits, "symspell" for a deletion index that also finds
+     * words two edits away, or "bktree" for a BK-tree search for the closest words
+     *
+     * @return String containing the suggestion strategy
+     */
+    public String getSuggestions() {
+        return properties.getProperty("suggestions", "edits"); // Single letter edits by default
+    }
+
+    /**
+     * Sets the strategy used to suggest corrections for misspellings
+     *
+     * @param suggestions "edits", "symspell" or "bktree"
+     */
+    public void setSuggestions(String suggestions) {
+        properties.setProperty("suggestions", suggestions);
+        saveConfiguration(); // Save updated configuration to file
+    }
+
+    /**
+     * Returns whether ignored words are kept for the session only ("session"), or
+     * saved for each document so they are ignored again when it is reopened ("saved")
+     *
+     * @return String containing how ignored words are kept
+     */
+    public String getIgnoredWords() {
+        return properties.getProperty("ignoredWords", "session"); // Forget ignored words when the program closes by default
+    }
+
+    /**
+     * Sets how ignored words are kept
+     *
+     * @param ignoredWords "session" or "saved"
+     */
+    public void setIgnoredWords(String ignoredWords) {
+        properties.setProperty("ignoredWords", ignoredWords);
+        saveConfiguration(); // Save updated configuration to file
+    }
+
+    /**
+     * Returns the false positive rate of the bloom filter in front of the English
+     * dictionary, where 0 means no filter. A rate that is not a number from 0 up
+     * to 1 is read as the default. A compiled dictionary keeps the filter it was
+     * compiled with, so for it the rate only turns the filter on or off.
+     *
+     * @return the bloom filter's false positive rate
+     */
+    public double getBloomFilterRate() {
+        try {
+            double rate = Double.parseDouble(properties.getProperty("bloomFilterRate", Double.toString(BloomFilter.DEFAULT_FALSE_POSITIVE_RATE)));
+            if (rate >= 0 && rate < 1) return rate;
+        } catch (NumberFormatException e) {
+            // Falls through to the default rate
+        }
+        return BloomFilter.DEFAULT_FALSE_POSITIVE_RATE;
+    }
+
+    /**
+     * Sets the false positive rate of the bloom filter in front of the English
+     * dictionary, used the next time the dictionary is loaded
+     *
+     * @param rate the false positive rate, from 0 (no filter) up to 1
+     */
+    public void setBloomFilterRate(double rate) {
+        properties.setProperty("bloomFilterRate", Double.toString(rate));
+        saveConfiguration(); // Save updated configuration to file
+    }
 }
\ No newline at end of file
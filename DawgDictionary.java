@@ -0,0 +1,356 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.function.Consumer;
+
+/**
+ * The DawgDictionary class stores a word list as a minimized directed acyclic
+ * word graph (DAWG). Words sharing prefixes share their leading edges, and
+ * words sharing suffixes share their trailing nodes, so the whole English
+ * word list fits in a few flat arrays instead of one String object per word.
+ * Lookups walk one edge per character and are case insensitive.
+ *
+ * The graph is built with the incremental algorithm for sorted input
+ * (Daciuk et al.), then flattened into:
+ * - nodes: the index of each node's first edge, with FINAL_FLAG set when
+ *   the path leading to the node spells a complete word
+ * - edgeLabels: the character on each edge, sorted within a node
+ * - edgeTargets: the node each edge leads to
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class DawgDictionary implements WordLookup {
+    static final int FINAL_FLAG = 0x80000000;
+    static final int EDGE_MASK = 0x7FFFFFFF;
+
+    private final int[] nodes;
+    private final char[] edgeLabels;
+    private final int[] edgeTargets;
+    private final int wordCount;
+
+    /**
+     * Constructor for the DAWG dictionary class. Builds the minimized graph
+     * from a collection of words, which are converted to lowercase, sorted,
+     * and deduplicated first.
+     *
+     * @param words the words to store in the dictionary
+     */
+    public DawgDictionary(Collection<String> words) {
+        String[] sortedWords = new String[words.size()];
+        int i = 0;
+        for (String word : words) {
+            sortedWords[i++] = word.toLowerCase();
+        }
+        Arrays.sort(sortedWords);
+
+        Builder builder = new Builder();
+        String previousWord = null;
+        for (String word : sortedWords) {
+            if (!word.equals(previousWord)) builder.add(word); // skip duplicates
+            previousWord = word;
+        }
+        builder.finish();
+
+        // flatten the graph, numbering nodes breadth-first from the root
+        ArrayList<BuildNode> order = new ArrayList<>();
+        HashMap<BuildNode, Integer> ids = new HashMap<>();
+        order.add(builder.root);
+        ids.put(builder.root, 0);
+        int edgeCount = 0;
+        for (int n = 0; n < order.size(); n++) {
+            BuildNode node = order.get(n);
+            edgeCount += node.edgeCount;
+            for (int e = 0; e < node.edgeCount; e++) {
+                if (!ids.containsKey(node.targets[e])) {
+                    ids.put(node.targets[e], order.size());
+                    order.add(node.targets[e]);
+                }
+            }
+        }
+
+        nodes = new int[order.size() + 1];
+        edgeLabels = new char[edgeCount];
+        edgeTargets = new int[edgeCount];
+        int edge = 0;
+        for (int n = 0; n < order.size(); n++) {
+            BuildNode node = order.get(n);
+            nodes[n] = edge | (node.isFinal ? FINAL_FLAG : 0);
+            for (int e = 0; e < node.edgeCount; e++) {
+                edgeLabels[edge] = node.labels[e];
+                edgeTargets[edge] = ids.get(node.targets[e]);
+                edge++;
+            }
+        }
+        nodes[order.size()] = edge; // sentinel marks the end of the last node's edges
+        wordCount = builder.wordCount;
+    }
+
+    /**
+     * Checks if a word, when converted to lowercase, is in the dictionary or not.
+     *
+     * @param word the word to check
+     * @return true if the word is in the dictionary, false otherwise
+     */
+    @Override
+    public boolean containsWord(String word) {
+        String lowerWord = word.toLowerCase();
+        int node = 0;
+        for (int i = 0; i < lowerWord.length(); i++) {
+            node = findChild(node, lowerWord.charAt(i));
+            if (node < 0) return false;
+        }
+        return (nodes[node] & FINAL_FLAG) != 0;
+    }
+
+    @Override
+    public boolean containsWord(CharSequence buffer, int start, int end) {
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            node = findChild(node, Character.toLowerCase(buffer.charAt(i)));
+            if (node < 0) return false;
+        }
+        return (nodes[node] & FINAL_FLAG) != 0;
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super String> action) {
+        forEachWord(0, new StringBuilder(), action);
+    }
+
+    /**
+     * Passes every word below a node to an action, in sorted order.
+     *
+     * @param node the node reached by the prefix
+     * @param prefix the characters on the path to the node
+     * @param action the action to perform on each word
+     */
+    private void forEachWord(int node, StringBuilder prefix, Consumer<? super String> action) {
+        if ((nodes[node] & FINAL_FLAG) != 0) action.accept(prefix.toString());
+        int end = nodes[node + 1] & EDGE_MASK;
+        for (int edge = nodes[node] & EDGE_MASK; edge < end; edge++) {
+            prefix.append(edgeLabels[edge]);
+            forEachWord(edgeTargets[edge], prefix, action);
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+
+    /**
+     * Finds the node reached by following the edge labelled c out of a node.
+     *
+     * @param node the node to follow an edge from
+     * @param c the label of the edge to follow
+     * @return the target node, or -1 if the node has no edge labelled c
+     */
+    private int findChild(int node, char c) {
+        int low = nodes[node] & EDGE_MASK;
+        int high = (nodes[node + 1] & EDGE_MASK) - 1;
+        while (low <= high) { // edges of a node are sorted by label
+            int mid = (low + high) >>> 1;
+            char label = edgeLabels[mid];
+            if (label < c) low = mid + 1;
+            else if (label > c) high = mid - 1;
+            else return edgeTargets[mid];
+        }
+        return -1;
+    }
+
+    /**
+     * Retrieves the number of distinct words in the dictionary.
+     *
+     * @return the number of words in the dictionary
+     */
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Retrieves the number of nodes in the minimized graph.
+     *
+     * @return the number of nodes in the graph
+     */
+    public int getNodeCount() {
+        return nodes.length - 1;
+    }
+
+    /**
+     * Retrieves the number of edges in the minimized graph.
+     *
+     * @return the number of edges in the graph
+     */
+    public int getEdgeCount() {
+        return edgeLabels.length;
+    }
+
+    /**
+     * Estimates the heap used by the flattened graph arrays.
+     *
+     * @return the approximate number of bytes held by the dictionary
+     */
+    public long getMemoryFootprint() {
+        return 4L * nodes.length + 2L * edgeLabels.length + 4L * edgeTargets.length;
+    }
+
+    /**
+     * Writes the flattened graph to a compiled dictionary file that can be
+     * memory mapped by MappedDictionary.
+     *
+     * @param filePath the path to write the compiled dictionary to
+     * @throws IOException if the file cannot be written
+     */
+    public void save(String filePath) throws IOException {
+        save(filePath, null);
+    }
+
+    /**
+     * Writes the flattened graph to a compiled dictionary file that can be
+     * memory mapped by MappedDictionary, with a bloom filter over its words
+     * that is mapped along with it.
+     *
+     * @param filePath the path to write the compiled dictionary to
+     * @param bloomFilter the filter over the graph's words, or null to write none
+     * @throws IOException if the file cannot be written
+     */
+    public void save(String filePath, BloomFilter bloomFilter) throws IOException {
+        int graphEnd = MappedDictionary.HEADER_SIZE + 4 * nodes.length + 6 * edgeLabels.length;
+        int bloomFilterOffset = (int) MappedDictionary.bloomFilterOffset(graphEnd);
+        ByteBuffer file = ByteBuffer.allocate(bloomFilter != null ? bloomFilterOffset + bloomFilter.getWrittenSize() : graphEnd);
+        file.position(MappedDictionary.HEADER_SIZE);
+        file.asIntBuffer().put(nodes);
+        file.position(file.position() + 4 * nodes.length);
+        file.asIntBuffer().put(edgeTargets);
+        file.position(file.position() + 4 * edgeTargets.length);
+        file.asCharBuffer().put(edgeLabels);
+        if (bloomFilter != null) {
+            file.position(bloomFilterOffset);
+            bloomFilter.write(file);
+            file.putInt(28, bloomFilter.getWrittenSize());
+        }
+
+        file.putInt(0, MappedDictionary.MAGIC);
+        file.putInt(4, MappedDictionary.FORMAT_VERSION);
+        file.putInt(8, wordCount);
+        file.putInt(12, getNodeCount());
+        file.putInt(16, edgeLabels.length);
+        file.putLong(20, MappedDictionary.checksum(file));
+
+        file.rewind();
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (file.hasRemaining()) channel.write(file);
+        }
+    }
+
+    /**
+     * A node of the graph while it is being built. Nodes are compared by their
+     * finality and outgoing edges so that equivalent suffixes can be merged.
+     */
+    private static class BuildNode {
+        boolean isFinal;
+        char[] labels = new char[2];
+        BuildNode[] targets = new BuildNode[2];
+        int edgeCount;
+        int hash;
+
+        void addEdge(char label, BuildNode target) {
+            if (edgeCount == labels.length) {
+                labels = Arrays.copyOf(labels, edgeCount * 2);
+                targets = Arrays.copyOf(targets, edgeCount * 2);
+            }
+            labels[edgeCount] = label;
+            targets[edgeCount] = target;
+            edgeCount++;
+        }
+
+        BuildNode lastChild() {
+            return targets[edgeCount - 1];
+        }
+
+        // only called once the node is frozen, so the hash can be cached
+        @Override
+        public int hashCode() {
+            if (hash == 0) {
+                int h = isFinal ? 1 : 2;
+                for (int e = 0; e < edgeCount; e++) {
+                    h = 31 * h + labels[e];
+                    h = 31 * h + System.identityHashCode(targets[e]); // children are already unique
+                }
+                hash = h;
+            }
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof BuildNode)) return false;
+            BuildNode node = (BuildNode) other;
+            if (isFinal != node.isFinal || edgeCount != node.edgeCount) return false;
+            for (int e = 0; e < edgeCount; e++) {
+                if (labels[e] != node.labels[e] || targets[e] != node.targets[e]) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Builds a minimized graph from words added in sorted order. After each word,
+     * the part of the previous word that can no longer change is merged with
+     * equivalent nodes already in the register.
+     */
+    private static class Builder {
+        final BuildNode root = new BuildNode();
+        final HashMap<BuildNode, BuildNode> register = new HashMap<>();
+        String previousWord = "";
+        int wordCount;
+
+        void add(String word) {
+            int prefixLength = 0;
+            int maxPrefix = Math.min(word.length(), previousWord.length());
+            while (prefixLength < maxPrefix && word.charAt(prefixLength) == previousWord.charAt(prefixLength)) {
+                prefixLength++;
+            }
+
+            BuildNode node = root;
+            for (int i = 0; i < prefixLength; i++) node = node.lastChild();
+            minimize(node, previousWord, prefixLength);
+
+            for (int i = prefixLength; i < word.length(); i++) { // add the new suffix
+                BuildNode child = new BuildNode();
+                node.addEdge(word.charAt(i), child);
+                node = child;
+            }
+            node.isFinal = true;
+            previousWord = word;
+            wordCount++;
+        }
+
+        void finish() {
+            minimize(root, previousWord, 0);
+        }
+
+        // replaces the last path below node (spelling word from depth onwards) with registered equivalents
+        private void minimize(BuildNode node, String word, int depth) {
+            if (depth >= word.length() || node.edgeCount == 0) return;
+            BuildNode child = node.lastChild();
+            minimize(child, word, depth + 1);
+            BuildNode existing = register.get(child);
+            if (existing != null) {
+                node.targets[node.edgeCount - 1] = existing;
+            } else {
+                register.put(child, child);
+            }
+        }
+    }
+}
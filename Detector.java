@@ -0,0 +1,59 @@
+/**
+ * The Detector interface is implemented by the checks the spell checker runs
+ * on each word of a document. A detector either finds one type of error, or
+ * is a skip filter that finds words not to check at all (such as numbers).
+ * Detectors run in a DetectorPipeline, cheapest first, so skip filters and
+ * other cheap checks run before dictionary lookups.
+ *
+ * Detectors may be run on several words at once by a parallel scan, so they
+ * should not change any state while detecting. A detector should only read
+ * the word it checks and the word before it, since those are the only words
+ * checked again after an edit.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public interface Detector {
+    /** The error type of a skip filter: a word it detects is skipped, with no errors. */
+    int SKIP = 0;
+
+    /**
+     * Retrieves the name of the error type found, as shown to the user.
+     *
+     * @return the name of the error type
+     */
+    String getName();
+
+    /**
+     * Retrieves the error index bit set for a word the detector finds an error in.
+     * The built in detectors use ErrorIndex.MISCAPITALIZED, DOUBLE_WORD and
+     * MISSPELLED; other detectors may use ErrorIndex.CUSTOM_ERROR_TYPES.
+     *
+     * @return the error type bit, or SKIP for a skip filter
+     */
+    int getErrorType();
+
+    /**
+     * Retrieves the relative cost of running the detector on a word. Detectors
+     * with lower costs run first.
+     *
+     * @return the cost of the detector
+     */
+    int getCost();
+
+    /**
+     * Checks a word of a document, which is the spell checker's document or a
+     * window of a streamed document.
+     *
+     * @param spellChecker the spell checker, holding the dictionaries and ignored words
+     * @param doc the document the word is in
+     * @param index the index of the word in the document
+     * @return true if the word has the error, or should be skipped by a skip filter
+     */
+    boolean detect(SpellChecker spellChecker, Document doc, int index);
+}
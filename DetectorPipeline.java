@@ -0,0 +1,228 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The DetectorPipeline class runs the spell checker's detectors on a word, in
+ * order of cost, and records the error types found in an error index bitmask.
+ * As soon as a skip filter detects a word, the word is skipped without running
+ * the detectors after it, so cheap structural checks keep words such as
+ * numbers and newlines away from the dictionary lookups.
+ *
+ * Detectors can be added and removed without changing the spell checker; each
+ * error detector sets its own bit of the mask. Every change to the detectors
+ * increases the pipeline's version, so the spell checker knows to check the
+ * document again. The detectors are kept in an array that is replaced, not
+ * changed, so words can be checked on several threads at once.
+ *
+ * When timing is enabled, the time spent in each detector and the number of
+ * words it checked are added up, to find which detectors are worth making
+ * cheaper. Timing is off by default, since reading the clock around every
+ * detector costs more than the cheap detectors themselves.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class DetectorPipeline {
+    private volatile Detector[] detectors = new Detector[0];
+    private volatile LongAdder[] nanos = new LongAdder[0];
+    private volatile LongAdder[] calls = new LongAdder[0];
+    private volatile boolean timing;
+    private int version;
+
+    /**
+     * Constructor for the detector pipeline class, with the spell checker's built in
+     * detectors: skipped words, double words, miscapitalizations and misspellings.
+     */
+    public DetectorPipeline() {
+        this(new SkippedWordDetector(), new DoubleWordDetector(), new MiscapitalizationDetector(), new MisspellingDetector());
+    }
+
+    /**
+     * Constructor for the detector pipeline class.
+     *
+     * @param detectors the detectors to run, in any order
+     */
+    public DetectorPipeline(Detector... detectors) {
+        for (Detector detector : detectors) addDetector(detector);
+    }
+
+    /**
+     * Adds a detector, which runs after the detectors that cost less than it and
+     * those added before it at the same cost.
+     *
+     * @param detector the detector to add
+     * @throws IllegalArgumentException if the detector's error type is not SKIP or a
+     *         single error bit, or another detector already sets the same bit
+     */
+    public synchronized void addDetector(Detector detector) {
+        int errorType = detector.getErrorType();
+        if (errorType != Detector.SKIP) {
+            if (Integer.bitCount(errorType) != 1 || (errorType & ErrorIndex.ERROR_TYPES) == 0) {
+                throw new IllegalArgumentException("Error type " + errorType + " of " + detector.getName() + " is not an error index bit");
+            }
+            if (getDetector(errorType) != null) {
+                throw new IllegalArgumentException("Error type " + errorType + " of " + detector.getName() + " is already detected by " + getDetector(errorType).getName());
+            }
+        }
+        Detector[] added = Arrays.copyOf(detectors, detectors.length + 1);
+        added[detectors.length] = detector;
+        Arrays.sort(added, Comparator.comparingInt(Detector::getCost)); // stable, so equal costs keep the order they were added in
+        setDetectors(added);
+    }
+
+    /**
+     * Removes a detector.
+     *
+     * @param detector the detector to remove
+     * @return true if the detector was in the pipeline
+     */
+    public synchronized boolean removeDetector(Detector detector) {
+        ArrayList<Detector> remaining = new ArrayList<Detector>(Arrays.asList(detectors));
+        if (!remaining.remove(detector)) return false;
+        setDetectors(remaining.toArray(new Detector[0]));
+        return true;
+    }
+
+    private void setDetectors(Detector[] detectors) {
+        LongAdder[] newNanos = new LongAdder[detectors.length];
+        LongAdder[] newCalls = new LongAdder[detectors.length];
+        for (int i = 0; i < detectors.length; i++) { // keep the timings of the detectors still there
+            int old = Arrays.asList(this.detectors).indexOf(detectors[i]);
+            newNanos[i] = old >= 0 ? nanos[old] : new LongAdder();
+            newCalls[i] = old >= 0 ? calls[old] : new LongAdder();
+        }
+        nanos = newNanos;
+        calls = newCalls;
+        this.detectors = detectors;
+        version++;
+    }
+
+    /**
+     * Retrieves the detectors, in the order they run.
+     *
+     * @return an ArrayList<Detector> containing the detectors
+     */
+    public ArrayList<Detector> getDetectors() {
+        return new ArrayList<Detector>(Arrays.asList(detectors));
+    }
+
+    /**
+     * Retrieves the detector that sets an error type bit.
+     *
+     * @param errorType the error index bit
+     * @return the detector, or null if no detector sets the bit
+     */
+    public Detector getDetector(int errorType) {
+        for (Detector detector : detectors) {
+            if (detector.getErrorType() == errorType) return detector;
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the number of times the detectors have changed, which changes
+     * whenever a detector is added or removed.
+     *
+     * @return the version of the pipeline
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
+    /**
+     * Checks a word with every detector, stopping at the first skip filter that
+     * detects it.
+     *
+     * @param spellChecker the spell checker, holding the dictionaries and ignored words
+     * @param doc the document the word is in
+     * @param index the index of the word in the document
+     * @return the bitmask of error types found, with ErrorIndex.CHECKED set, or 0 if the word is skipped
+     */
+    public int check(SpellChecker spellChecker, Document doc, int index) {
+        Detector[] detectors = this.detectors;
+        if (timing) return checkTimed(detectors, spellChecker, doc, index);
+        int mask = ErrorIndex.CHECKED;
+        for (Detector detector : detectors) {
+            if (!detector.detect(spellChecker, doc, index)) continue;
+            int errorType = detector.getErrorType();
+            if (errorType == Detector.SKIP) return 0; // skip the word, without running the costlier detectors
+            mask |= errorType;
+        }
+        return mask;
+    }
+
+    private int checkTimed(Detector[] detectors, SpellChecker spellChecker, Document doc, int index) {
+        LongAdder[] nanos = this.nanos;
+        LongAdder[] calls = this.calls;
+        if (nanos.length != detectors.length) return check(spellChecker, doc, index); // the detectors changed while reading them
+        int mask = ErrorIndex.CHECKED;
+        for (int i = 0; i < detectors.length; i++) {
+            long start = System.nanoTime();
+            boolean detected = detectors[i].detect(spellChecker, doc, index);
+            nanos[i].add(System.nanoTime() - start);
+            calls[i].increment();
+            if (!detected) continue;
+            int errorType = detectors[i].getErrorType();
+            if (errorType == Detector.SKIP) return 0;
+            mask |= errorType;
+        }
+        return mask;
+    }
+
+    /**
+     * Checks whether the time spent in each detector is recorded
+     *
+     * @return true if timing is enabled
+     */
+    public boolean isTiming() {
+        return timing;
+    }
+
+    /**
+     * Sets whether the time spent in each detector is recorded
+     *
+     * @param timing true to record the time spent in each detector
+     */
+    public void setTiming(boolean timing) {
+        this.timing = timing;
+    }
+
+    /**
+     * Retrieves the total time spent in a detector while timing was enabled.
+     *
+     * @param detector the detector
+     * @return the time spent in the detector, in nanoseconds, or 0 if it is not in the pipeline
+     */
+    public synchronized long getNanos(Detector detector) {
+        int i = Arrays.asList(detectors).indexOf(detector);
+        return i < 0 ? 0 : nanos[i].sum();
+    }
+
+    /**
+     * Retrieves the number of words a detector checked while timing was enabled.
+     *
+     * @param detector the detector
+     * @return the number of words checked, or 0 if the detector is not in the pipeline
+     */
+    public synchronized long getCalls(Detector detector) {
+        int i = Arrays.asList(detectors).indexOf(detector);
+        return i < 0 ? 0 : calls[i].sum();
+    }
+
+    /**
+     * Sets the time spent in every detector, and the number of words checked, back to 0.
+     */
+    public synchronized void resetTiming() {
+        for (int i = 0; i < detectors.length; i++) {
+            nanos[i].reset();
+            calls[i].reset();
+        }
+    }
+}
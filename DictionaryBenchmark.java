@@ -0,0 +1,119 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+/**
+ * The DictionaryBenchmark class compares the ways the english dictionary can be
+ * stored. For each storage it reports the load time, the heap retained after
+ * loading, and the average time of a containsWord lookup for words that are in the dictionary
+ * and for words that are not. Run it from the folder containing words_alpha.txt;
+ * the memory mapped storage is included once DictionaryCompiler has been run.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class DictionaryBenchmark {
+    private static final int LOOKUP_ROUNDS = 20;
+
+    /**
+     * Runs the footprint and lookup latency comparison.
+     *
+     * @param args optionally, the path of the word list (defaults to words_alpha.txt)
+     */
+    public static void main(String[] args) {
+        String dictionaryPath = args.length > 0 ? args[0] : EnglishDictionary.DEFAULT_DICTIONARY_FILE;
+        ArrayList<String> hits = new ArrayList<>();
+        ArrayList<String> misses = new ArrayList<>();
+        loadSample(dictionaryPath, hits, misses);
+
+        System.out.println("Dictionary: " + dictionaryPath + " (" + hits.size() + " sampled words)");
+        benchmark("HashSet", hits, misses, () -> new EnglishDictionary(dictionaryPath, false, 0));
+        benchmark("HashSet+Bloom", hits, misses, () -> new EnglishDictionary(dictionaryPath, false));
+        benchmark("DAWG", hits, misses, () -> new EnglishDictionary(dictionaryPath, true, 0));
+        benchmark("DAWG+Bloom", hits, misses, () -> new EnglishDictionary(dictionaryPath, true));
+        if (EnglishDictionary.isCompiledDictionary(EnglishDictionary.COMPILED_DICTIONARY_FILE)) {
+            benchmark("Mapped", hits, misses, () -> new EnglishDictionary(EnglishDictionary.COMPILED_DICTIONARY_FILE, true));
+        }
+    }
+
+    /**
+     * Loads every 50th dictionary word as a hit, and the same word with its last
+     * letter doubled as a (likely) miss.
+     */
+    private static void loadSample(String dictionaryPath, ArrayList<String> hits, ArrayList<String> misses) {
+        try (Scanner scanner = new Scanner(new File(dictionaryPath))) {
+            int i = 0;
+            while (scanner.hasNext()) {
+                String word = scanner.next().toLowerCase();
+                if (i++ % 50 == 0) {
+                    hits.add(word);
+                    misses.add(word + word.charAt(word.length() - 1) + "q");
+                }
+            }
+        } catch (FileNotFoundException e) {
+            System.err.println("Dictionary file could not be found.");
+        }
+    }
+
+    /**
+     * Loads one dictionary, prints the heap it retains, and prints its lookup latency.
+     */
+    private static void benchmark(String name, ArrayList<String> hits, ArrayList<String> misses, DictionaryLoader loader) {
+        long heapBefore = usedHeap();
+        long startTime = System.nanoTime();
+        EnglishDictionary dictionary = loader.load();
+        long loadTime = System.nanoTime() - startTime;
+        long heapAfter = usedHeap();
+
+        lookups(dictionary, hits); // warm up
+        lookups(dictionary, misses);
+        double hitTime = lookups(dictionary, hits);
+        double missTime = lookups(dictionary, misses);
+
+        System.out.printf("%-13s load %6d ms   heap %8.2f MB   hit %7.1f ns   miss %7.1f ns%n",
+            name, loadTime / 1000000, (heapAfter - heapBefore) / (1024.0 * 1024.0), hitTime, missTime);
+        if (dictionary.containsWord("")) System.out.println(); // keep the dictionary reachable until measured
+    }
+
+    /**
+     * Looks up each word several times.
+     *
+     * @return the average time of one lookup in nanoseconds
+     */
+    private static double lookups(EnglishDictionary dictionary, ArrayList<String> words) {
+        int found = 0;
+        long startTime = System.nanoTime();
+        for (int round = 0; round < LOOKUP_ROUNDS; round++) {
+            for (String word : words) {
+                if (dictionary.containsWord(word)) found++;
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+        if (found < 0) System.out.println(found); // stop the loop from being optimized away
+        return (double) elapsed / ((long) LOOKUP_ROUNDS * Math.max(1, words.size()));
+    }
+
+    /**
+     * Retrieves the heap in use after asking the garbage collector to run.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Loads the dictionary being benchmarked.
+     */
+    private interface DictionaryLoader {
+        EnglishDictionary load();
+    }
+}
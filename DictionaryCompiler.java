@@ -0,0 +1,69 @@
+import java.io.IOException;
+
+/**
+ * The DictionaryCompiler class is the offline step that turns the plain text
+ * English word list into a compiled dictionary file. The compiled file is
+ * memory mapped by EnglishDictionary at startup, so the word list does not
+ * have to be scanned and hashed every time a document is opened. The bloom
+ * filter in front of the dictionary is compiled into the same file.
+ *
+ * Usage: java DictionaryCompiler [wordListPath] [compiledPath] [falsePositiveRate]
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class DictionaryCompiler {
+
+    /**
+     * Compiles a word list into a compiled dictionary file.
+     *
+     * @param args optionally, the word list path (defaults to words_alpha.txt),
+     *             the compiled file path (defaults to words_alpha.dawg) and the
+     *             bloom filter's false positive rate (defaults to 0.01, 0 for no filter)
+     */
+    public static void main(String[] args) {
+        String wordListPath = args.length > 0 ? args[0] : EnglishDictionary.DEFAULT_DICTIONARY_FILE;
+        String compiledPath = args.length > 1 ? args[1] : EnglishDictionary.COMPILED_DICTIONARY_FILE;
+        double falsePositiveRate = args.length > 2 ? Double.parseDouble(args[2]) : BloomFilter.DEFAULT_FALSE_POSITIVE_RATE;
+        try {
+            int wordCount = compile(wordListPath, compiledPath, falsePositiveRate);
+            System.out.println("Compiled " + wordCount + " words to " + compiledPath);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Builds the DAWG for a word list and writes it as a compiled dictionary file.
+     *
+     * @param wordListPath the path of the plain text word list
+     * @param compiledPath the path to write the compiled dictionary to
+     * @return the number of words compiled
+     * @throws IOException if the compiled file cannot be written
+     */
+    public static int compile(String wordListPath, String compiledPath) throws IOException {
+        return compile(wordListPath, compiledPath, BloomFilter.DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Builds the DAWG and bloom filter for a word list and writes them as a
+     * compiled dictionary file.
+     *
+     * @param wordListPath the path of the plain text word list
+     * @param compiledPath the path to write the compiled dictionary to
+     * @param falsePositiveRate the bloom filter's false positive rate, or 0 for no filter
+     * @return the number of words compiled
+     * @throws IOException if the compiled file cannot be written
+     */
+    public static int compile(String wordListPath, String compiledPath, double falsePositiveRate) throws IOException {
+        EnglishDictionary dictionary = new EnglishDictionary(wordListPath, true, falsePositiveRate);
+        DawgDictionary dawg = (DawgDictionary) dictionary.getCompactDictionary();
+        dawg.save(compiledPath, dictionary.getBloomFilter());
+        return dawg.size();
+    }
+}
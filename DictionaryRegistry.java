@@ -0,0 +1,209 @@
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * The DictionaryRegistry class shares English dictionaries across the whole
+ * program. Each dictionary source is loaded once, in the background, and the
+ * same EnglishDictionary is handed to every SpellChecker that asks for it.
+ * EnglishDictionary has no methods that change its words, so one instance can
+ * safely be read by any number of spell checkers and threads.
+ *
+ * The registry counts the references it hands out. A dictionary is dropped
+ * from the registry (and can be garbage collected) once every reference to it
+ * has been released.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class DictionaryRegistry {
+    private static final HashMap<String, Entry> dictionaries = new HashMap<>();
+    private static final IdentityHashMap<EnglishDictionary, String> paths = new IdentityHashMap<>();
+    private static final ExecutorService loader = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "dictionary-loader");
+        thread.setDaemon(true); // never keep the program running just to finish a load
+        return thread;
+    });
+    private static volatile double defaultFalsePositiveRate = BloomFilter.DEFAULT_FALSE_POSITIVE_RATE;
+
+    /**
+     * A registered dictionary: the pending or finished load, and the number of
+     * references handed out for it.
+     */
+    private static class Entry {
+        final Future<EnglishDictionary> dictionary;
+        int references;
+
+        Entry(Future<EnglishDictionary> dictionary) {
+            this.dictionary = dictionary;
+        }
+    }
+
+    /**
+     * Sets the false positive rate of the bloom filter in front of the default
+     * dictionary, used the next time it is loaded.
+     *
+     * @param falsePositiveRate the bloom filter's false positive rate, or 0 for no filter
+     */
+    public static void setDefaultFalsePositiveRate(double falsePositiveRate) {
+        defaultFalsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Starts loading the default dictionary in the background, if it is not
+     * already loaded or loading, without taking a reference to it.
+     */
+    public static void preloadDefault() {
+        preload(EnglishDictionary.DEFAULT_DICTIONARY_FILE);
+    }
+
+    /**
+     * Starts loading a dictionary in the background, if it is not already
+     * loaded or loading, without taking a reference to it.
+     *
+     * @param dictionaryPath the path of the word list or compiled dictionary
+     */
+    public static synchronized void preload(String dictionaryPath) {
+        entryFor(dictionaryPath);
+    }
+
+    /**
+     * Starts loading the default dictionary in the background, as preloadDefault
+     * does, and then prepares it in the background too.
+     *
+     * @param prepare the work to do on the loaded dictionary, such as building a suggestion index
+     * @return the background preparation, which finishes after the dictionary has loaded
+     */
+    public static Future<?> preloadDefault(Consumer<EnglishDictionary> prepare) {
+        return preload(EnglishDictionary.DEFAULT_DICTIONARY_FILE, prepare);
+    }
+
+    /**
+     * Starts loading a dictionary in the background, if it is not already loaded
+     * or loading, and then prepares it in the background too, without taking a
+     * reference to it.
+     *
+     * @param dictionaryPath the path of the word list or compiled dictionary
+     * @param prepare the work to do on the loaded dictionary, such as building a suggestion index
+     * @return the background preparation, which finishes after the dictionary has loaded
+     */
+    public static synchronized Future<?> preload(String dictionaryPath, Consumer<EnglishDictionary> prepare) {
+        Future<EnglishDictionary> dictionary = entryFor(dictionaryPath).dictionary;
+        return loader.submit(() -> {
+            prepare.accept(dictionary.get());
+            return null;
+        });
+    }
+
+    /**
+     * Takes a reference to the default dictionary (the compiled dictionary when
+     * it exists, otherwise words_alpha.txt), waiting for it to finish loading.
+     *
+     * @return the shared default dictionary
+     */
+    public static EnglishDictionary acquireDefault() {
+        return acquire(EnglishDictionary.DEFAULT_DICTIONARY_FILE);
+    }
+
+    /**
+     * Takes a reference to a dictionary, loading it if no one has yet, and waits
+     * for it to finish loading. Every call must be matched by a call to release.
+     *
+     * @param dictionaryPath the path of the word list or compiled dictionary
+     * @return the shared dictionary for the path
+     */
+    public static EnglishDictionary acquire(String dictionaryPath) {
+        Future<EnglishDictionary> dictionary;
+        synchronized (DictionaryRegistry.class) {
+            Entry entry = entryFor(dictionaryPath);
+            entry.references++;
+            dictionary = entry.dictionary;
+        }
+
+        try { // wait outside the lock so other dictionaries can be acquired meanwhile
+            EnglishDictionary loaded = dictionary.get();
+            synchronized (DictionaryRegistry.class) {
+                paths.put(loaded, dictionaryPath);
+            }
+            return loaded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(dictionaryPath);
+            throw new IllegalStateException("Interrupted while loading dictionary " + dictionaryPath, e);
+        } catch (ExecutionException e) {
+            release(dictionaryPath);
+            throw new IllegalStateException("Dictionary " + dictionaryPath + " could not be loaded", e.getCause());
+        }
+    }
+
+    /**
+     * Releases a reference taken with acquire. The dictionary is dropped from the
+     * registry once its last reference is released.
+     *
+     * @param dictionary the dictionary to release
+     */
+    public static synchronized void release(EnglishDictionary dictionary) {
+        String dictionaryPath = paths.get(dictionary);
+        if (dictionaryPath != null) release(dictionaryPath);
+    }
+
+    /**
+     * Releases a reference to the dictionary registered for a path.
+     *
+     * @param dictionaryPath the path the dictionary was acquired with
+     */
+    private static synchronized void release(String dictionaryPath) {
+        Entry entry = dictionaries.get(dictionaryPath);
+        if (entry == null || entry.references == 0) return;
+        entry.references--;
+        if (entry.references == 0) {
+            dictionaries.remove(dictionaryPath);
+            paths.values().remove(dictionaryPath);
+        }
+    }
+
+    /**
+     * Retrieves the number of references held to the dictionary for a path.
+     *
+     * @param dictionaryPath the path of the word list or compiled dictionary
+     * @return the number of unreleased references, or 0 if the dictionary is not registered
+     */
+    public static synchronized int getReferenceCount(String dictionaryPath) {
+        Entry entry = dictionaries.get(dictionaryPath);
+        return entry == null ? 0 : entry.references;
+    }
+
+    /**
+     * Retrieves the registry entry for a path, registering it and starting the
+     * background load if there is none. Must be called while holding the lock.
+     */
+    private static Entry entryFor(String dictionaryPath) {
+        Entry entry = dictionaries.get(dictionaryPath);
+        if (entry == null) {
+            entry = new Entry(loader.submit(() -> load(dictionaryPath)));
+            dictionaries.put(dictionaryPath, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Loads the dictionary for a path. The default word list is replaced by the
+     * compiled dictionary when one exists, and given a bloom filter of the
+     * default false positive rate.
+     */
+    private static EnglishDictionary load(String dictionaryPath) {
+        if (dictionaryPath.equals(EnglishDictionary.DEFAULT_DICTIONARY_FILE)) {
+            return EnglishDictionary.openDefault(defaultFalsePositiveRate);
+        }
+        return new EnglishDictionary(dictionaryPath, EnglishDictionary.isCompiledDictionary(dictionaryPath));
+    }
+}
@@ -1,9 +1,26 @@
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
-import java.io.FileReader;
+import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.regex.Matcher;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 /**
@@ -12,6 +29,23 @@ import java.util.regex.Pattern;
  * the context before and after a word, and getting the file path.
  * It supports both plain text and HTML/XML files. It also supports saving
  * the words list by overwriting the file, or saving it into a new file.
+ *
+ * The document's text is kept whole, and each word is only the offsets of its
+ * first and last characters in the text, kept in int arrays. Files of at least
+ * MAPPED_THRESHOLD bytes are memory-mapped and, if they are ASCII, read in place
+ * without copying them into the heap; other files are kept as one String. The
+ * Strings and tokens of words are only made when they are asked for. A mapped
+ * file should not be changed by other programs while the document is open.
+ * Files are read in the charset TextDecoder detects from their bytes, rather
+ * than the platform's default, and saved in the same charset.
+ *
+ * Edits are kept as a piece table over the words read: each word read keeps
+ * its original index for as long as the document is open. A word that replaces
+ * another is appended to a change log, and a removed word is only marked as
+ * removed. A Fenwick tree counting the words not removed maps the index of a
+ * word in the words list to its original index and back in O(log n), so
+ * removing a word takes O(log n) instead of moving every word after it. Until
+ * a word is removed, both indices are the same.
  * 
  * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
  * @author      Jodi Keizer <jkeizer@uwo.ca>
@@ -22,10 +56,47 @@ import java.util.regex.Pattern;
  */
 
 public class Document {
-  private ArrayList<String> wordsList = new ArrayList<String>();
+  public static final int MAPPED_THRESHOLD = 1 << 20; // files with at least this many bytes are memory-mapped
+  private static final byte WORD = 0; // a word that is a slice of the text
+  private static final byte NEWLINE = 1; // the newline word ending a line, covering the line break
+  private static final byte REPLACED = 2; // a word that replaced a word of the text
+  private static final byte REMOVED = 3; // a word removed from the words list
+  public static final int CONTEXT_WORDS = 50; // the number of words of context given on each side of a word
+  public static final int CONTEXT_LINES = 4; // the number of lines above a word the context before it may start at
+  private static final int TOKEN_CACHE_SIZE = 256; // the number of recently made tokens kept, a power of two
+  private static final Pattern NO_ALPHANUMERICS = Pattern.compile("^[^a-zA-Z0-9]+$"); // match words with no letters or digits
+
+  private CharSequence text = ""; // the document's text, or for a streamed document the text of the words still kept
+  private int textBase; // the offset in the document's text of the first character of text
+  private int[] starts = new int[16]; // the offset of each word in the document's text
+  private int[] ends = new int[16]; // the offset after each word in the document's text
+  private byte[] kinds = new byte[16]; // whether each word is a slice of the text, a newline, a replacement or removed
+  private int originalSize; // the number of words read, including removed words
+  private int size; // the number of words not removed
+  private final ArrayList<String> changeLog = new ArrayList<String>(); // every word that replaced a word, in the order of the edits
+  private int[] changes; // for each original index, the position after its latest replacement in the change log, made on the first edit
+  private int[] liveTree; // a Fenwick tree counting the words not removed by original index, made on the first removal
+  private int[] lineStarts = new int[16]; // the offset of each line in the document's text
+  private int lineCount; // the number of lines
+  private final List<String> wordsView = new WordsView();
+  private final CachedToken[] tokenCache = new CachedToken[TOKEN_CACHE_SIZE];
   private String filePath;
+  private boolean textIsFileBytes; // whether each character of the text is the byte at the same offset of the file at filePath
+  private Charset charset = Charset.defaultCharset(); // the charset the file was read in, and is saved in
+  private boolean hasByteOrderMark; // whether the file started with a byte order mark, which is not part of the text
   public Metrics docMetrics = new Metrics();
   public boolean isHTML = false;
+  private Tokenizer tokenizer; // splits the lines of the document into words, kept between lines
+  private int modificationCount = 0;
+  private DocumentListener listener;
+  private WordOccurrenceIndex occurrenceIndex; // built the first time it is needed
+  private final StringBuilder lineBuilder = new StringBuilder(); // reused by readLine
+  private int lineBreakLength; // the length of the line break after the line last read
+  private char lineBreak; // the first character of the line break after the line last read
+  private final char[] buffer = new char[8192]; // characters read ahead by readLine
+  private int bufferPosition;
+  private int bufferLimit;
+  private BufferedReader streamReader; // where a streamed document's words are read from, until it ends
   
   /**
    * Constructor for the document class. Takes a file path as an argument,
@@ -38,97 +109,427 @@ public class Document {
    * @param isDocHTML true if file is html/xml, false for txt file
    */
   public Document(String path, boolean isDocHTML) { // constructor for document
-    this.isHTML =  isDocHTML;
+    this(path, isDocHTML ? MarkupTokenizer::new : PlainTextTokenizer::new);
+  }
+
+  /**
+   * Constructor for a document of any format the spell checker can read, such as
+   * those found through the TokenizerRegistry. Only the words the format's
+   * tokenizer finds are added to the words list.
+   *
+   * @param path the path of the file to be read
+   * @param format makes the tokenizer splitting the document into words
+   */
+  public Document(String path, Supplier<Tokenizer> format) {
+    this.tokenizer = format.get();
+    this.isHTML = tokenizer instanceof MarkupTokenizer;
     filePath = path;
-    if(!this.isHTML){ // if document NOT html/xml, don't split based on <>
-      try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-        String line;
-        while ((line = reader.readLine()) != null) {
-          String[] words = line.split(" "); // split the line into words based on spaces
-          for (String word : words) { // add each word to the wordsList
-            if(word.contains("-") && !word.startsWith("-") && !word.endsWith("-")) { // if word is hyphenated, add it as 2 words
-              String[] parts = word.split("-");
-              String beforeHyphen = parts[0] + "-";
-              String afterHyphen = parts[1];
-              wordsList.add(beforeHyphen);
-              wordsList.add(afterHyphen);
-              docMetrics.increaseWordCount(2);
-              docMetrics.increaseCharacterCount(word.length());
-            }
-            else {
-              this.wordsList.add(word);
-              docMetrics.increaseWordCount(1);
-              docMetrics.increaseCharacterCount(word.length());
-            }
-          }
-          // Add the newline as a separate word
-          wordsList.add("\n");
-          docMetrics.increaseLineCount(1);
+    try {
+      text = readText(path);
+      textIsFileBytes = !hasByteOrderMark && MappedText.isAsciiCompatible(charset) && new File(path).length() == text.length(); // no character took more than one byte
+      int length = text.length();
+      int lineStart = 0;
+      while (lineStart < length) { // split the text into lines the way BufferedReader.readLine does
+        int lineEnd = lineStart;
+        char c;
+        while (lineEnd < length && (c = text.charAt(lineEnd)) != '\n' && c != '\r') lineEnd++;
+        int breakLength = 0; // the last line may have no line break
+        if(lineEnd < length) breakLength = text.charAt(lineEnd) == '\r' && lineEnd + 1 < length && text.charAt(lineEnd + 1) == '\n' ? 2 : 1;
+        addLine(lineStart, lineEnd, breakLength);
+        lineStart = lineEnd + breakLength;
+      }
+    } catch (Exception e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Constructor for a streamed document, which reads its words from a reader
+   * a window at a time, so documents larger than memory can be checked. No words
+   * are read until readWords is called, and words already checked can be dropped
+   * from the front of the words list with dropWords. Word, character and line
+   * counts are added to the given metrics as words are read.
+   *
+   * @param reader the reader to read the document from
+   * @param isDocHTML true if document is html/xml, false for txt
+   * @param metrics the metrics to count words, characters and lines in
+   */
+  Document(Reader reader, boolean isDocHTML, Metrics metrics) {
+    this(reader, isDocHTML ? MarkupTokenizer::new : PlainTextTokenizer::new, metrics);
+  }
+
+  /**
+   * Constructor for a streamed document of any format the spell checker can read.
+   *
+   * @param reader the reader to read the document from
+   * @param format makes the tokenizer splitting the document into words
+   * @param metrics the metrics to count words, characters and lines in
+   */
+  Document(Reader reader, Supplier<Tokenizer> format, Metrics metrics) {
+    this.tokenizer = format.get();
+    this.isHTML = tokenizer instanceof MarkupTokenizer;
+    this.streamReader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    this.docMetrics = metrics;
+    this.text = new StringBuilder();
+  }
+
+  /**
+   * Reads the text of a file in the charset TextDecoder detects for it, keeping
+   * the charset to save the document in. Small files are read into the decoder's
+   * direct buffer; large files are memory-mapped, and read in place if they are
+   * ASCII.
+   *
+   * @param path the path of the file
+   * @return the text of the file, without its byte order mark
+   * @throws IOException if the file cannot be read
+   */
+  private CharSequence readText(String path) throws IOException {
+    TextDecoder decoder = TextDecoder.forCurrentThread();
+    try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+      long length = channel.size();
+      ByteBuffer bytes;
+      if(length < MAPPED_THRESHOLD) bytes = decoder.read(channel);
+      else {
+        bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, length); // stays mapped after the channel is closed
+        if(MappedText.isAscii(bytes)) { // ASCII is valid UTF-8
+          charset = StandardCharsets.UTF_8;
+          return new MappedText(bytes);
         }
-      } catch (Exception e) {
-        e.printStackTrace();
       }
+      String decoded = decoder.decode(bytes); // characters of more than one byte have to be decoded into the heap
+      charset = decoder.getCharset();
+      hasByteOrderMark = decoder.getByteOrderMarkLength() > 0;
+      return decoded;
+    }
+  }
+
+  /**
+   * Gets the charset the document's file was read in, which it is saved in.
+   *
+   * @return the charset of the document's file
+   */
+  public Charset getCharset() {
+    return charset;
+  }
+
+  /**
+   * Reads lines of a streamed document until at least a number of words have
+   * been added to the words list, or the document ends. The words of a line are
+   * always added together with the newline after them.
+   *
+   * @param minWords the number of words to read at least
+   * @return true if there may be more to read, false once the document has ended
+   */
+  boolean readWords(int minWords) {
+    if(streamReader == null) return false;
+    int target = size + minWords;
+    try {
+      String line;
+      StringBuilder window = (StringBuilder) text;
+      while (size < target) {
+        if((line = readLine(streamReader)) == null) break;
+        int lineStart = textBase + window.length();
+        window.append(line);
+        if(lineBreakLength > 0) window.append(lineBreak); // keep the line break as it is, so the text around a word is the file's
+        if(lineBreakLength > 1) window.append('\n');
+        addLine(lineStart, lineStart + line.length(), lineBreakLength);
+      }
+      if(size >= target) return true;
+    } catch (Exception e) {
+      e.printStackTrace(); // stop where the document could not be read, as loading a file does
     }
-    else if(this.isHTML){ // if document IS html/xml, split based on <>
-      try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
-        String line;
-        Pattern pattern = Pattern.compile("<[^>]*>|\\S+"); // match words within angle brackets or non-whitespace characters
-        while ((line = reader.readLine()) != null) {
-          Matcher matcher = pattern.matcher(line); // split lines into words based on regex above
-          while (matcher.find()) {
-            String word = matcher.group();
-            if(word.contains("<") && !word.startsWith("<")) { // if word has < in the middle, break it up before adding it to words list
-              String[] wordParts = word.split("(?=<)|(?<=>)");
-              if(wordParts[0].contains("-") && !wordParts[0].startsWith("-") && !wordParts[0].endsWith("-")) { // if word is hyphenated, add it as 2 words
-                String[] hyphenatedParts = wordParts[0].split("-");
-                String beforeHyphen = hyphenatedParts[0] + "-";
-                String afterHyphen = hyphenatedParts[1];
-                wordsList.add(beforeHyphen);
-                wordsList.add(afterHyphen);
-                docMetrics.increaseWordCount(2);
-                docMetrics.increaseCharacterCount(wordParts[0].length());
-              } else if(wordParts[0].contains(".") && !wordParts[0].startsWith(".") && !wordParts[0].endsWith(".")) {
-                String[] hyphenatedParts = wordParts[0].split(".");
-                String beforeHyphen = hyphenatedParts[0] + ".";
-                String afterHyphen = hyphenatedParts[1];
-                wordsList.add(beforeHyphen);
-                wordsList.add(afterHyphen);
-                docMetrics.increaseWordCount(2);
-                docMetrics.increaseCharacterCount(wordParts[0].length());
-              }
-              else {
-                wordsList.add(wordParts[0]);
-                docMetrics.increaseWordCount(1);
-                docMetrics.increaseCharacterCount(wordParts[0].length());
-              }
-
-              wordsList.add(wordParts[1]);
-              docMetrics.increaseWordCount(1);
-              docMetrics.increaseCharacterCount(wordParts[1].length());
-            }
-            else { // if word doesn't have < in the middle, add it without modification to the words list
-              wordsList.add(word);
-              docMetrics.increaseWordCount(1);
-              docMetrics.increaseCharacterCount(word.length());
-            }
+    streamReader = null;
+    return false;
+  }
+
+  /**
+   * Removes words from the front of a streamed document's words list, once they
+   * are no longer needed for checking or context, along with their text
+   *
+   * @param count the number of words to remove
+   */
+  void dropWords(int count) {
+    int newBase = count < originalSize ? starts[count] : textBase + text.length();
+    ((StringBuilder) text).delete(0, newBase - textBase);
+    textBase = newBase;
+    int moved = originalSize - count; // a streamed document is never edited, so every word is a slice of the text
+    System.arraycopy(starts, count, starts, 0, moved);
+    System.arraycopy(ends, count, ends, 0, moved);
+    System.arraycopy(kinds, count, kinds, 0, moved);
+    originalSize = moved;
+    size = moved;
+    int firstLine = Math.max(0, lineOf(newBase)); // keep the line the first word kept is on
+    System.arraycopy(lineStarts, firstLine, lineStarts, 0, lineCount - firstLine);
+    lineCount -= firstLine;
+    Arrays.fill(tokenCache, null);
+    occurrenceIndex = null;
+    modificationCount++;
+  }
+
+  /**
+   * Splits a line into words and adds them to the words list, followed by a
+   * newline word, counting its words, characters and the line in the document
+   * metrics. The line is split by the document's tokenizer, which carries on
+   * from the line before it, so markup, code or math of the document's format is
+   * not added as words.
+   *
+   * @param lineStart the offset of the line in the document's text
+   * @param lineEnd the offset of the line's line break in the document's text
+   * @param breakLength the length of the line break
+   */
+  private void addLine(int lineStart, int lineEnd, int breakLength) {
+    if(lineCount == lineStarts.length) lineStarts = Arrays.copyOf(lineStarts, 2 * lineCount);
+    lineStarts[lineCount++] = lineStart;
+    tokenizer.tokenizeLine(text, textBase, lineStart, lineEnd, this::addSplitWord);
+    // Add the newline as a separate word
+    addNewline(lineEnd, breakLength);
+    docMetrics.increaseLineCount(1);
+  }
+
+  /**
+   * Adds a word of a text document to the words list. If the word is hyphenated,
+   * it is added as 2 words: the part up to and including the first hyphen, and
+   * the part up to the next hyphen.
+   *
+   * @param start the offset of the word in the document's text
+   * @param end the offset after the word in the document's text
+   */
+  private void addSplitWord(int start, int end) {
+    int hyphen = indexOf('-', start, end);
+    if(hyphen > start && charAt(end - 1) != '-') { // if word is hyphenated, add it as 2 words
+      int afterEnd = indexOf('-', hyphen + 1, end);
+      addWord(start, hyphen + 1);
+      addWord(hyphen + 1, afterEnd < 0 ? end : afterEnd);
+      docMetrics.increaseWordCount(2);
+    }
+    else {
+      addWord(start, end);
+      docMetrics.increaseWordCount(1);
+    }
+    docMetrics.increaseCharacterCount(end - start);
+  }
+
+  /**
+   * Reads a line of the document the way BufferedReader.readLine does, also
+   * recording the length of the line break that ended it, so the offsets of
+   * the words in the document's text are known
+   *
+   * @param reader the reader to read the line from
+   * @return the line without its line break, or null at the end of the document
+   * @throws IOException if the document cannot be read
+   */
+  private String readLine(BufferedReader reader) throws IOException {
+    lineBuilder.setLength(0);
+    while (true) {
+      if(bufferPosition == bufferLimit) { // refill the buffer
+        bufferLimit = reader.read(buffer, 0, buffer.length);
+        bufferPosition = 0;
+        if(bufferLimit <= 0) {
+          bufferLimit = 0;
+          lineBreakLength = 0; // the last line may have no line break
+          return lineBuilder.length() == 0 ? null : lineBuilder.toString();
+        }
+      }
+      int lineEnd = bufferPosition;
+      while (lineEnd < bufferLimit && buffer[lineEnd] != '\n' && buffer[lineEnd] != '\r') lineEnd++;
+      lineBuilder.append(buffer, bufferPosition, lineEnd - bufferPosition);
+      bufferPosition = lineEnd;
+      if(lineEnd == bufferLimit) continue; // the line goes on in the next buffer
+
+      lineBreak = buffer[bufferPosition++];
+      lineBreakLength = 1;
+      if(lineBreak == '\r') { // a carriage return, alone or followed by a line feed
+        if(bufferPosition < bufferLimit) {
+          if(buffer[bufferPosition] == '\n') {
+            bufferPosition++;
+            lineBreakLength = 2;
           }
-          // Add the newline as a separate word
-          wordsList.add("\n");
-          docMetrics.increaseLineCount(1);
         }
-      } catch (Exception e) {
-          e.printStackTrace();
+        else {
+          reader.mark(1); // the buffer is used up, so look at the next character in the reader without losing it
+          int next = reader.read();
+          if(next == '\n') lineBreakLength = 2;
+          else if(next != -1) reader.reset();
+        }
+      }
+      return lineBuilder.toString();
+    }
+  }
+
+  /**
+   * Adds a word of the document's text to the words list
+   *
+   * @param start the offset of the word in the document's text
+   * @param end the offset after the word in the document's text
+   */
+  private void addWord(int start, int end) {
+    add(start, end, WORD);
+  }
+
+  /**
+   * Adds the newline word ending a line to the words list, which covers the line break
+   *
+   * @param start the offset of the line break in the document's text
+   * @param breakLength the length of the line break
+   */
+  private void addNewline(int start, int breakLength) {
+    add(start, start + breakLength, NEWLINE);
+  }
+
+  private void add(int start, int end, byte kind) {
+    if(originalSize == starts.length) { // grow the arrays
+      int capacity = 2 * originalSize;
+      starts = Arrays.copyOf(starts, capacity);
+      ends = Arrays.copyOf(ends, capacity);
+      kinds = Arrays.copyOf(kinds, capacity);
+      if(changes != null) changes = Arrays.copyOf(changes, capacity);
+    }
+    starts[originalSize] = start;
+    ends[originalSize] = end;
+    kinds[originalSize] = kind;
+    originalSize++;
+    size++;
+  }
+
+  /**
+   * Retrieves the number of words read into the document, including words
+   * that have since been removed
+   *
+   * @return the number of original indices
+   */
+  public int getOriginalSize() {
+    return originalSize;
+  }
+
+  /**
+   * Finds the original index of a word in the words list, which stays the same
+   * when words before it are removed
+   *
+   * @param index the index of the word in the words list
+   * @return the original index of the word
+   */
+  public int getOriginalIndex(int index) {
+    Objects.checkIndex(index, size);
+    if(size == originalSize) return index; // no word was removed
+    int position = 0;
+    int remaining = index + 1; // find the (index+1)th word not removed
+    for (int step = Integer.highestOneBit(originalSize); step > 0; step >>= 1) {
+      int next = position + step;
+      if(next <= originalSize && liveTree[next] < remaining) {
+        position = next;
+        remaining -= liveTree[next];
       }
     }
+    return position;
+  }
+
+  /**
+   * Finds the index in the words list of the word at an original index. A removed
+   * word has the index the first word after it that is not removed has.
+   *
+   * @param originalIndex the original index of the word
+   * @return the number of words not removed before the original index
+   */
+  public int getIndex(int originalIndex) {
+    if(size == originalSize) return originalIndex; // no word was removed
+    int count = 0;
+    for (int i = Math.min(originalIndex, originalSize); i > 0; i -= i & -i) count += liveTree[i];
+    return count;
+  }
+
+  /**
+   * Checks if the word at an original index was removed from the words list
+   *
+   * @param originalIndex the original index of the word
+   * @return true if the word was removed
+   */
+  public boolean isRemoved(int originalIndex) {
+    Objects.checkIndex(originalIndex, originalSize);
+    return kinds[originalIndex] == REMOVED;
+  }
+
+  /**
+   * Counts the words not removed into a Fenwick tree, in O(n)
+   */
+  private void buildLiveTree() {
+    int[] tree = new int[originalSize + 1];
+    for (int i = 1; i <= originalSize; i++) {
+      if(kinds[i - 1] != REMOVED) tree[i]++;
+      int parent = i + (i & -i);
+      if(parent <= originalSize) tree[parent] += tree[i];
+    }
+    liveTree = tree;
+  }
+
+  private char charAt(int offset) {
+    return text.charAt(offset - textBase);
+  }
+
+  private int indexOf(char c, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if(charAt(i) == c) return i;
+    }
+    return -1;
+  }
+
+  private String slice(int start, int end) {
+    return text.subSequence(start - textBase, end - textBase).toString();
+  }
+
+  /**
+   * Makes the String of a word
+   *
+   * @param index the index of the word
+   * @return the word
+   */
+  private String getWord(int index) {
+    int original = getOriginalIndex(index);
+    if(kinds[original] == NEWLINE) return "\n";
+    if(kinds[original] == REPLACED) return changeLog.get(changes[original] - 1);
+    return slice(starts[original], ends[original]);
   }
 
   /**
-   * Retrieves the words list for a document
+   * Retrieves the words list for a document. The list is a view of the document,
+   * which makes the String of a word each time it is asked for, and changes as the
+   * document is edited. It cannot be changed itself.
    *
-   * @return an ArrayList containing strings representing each word in the file
+   * @return a List containing strings representing each word in the file
    */
-  public ArrayList<String> getWordsList() {
-    return wordsList;
+  public List<String> getWordsList() {
+    return wordsView;
+  }
+
+  /**
+   * Retrieves the token of a word in the words list, holding the word's offsets
+   * in the document's text, its bounds without punctuation, and whether it is a number.
+   * Tokens are made when asked for, and the most recent ones are kept, since the
+   * spell checker asks for a word and the word before it as it checks each word.
+   *
+   * @param index the index of the word
+   * @return the token of the word
+   */
+  public Token getToken(int index) {
+    Objects.checkIndex(index, size);
+    int slot = index & (TOKEN_CACHE_SIZE - 1);
+    CachedToken cached = tokenCache[slot];
+    if(cached != null && cached.index == index) return cached.token;
+    int original = getOriginalIndex(index);
+    Token token = new Token(getWord(index), starts[original], ends[original]);
+    tokenCache[slot] = new CachedToken(index, token); // slots may be written by several scanning threads; each entry is whole
+    return token;
+  }
+
+  /**
+   * Retrieves the inverted index of the document, mapping each word to the
+   * positions it occurs at in the words list. The index is built the first
+   * time it is asked for, and kept up to date as words are replaced or removed.
+   *
+   * @return the word occurrence index of the document
+   */
+  public WordOccurrenceIndex getOccurrenceIndex() {
+    if(occurrenceIndex == null) occurrenceIndex = new WordOccurrenceIndex(this);
+    return occurrenceIndex;
   }
 
   /**
@@ -145,24 +546,29 @@ public class Document {
    *
    * @param index the index to which the context before the word is retrieved
    * @return a String representing the context before a given word
+   * @deprecated the words are joined one at a time with single spaces; use
+   * getTextBefore, which gives the text as it appears in the document
    */
+  @Deprecated
   public String getContextBefore(int index) {
-    ArrayList<String> contextBefore = new ArrayList<String>();
-    int numWords = 50;
+    StringBuilder contextBefore = new StringBuilder();
     if (index >= 0) {
       int lineCount = 0;
-      int start = Math.max(0, index - numWords); // calculate start index for context before
-      for (int i = index-1; i >= start; i--) { // add words from the current index to the start index
-        if(index<0) break; // break if index out of range
-        contextBefore.add(0, wordsList.get(i)); // add word to beginning of array
-        if(wordsList.get(i).equals("\n")) { // if too many newlines added, break (ensure not too much pre-context so error word can be displayed)
+      int start = Math.max(0, index - CONTEXT_WORDS); // calculate start index for context before
+      int first = index;
+      while (first > start) { // find the first word of the context, from the current index back to the start index
+        first--;
+        if(wordsView.get(first).equals("\n")) { // if too many newlines added, break (ensure not too much pre-context so error word can be displayed)
           lineCount++;
         }
-        if(lineCount > 4) break;
+        if(lineCount > CONTEXT_LINES) break;
+      }
+      for (int i = first; i < index; i++) { // add words from the first word to the current index
+        if(i > first) contextBefore.append(' ');
+        contextBefore.append(wordsView.get(i));
       }
     }
-    String output = String.join(" ", contextBefore);
-    return output;
+    return contextBefore.toString();
   }
 
   /**
@@ -170,18 +576,130 @@ public class Document {
    *
    * @param index the index to which the context after the word is retrieved
    * @return a String representing the context after a given word
+   * @deprecated the words are joined one at a time with single spaces; use
+   * getTextAfter, which gives the text as it appears in the document
    */
+  @Deprecated
   public String getContextAfter(int index) {
-    ArrayList<String> contextAfter = new ArrayList<String>();
-    int numWords = 50;
-    if (index >= 0 && index < wordsList.size()) {
-      int end = Math.min(wordsList.size(), index + numWords); // calculate end index for context after
+    StringBuilder contextAfter = new StringBuilder();
+    if (index >= 0 && index < wordsView.size()) {
+      int end = Math.min(wordsView.size(), index + CONTEXT_WORDS); // calculate end index for context after
       for (int i = index + 1; i < end; i++) { // add words from the target index to the end index
-          contextAfter.add(wordsList.get(i));
+          if(i > index + 1) contextAfter.append(' ');
+          contextAfter.append(wordsView.get(i));
       }
     }
-    String output = String.join(" ", contextAfter);
-    return output;
+    return contextAfter.toString();
+  }
+
+  /**
+   * Retrieves the text before a given word index as it appears in the document,
+   * with its spacing and line breaks, up to the word. The text starts at the start
+   * of the line CONTEXT_LINES lines above the word, or at the word CONTEXT_WORDS
+   * words before it if that is later. The bounds are found from the offsets of the
+   * words and lines, and the text is one substring unless a word in it was edited.
+   *
+   * @param index the index of the word
+   * @return the text before the word
+   */
+  public String getTextBefore(int index) {
+    Objects.checkIndex(index, size);
+    int to = starts[getOriginalIndex(index)];
+    int from = lineStarts[Math.max(0, lineOf(to) - CONTEXT_LINES)];
+    if(index >= CONTEXT_WORDS) from = Math.max(from, starts[getOriginalIndex(index - CONTEXT_WORDS)]);
+    return getText(Math.max(from, textBase), to);
+  }
+
+  /**
+   * Retrieves the text after a given word index as it appears in the document,
+   * with its spacing and line breaks, up to the end of the word CONTEXT_WORDS - 1
+   * words after it
+   *
+   * @param index the index of the word
+   * @return the text after the word
+   */
+  public String getTextAfter(int index) {
+    Objects.checkIndex(index, size);
+    int from = ends[getOriginalIndex(index)];
+    int last = Math.min(size, index + CONTEXT_WORDS) - 1;
+    return getText(from, Math.max(from, ends[getOriginalIndex(last)]));
+  }
+
+  /**
+   * Retrieves part of the document's text, with the words edited in it replaced or removed
+   *
+   * @param from the offset of the first character in the document's text
+   * @param to the offset after the last character in the document's text
+   * @return the text between the offsets
+   */
+  private String getText(int from, int to) {
+    if(changes == null && size == originalSize) return slice(from, to); // nothing was edited
+    StringBuilder output = new StringBuilder(to - from);
+    int written = from; // the offset in the text up to which the text has been written
+    for (int i = firstWordAt(from); i < originalSize && starts[i] < to; i++) {
+      if(kinds[i] != REPLACED && kinds[i] != REMOVED) continue; // written with the text around it
+      int[] span = editedSpan(i, written);
+      output.append(text, written - textBase, Math.min(span[0], to) - textBase);
+      if(kinds[i] == REPLACED) output.append(changeLog.get(changes[i] - 1));
+      written = Math.min(Math.max(span[1], written), to);
+    }
+    output.append(text, written - textBase, to - textBase);
+    return output.toString();
+  }
+
+  /**
+   * Finds the span of the text an edited word takes the place of: the word itself,
+   * or for a removed word, the word and a space next to it
+   *
+   * @param original the original index of the word
+   * @param written the offset in the text up to which the text has been written
+   * @return the start and end of the span, with the start no earlier than written
+   */
+  private int[] editedSpan(int original, int written) {
+    int from = starts[original];
+    int to = ends[original];
+    int textEnd = textBase + text.length();
+    if(kinds[original] == REMOVED && from < to && !isLineBreak(charAt(from))) { // take a space next to a removed word with it
+      int after = to;
+      while (after < textEnd && charAt(after) == ' ') after++;
+      if(after < textEnd && !isLineBreak(charAt(after))) to = after; // another word follows on the line
+      else while (from > written && charAt(from - 1) == ' ') from--;
+    }
+    return new int[] {Math.max(from, written), to};
+  }
+
+  /**
+   * Finds the first word starting at or after an offset in the document's text
+   *
+   * @param offset the offset in the document's text
+   * @return the original index of the word, or the original size if there is none
+   */
+  private int firstWordAt(int offset) {
+    int low = 0;
+    int high = originalSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if(starts[mid] < offset) low = mid + 1;
+      else high = mid;
+    }
+    return low;
+  }
+
+  /**
+   * Finds the line holding an offset in the document's text
+   *
+   * @param offset the offset in the document's text
+   * @return the index of the last line starting at or before the offset
+   */
+  private int lineOf(int offset) {
+    int low = 0;
+    int high = lineCount;
+    while (low < high) { // find the first line starting after the offset
+      int mid = (low + high) >>> 1;
+      if(lineStarts[mid] <= offset) low = mid + 1;
+      else high = mid;
+    }
+    return Math.max(0, low - 1);
   }
 
   /**
@@ -191,82 +709,273 @@ public class Document {
    * @param newWord the word to replace the old word with
    */
   public void replaceWord(int index, String newWord) {
-    String oldWord = this.wordsList.get(index);
+    Token oldToken = getToken(index);
+    int original = getOriginalIndex(index);
+    newWord = withPunctuation(oldToken, newWord);
+
+    if(newWord == null) { // remove word if it contains nothing and has no punctuation
+      if(liveTree == null) buildLiveTree();
+      removeWord(original, oldToken);
+      for (int i = original + 1; i <= originalSize; i += i & -i) liveTree[i]--;
+      Arrays.fill(tokenCache, null);
+      modificationCount++;
+      if(listener != null) listener.wordRemoved(index, original);
+      return;
+    }
+
+    if(changes == null) changes = new int[originalSize];
+    setWord(original, oldToken, newWord);
+    Arrays.fill(tokenCache, null);
+    modificationCount++;
+    if(listener != null) listener.wordReplaced(index, original);
+  }
+
+  /**
+   * Replaces several words of the document as one edit, as replaceWord would
+   * replace each of them. The words are found before any of them is edited, the
+   * live word counts are updated in one pass, and the listener is told about the
+   * edit once.
+   *
+   * @param indices the indices of the words to replace, in increasing order
+   * @param newWords the word to replace each word with, where "" removes a word the way replaceWord does
+   */
+  public void replaceWords(int[] indices, String[] newWords) {
+    if(indices.length != newWords.length) throw new IllegalArgumentException("Got " + indices.length + " indices for " + newWords.length + " words");
+    if(indices.length == 0) return;
+    int[] originals = new int[indices.length];
+    Token[] oldTokens = new Token[indices.length];
+    for (int i = 0; i < indices.length; i++) { // find every word while the indices still point at them
+      if(i > 0 && indices[i] <= indices[i - 1]) throw new IllegalArgumentException("Indices must be increasing: " + indices[i - 1] + ", " + indices[i]);
+      oldTokens[i] = getToken(indices[i]);
+      originals[i] = getOriginalIndex(indices[i]);
+    }
+
+    int removed = 0;
+    for (int i = 0; i < indices.length; i++) {
+      String newWord = withPunctuation(oldTokens[i], newWords[i]);
+      if(newWord == null) {
+        removeWord(originals[i], oldTokens[i]);
+        removed++;
+      }
+      else {
+        if(changes == null) changes = new int[originalSize];
+        setWord(originals[i], oldTokens[i], newWord);
+      }
+    }
+    if(removed > 0 && (liveTree == null || removed > originalSize / 32)) buildLiveTree(); // one O(n) pass counts every removal at once
+    else if(removed > 0) {
+      for (int original : originals) {
+        if(kinds[original] != REMOVED) continue;
+        for (int i = original + 1; i <= originalSize; i += i & -i) liveTree[i]--;
+      }
+    }
+    Arrays.fill(tokenCache, null);
+    modificationCount++;
+    if(listener != null) listener.wordsReplaced(originals);
+  }
+
+  /**
+   * Puts a word's leading and trailing punctuation around the word replacing it
+   *
+   * @param oldToken the token of the word being replaced
+   * @param newWord the word replacing it
+   * @return the new word with the old word's punctuation, or null if the word is to be removed
+   */
+  private static String withPunctuation(Token oldToken, String newWord) {
     String savedNewWord = newWord;
 
-    Pattern trailingPunctuation = Pattern.compile("(.*?)([-.,;:!?(){}\"]+)*$");
-    Matcher matcher = trailingPunctuation.matcher(oldWord);
-    matcher.find();
-    String punctuationAfter = matcher.group(2); // group 2 contains the trailing punctuation
+    String punctuationAfter = oldToken.getTrailingPunctuation(); // keep the old word's trailing punctuation
     if(punctuationAfter!=null) newWord = newWord + punctuationAfter;
 
-    Pattern leadingPunctuation = Pattern.compile("([-.,;:!?(){}\"]+)*(.*?)");
-    Matcher leadMatcher = leadingPunctuation.matcher(oldWord);
-    leadMatcher.find();
-    String punctuationBefore = leadMatcher.group(1); // group 1 contains the leading punctuation
+    String punctuationBefore = oldToken.getLeadingPunctuation(); // keep the old word's leading punctuation
     if(punctuationBefore!=null) newWord = punctuationBefore + newWord;
 
     if(savedNewWord == "" && punctuationAfter!=null && punctuationBefore!=null) newWord = ""; // if word has trailing and beginning punctuation
-    else if(savedNewWord == "" && punctuationAfter==null && punctuationBefore==null) { // remove word if it contains nothing and has no punctuation
-      wordsList.remove(index);
-      return;
-    }
+    else if(savedNewWord == "" && punctuationAfter==null && punctuationBefore==null) newWord = null; // remove word if it contains nothing and has no punctuation
+    return newWord;
+  }
+
+  /**
+   * Marks a word as removed, leaving the live word counts to the caller
+   *
+   * @param original the original index of the word
+   * @param oldToken the token of the word
+   */
+  private void removeWord(int original, Token oldToken) {
+    kinds[original] = REMOVED; // the word keeps its original index, and is only skipped
+    size--;
+    if(occurrenceIndex != null) occurrenceIndex.wordRemoved(original, oldToken); // later words keep their original indices
+  }
 
-    wordsList.set(index, newWord);
+  /**
+   * Records the word replacing a word in the change log
+   *
+   * @param original the original index of the word
+   * @param oldToken the token of the word
+   * @param newWord the word replacing it, with its punctuation
+   */
+  private void setWord(int original, Token oldToken, String newWord) {
+    changeLog.add(newWord);
+    changes[original] = changeLog.size();
+    kinds[original] = REPLACED;
+    Token newToken = new Token(newWord, oldToken.getStart(), oldToken.getEnd()); // the new word takes the old word's place in the text
+    if(occurrenceIndex != null) occurrenceIndex.wordReplaced(original, oldToken, newToken);
   }
 
   /**
-   * Saves the words list into a new file
+   * Sets the listener told about each word replaced or removed, replacing any
+   * previous listener
+   *
+   * @param listener the listener to tell about edits, or null for none
+   */
+  public void setDocumentListener(DocumentListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Retrieves the number of times a word in the words list has been replaced
+   * or removed, so anything computed from the words list can tell it is out of date
+   *
+   * @return the number of modifications made to the words list
+   */
+  public int getModificationCount() {
+    return modificationCount;
+  }
+
+  /**
+   * Copies a memory-mapped text into the heap, so the file can be written over
+   * without changing the words read from it
+   */
+  private void detachFromFile() {
+    if(text instanceof MappedText) text = text.toString();
+  }
+
+  /**
+   * Checks if a path is the file the document was read from
+   *
+   * @param path the path to check
+   * @return true if both paths are the same file
+   */
+  private boolean isSameFile(String path) {
+    try {
+      return filePath != null && new File(path).exists() && Files.isSameFile(Paths.get(path), Paths.get(filePath));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Saves the words list into a new file. Saving the document's own words list
+   * keeps the file as it was read, with only the edited words written over.
    *
    * @param newDoc the words list to be saved
    * @param path the path to save the new words list to
    */
-  public void saveNewFile(ArrayList<String> newDoc, String path) {
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(path))) {
-      for (int i = 0; i<newDoc.size()-1; i++) {
-        String word = newDoc.get(i);
-        String nextWord = "";
-        try {
-          nextWord = newDoc.get(i+1);
-        }
-        catch(Exception e) {
-          e.printStackTrace();
-        }
-        Pattern pattern = Pattern.compile("^[^a-zA-Z0-9]+$");
-        java.util.regex.Matcher matcher = pattern.matcher(nextWord);
-        Boolean nextHasNoAlphanumerics = matcher.matches();
+  public void saveNewFile(List<String> newDoc, String path) {
+    if(newDoc == wordsView && filePath != null) saveText(path);
+    else saveWords(newDoc, path);
+  }
 
-        matcher = pattern.matcher(word);
-        Boolean hasNoAlphanumerics = matcher.matches();
-        
-        if (word.contains("\n")) { // add newline without space after 
-          writer.write(word);
-        }
-        else if(hasNoAlphanumerics){
-          continue;
-        }
-        else if(word.equals("")){
-          continue;
+  /**
+   * Saves the words list into the same file, overwriting it. Saving the document's
+   * own words list keeps the file as it was read, with only the edited words written over.
+   *
+   * @param newDoc the words list to be saved
+   */
+  public void overwriteFile(List<String> newDoc) {
+    if(newDoc == wordsView) saveText(filePath);
+    else saveWords(newDoc, filePath);
+  }
+
+  /**
+   * Saves the document's text with its edits into a file. The text between edited
+   * words, including spacing, tabs, line breaks and anything not read as a word, is
+   * written as it was read. While the file the document was read from still holds
+   * its text byte for byte, those spans are copied from it with FileChannel.transferTo,
+   * without passing through the heap; otherwise they are encoded from the text.
+   * Saving over the file the document was read from writes a temporary file beside
+   * it first, and moves it into place.
+   *
+   * @param path the path to save the text to
+   */
+  private void saveText(String path) {
+    boolean sameFile = isSameFile(path);
+    Path target = Paths.get(path).toAbsolutePath();
+    try {
+      Path output = sameFile ? Files.createTempFile(target.getParent(), ".spellbuddy", ".tmp") : target;
+      try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+           FileChannel source = textIsFileBytes ? FileChannel.open(Paths.get(filePath), StandardOpenOption.READ) : null) {
+        if(hasByteOrderMark) writeFully(out, charset.encode("\uFEFF")); // the text is never copied from the file when it has one
+        int written = 0; // the offset in the text up to which the text has been written
+        for (int i = 0; i < originalSize; i++) {
+          if(kinds[i] != REPLACED && kinds[i] != REMOVED) continue; // written with the text around it
+          int[] span = editedSpan(i, written);
+          writeText(source, out, charset, written, span[0]);
+          if(kinds[i] == REPLACED) writeFully(out, charset.encode(changeLog.get(changes[i] - 1)));
+          written = Math.max(span[1], written);
         }
-        else if(nextHasNoAlphanumerics) {
-          writer.write(word + nextWord + " ");
-        } else { // add word with spaces after
-            writer.write(word + " ");
+        writeText(source, out, charset, written, text.length());
+      }
+      if(sameFile) {
+        detachFromFile(); // the document's text is no longer in the file
+        textIsFileBytes = false;
+        if(target.getFileSystem().supportedFileAttributeViews().contains("posix")) { // keep the file's permissions
+          Files.setPosixFilePermissions(output, Files.getPosixFilePermissions(target));
         }
+        Files.move(output, target, StandardCopyOption.REPLACE_EXISTING);
       }
-    } 
-    catch (Exception e) {
+    } catch (IOException e) {
       e.printStackTrace();
     }
   }
 
   /**
-   * Saves the words list into the same file, overwriting it
+   * Writes a span of the document's text to a file, copying it from the file the
+   * document was read from if there is one, or encoding it otherwise
+   *
+   * @param source the file the document was read from, or null to encode the text
+   * @param out the file to write to
+   * @param charset the charset to encode the text with
+   * @param from the offset of the span in the text
+   * @param to the offset after the span in the text
+   * @throws IOException if either file cannot be used
+   */
+  private void writeText(FileChannel source, FileChannel out, Charset charset, int from, int to) throws IOException {
+    if(source != null) {
+      while (from < to) { // transferTo may copy less than asked
+        long copied = source.transferTo(from, to - from, out);
+        if(copied <= 0) throw new IOException("File changed while open: " + filePath);
+        from += copied;
+      }
+      return;
+    }
+    while (from < to) { // encode a chunk at a time, without splitting a surrogate pair
+      int end = Math.min(to, from + buffer.length);
+      if(end < to && Character.isHighSurrogate(text.charAt(end - 1))) end++;
+      writeFully(out, charset.encode(CharBuffer.wrap(text, from, end)));
+      from = end;
+    }
+  }
+
+  private static void writeFully(FileChannel out, ByteBuffer bytes) throws IOException {
+    while (bytes.hasRemaining()) out.write(bytes);
+  }
+
+  private static boolean isLineBreak(char c) {
+    return c == '\n' || c == '\r';
+  }
+
+  /**
+   * Saves a words list into a file, joining the words with single spaces. Words
+   * with no letters or digits are joined to the word before them, and the last
+   * word is not saved.
    *
    * @param newDoc the words list to be saved
+   * @param path the path to save the words list to
    */
-  public void overwriteFile(ArrayList<String> newDoc) {
-    try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
+  private void saveWords(List<String> newDoc, String path) {
+    if(isSameFile(path)) detachFromFile();
+    try (BufferedWriter writer = new BufferedWriter(new FileWriter(path, charset))) {
       for (int i = 0; i<newDoc.size()-1; i++) {
         String word = newDoc.get(i);
         String nextWord = "";
@@ -276,12 +985,8 @@ public class Document {
         catch(Exception e) {
           e.printStackTrace();
         }
-        Pattern pattern = Pattern.compile("^[^a-zA-Z0-9]+$");
-        java.util.regex.Matcher matcher = pattern.matcher(nextWord);
-        Boolean nextHasNoAlphanumerics = matcher.matches();
-
-        matcher = pattern.matcher(word);
-        Boolean hasNoAlphanumerics = matcher.matches();
+        Boolean nextHasNoAlphanumerics = NO_ALPHANUMERICS.matcher(nextWord).matches();
+        Boolean hasNoAlphanumerics = NO_ALPHANUMERICS.matcher(word).matches();
         
         if (word.contains("\n")) { // add newline without space after 
           writer.write(word);
@@ -303,4 +1008,88 @@ public class Document {
       e.printStackTrace();
     }
   }
+
+  /**
+   * The views of the document given by getWordsList.
+   */
+  private class WordsView extends AbstractList<String> implements RandomAccess {
+    @Override
+    public String get(int index) {
+      Objects.checkIndex(index, size);
+      return getWord(index);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
+
+  /**
+   * A token kept by getToken, with the index of its word.
+   */
+  private static final class CachedToken {
+    final int index;
+    final Token token;
+
+    CachedToken(int index, Token token) {
+      this.index = index;
+      this.token = token;
+    }
+  }
+
+  /**
+   * The text of a memory-mapped ASCII file, read in place. Each byte is one character.
+   */
+  private static final class MappedText implements CharSequence {
+    private final ByteBuffer bytes;
+
+    MappedText(ByteBuffer bytes) {
+      this.bytes = bytes;
+    }
+
+    /**
+     * Checks if a charset reads ASCII bytes as the same characters.
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+      return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Checks if every byte of a buffer is an ASCII character, 8 bytes at a time.
+     */
+    static boolean isAscii(ByteBuffer bytes) {
+      int length = bytes.limit();
+      int i = 0;
+      for (; i + 8 <= length; i += 8) {
+        if((bytes.getLong(i) & 0x8080808080808080L) != 0) return false;
+      }
+      for (; i < length; i++) {
+        if(bytes.get(i) < 0) return false;
+      }
+      return true;
+    }
+
+    @Override
+    public int length() {
+      return bytes.limit();
+    }
+
+    @Override
+    public char charAt(int index) {
+      return (char) bytes.get(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+      byte[] slice = new byte[end - start];
+      bytes.get(start, slice);
+      return new String(slice, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+      return subSequence(0, length()).toString();
+    }
+  }
 }
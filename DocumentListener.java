@@ -0,0 +1,41 @@
+/**
+ * The DocumentListener interface is implemented by anything that keeps state
+ * computed from a document's words list and wants to update it after each edit,
+ * instead of computing it again from the whole document. Listeners are told
+ * about an edit after the words list has changed.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public interface DocumentListener {
+    /**
+     * Called after a word in the words list is replaced.
+     *
+     * @param index the index of the replaced word
+     * @param originalIndex the original index of the replaced word, which edits do not change
+     */
+    void wordReplaced(int index, int originalIndex);
+
+    /**
+     * Called after a word is removed from the words list, moving the words after it
+     * one position back. Their original indices stay the same.
+     *
+     * @param index the index the removed word was at
+     * @param originalIndex the original index of the removed word
+     */
+    void wordRemoved(int index, int originalIndex);
+
+    /**
+     * Called after several words are replaced or removed as one edit, as
+     * Document.replaceWords does. Whether each word was removed can be told with
+     * Document.isRemoved.
+     *
+     * @param originalIndices the original indices of the edited words, in increasing order
+     */
+    void wordsReplaced(int[] originalIndices);
+}
@@ -0,0 +1,45 @@
+/**
+ * The DoubleWordDetector class finds words repeated right after themselves,
+ * ignoring punctuation and capitalization. It compares the lowercase core
+ * words cached in the two words' tokens.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class DoubleWordDetector implements Detector {
+    public static final int COST = 1;
+
+    @Override
+    public String getName() {
+        return "double word";
+    }
+
+    @Override
+    public int getErrorType() {
+        return ErrorIndex.DOUBLE_WORD;
+    }
+
+    @Override
+    public int getCost() {
+        return COST;
+    }
+
+    /**
+     * Detects if a word is the same as the word before it.
+     *
+     * @param spellChecker the spell checker
+     * @param doc the document the word is in
+     * @param index the index of the word in the document
+     * @return true if there is a double word error at the word index, false otherwise
+     */
+    @Override
+    public boolean detect(SpellChecker spellChecker, Document doc, int index) {
+        if (index == 0) return false; // the first word has no word before it
+        return doc.getToken(index - 1).getLowerCaseCore().equals(doc.getToken(index).getLowerCaseCore());
+    }
+}
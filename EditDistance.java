@@ -0,0 +1,148 @@
+/**
+ * The EditDistance class measures how far apart two words are, as the number of
+ * single letter insertions, deletions, substitutions and swaps of adjacent
+ * letters needed to turn one into the other (the optimal string alignment
+ * variant of the Damerau-Levenshtein distance). A letter that has been swapped
+ * is not edited again.
+ *
+ * That restriction means the optimal string alignment distance is not a true
+ * metric, so structures that prune with the triangle inequality (such as a
+ * BK-tree) use the unrestricted distance instead, which lets swapped letters be
+ * edited further.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class EditDistance {
+    /**
+     * Computes the Damerau-Levenshtein distance between two words.
+     *
+     * @param first the first word
+     * @param second the second word
+     * @return the number of edits needed to turn the first word into the second
+     */
+    public static int damerauLevenshtein(CharSequence first, CharSequence second) {
+        return damerauLevenshtein(first, second, Math.max(first.length(), second.length()));
+    }
+
+    /**
+     * Computes the Damerau-Levenshtein distance between two words, giving up as
+     * soon as it is known to be more than a maximum distance.
+     *
+     * @param first the first word
+     * @param second the second word
+     * @param maxDistance the largest distance of interest
+     * @return the distance between the words, or maxDistance + 1 if it is larger than maxDistance
+     */
+    public static int damerauLevenshtein(CharSequence first, CharSequence second, int maxDistance) {
+        int firstLength = first.length();
+        int secondLength = second.length();
+        if (Math.abs(firstLength - secondLength) > maxDistance) return maxDistance + 1;
+
+        // rows of the distance table: two rows back (for swaps), the previous row and the current row
+        int[] beforePrevious = new int[secondLength + 1];
+        int[] previous = new int[secondLength + 1];
+        int[] current = new int[secondLength + 1];
+        for (int j = 0; j <= secondLength; j++) previous[j] = j;
+
+        for (int i = 1; i <= firstLength; i++) {
+            current[0] = i;
+            int rowMinimum = i;
+            char firstChar = first.charAt(i - 1);
+            for (int j = 1; j <= secondLength; j++) {
+                char secondChar = second.charAt(j - 1);
+                int distance = Math.min(previous[j] + 1, current[j - 1] + 1); // deletion, insertion
+                distance = Math.min(distance, previous[j - 1] + (firstChar == secondChar ? 0 : 1)); // substitution
+                if (i > 1 && j > 1 && firstChar == second.charAt(j - 2) && first.charAt(i - 2) == secondChar) {
+                    distance = Math.min(distance, beforePrevious[j - 2] + 1); // swap
+                }
+                current[j] = distance;
+                rowMinimum = Math.min(rowMinimum, distance);
+            }
+            if (rowMinimum > maxDistance) return maxDistance + 1; // later rows can only be larger
+
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[secondLength], maxDistance + 1);
+    }
+
+    /**
+     * Computes the unrestricted Damerau-Levenshtein distance between two words, in
+     * which swapped letters may have further letters inserted between them. Unlike
+     * the optimal string alignment distance, this obeys the triangle inequality.
+     *
+     * @param first the first word
+     * @param second the second word
+     * @return the number of edits needed to turn the first word into the second
+     */
+    public static int unrestrictedDamerauLevenshtein(CharSequence first, CharSequence second) {
+        return unrestrictedDamerauLevenshtein(first, second, first.length() + second.length());
+    }
+
+    /**
+     * Computes the unrestricted Damerau-Levenshtein distance between two words, giving
+     * up as soon as it is known to be more than a maximum distance.
+     *
+     * @param first the first word
+     * @param second the second word
+     * @param maxDistance the largest distance of interest
+     * @return the distance between the words, or maxDistance + 1 if it is larger than maxDistance
+     */
+    public static int unrestrictedDamerauLevenshtein(CharSequence first, CharSequence second, int maxDistance) {
+        int firstLength = first.length();
+        int secondLength = second.length();
+        if (Math.abs(firstLength - secondLength) > maxDistance) return maxDistance + 1;
+        int infinity = firstLength + secondLength + 1;
+        int width = secondLength + 2;
+
+        // the table is offset by one row and column, which hold "infinity" so swaps never reach past the start;
+        // it is kept in one array, row after row
+        int[] distances = new int[(firstLength + 2) * width];
+        distances[0] = infinity;
+        for (int i = 0; i <= firstLength; i++) {
+            distances[(i + 1) * width] = infinity;
+            distances[(i + 1) * width + 1] = i;
+        }
+        for (int j = 0; j <= secondLength; j++) {
+            distances[j + 1] = infinity;
+            distances[width + j + 1] = j;
+        }
+
+        int[] lastRowMatching = new int[secondLength + 1]; // last row whose letter equals column j's letter
+        for (int i = 1; i <= firstLength; i++) {
+            char firstChar = first.charAt(i - 1);
+            int lastColumnMatching = 0; // last column in this row whose letter equals firstChar
+            int row = (i + 1) * width;
+            int previousRow = i * width;
+            int rowMinimum = infinity;
+            for (int j = 1; j <= secondLength; j++) {
+                int swapRow = lastRowMatching[j];
+                int swapColumn = lastColumnMatching;
+                int cost = 1;
+                if (firstChar == second.charAt(j - 1)) {
+                    cost = 0;
+                    lastColumnMatching = j;
+                }
+                int distance = Math.min(distances[previousRow + j] + cost, // substitution
+                        Math.min(distances[row + j] + 1, distances[previousRow + j + 1] + 1)); // insertion, deletion
+                distance = Math.min(distance, distances[swapRow * width + swapColumn]
+                        + (i - swapRow - 1) + 1 + (j - swapColumn - 1)); // swap, with the letters between deleted or inserted
+                distances[row + j + 1] = distance;
+                rowMinimum = Math.min(rowMinimum, distance);
+            }
+            if (Math.min(rowMinimum, i) > maxDistance) return maxDistance + 1; // row minimums never decrease
+            for (int j = 1; j <= secondLength; j++) {
+                if (second.charAt(j - 1) == firstChar) lastRowMatching[j] = i;
+            }
+        }
+        return Math.min(distances[(firstLength + 2) * width - 1], maxDistance + 1);
+    }
+}
@@ -0,0 +1,108 @@
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+
+/**
+ * The EditSuggestionEngine class is the spell checker's original suggestion
+ * strategy. The misspelled word is subjected to letter removal, letter insertion
+ * and letter swapping, and every edited word is checked against the English and
+ * user dictionaries. It finds words one edit away (other than substitutions),
+ * and needs no index.
+ *
+ * The edited words are the ones SpellChecker.removeLetters, insertLetters and
+ * swapLetters return, in the same order, but they are made by changing one
+ * reusable character buffer in place and looked up as slices of it, so no
+ * String is created for an edit that is not a word. Suggestions already found
+ * are kept in a reusable WordHashSet. An engine is not safe to use from more
+ * than one thread at a time.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class EditSuggestionEngine implements SuggestionEngine {
+    private final EnglishDictionary englishDictionary;
+    private final UserDictionary userDictionary;
+    private final WordHashSet suggested = new WordHashSet();
+    private char[] edit = new char[32];
+    private CharBuffer editView = CharBuffer.wrap(edit);
+
+    /**
+     * Constructor for the edit suggestion engine class.
+     *
+     * @param englishDictionary the English dictionary to check edited words against
+     * @param userDictionary the user dictionary to check edited words against
+     */
+    public EditSuggestionEngine(EnglishDictionary englishDictionary, UserDictionary userDictionary) {
+        this.englishDictionary = englishDictionary;
+        this.userDictionary = userDictionary;
+    }
+
+    /**
+     * Suggests the dictionary words made by removing, inserting or swapping a letter,
+     * in that order.
+     *
+     * @param word the misspelled word, in lowercase and without punctuation
+     * @return an ArrayList<String> containing the suggested words
+     */
+    @Override
+    public ArrayList<String> suggest(String word) {
+        ArrayList<String> suggestedCorrections = new ArrayList<String>();
+        suggested.clear();
+        int length = word.length();
+        if (edit.length < length + 1) {
+            edit = new char[2 * (length + 1)];
+            editView = CharBuffer.wrap(edit);
+        }
+
+        // remove each letter: the buffer holds the word without letter i
+        if (length > 0) word.getChars(1, length, edit, 0);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) edit[i - 1] = word.charAt(i - 1); // put back the letter removed last time
+            check(length - 1, suggestedCorrections);
+        }
+
+        // insert each letter of the alphabet: the buffer holds the word with a gap at i
+        word.getChars(0, length, edit, 1);
+        for (int i = 0; i <= length; i++) {
+            if (i > 0) edit[i - 1] = word.charAt(i - 1); // move the gap one letter right
+            for (char c = 'a'; c <= 'z'; c++) {
+                edit[i] = c;
+                check(length + 1, suggestedCorrections);
+            }
+        }
+
+        // swap each pair of adjacent letters, then swap them back
+        word.getChars(0, length, edit, 0);
+        for (int i = 0; i < length - 1; i++) {
+            swap(i);
+            check(length, suggestedCorrections);
+            swap(i);
+        }
+        return suggestedCorrections;
+    }
+
+    /**
+     * Adds the edited word in the buffer to the suggestions, if it is a dictionary
+     * word that has not been suggested yet. Only a suggestion is copied to a String.
+     *
+     * @param length the length of the edited word
+     * @param suggestedCorrections the suggestions found so far
+     */
+    private void check(int length, ArrayList<String> suggestedCorrections) {
+        if (!englishDictionary.containsWord(editView, 0, length) && !userDictionary.containsWord(editView, 0, length)) return;
+        if (suggested.contains(editView, 0, length)) return;
+        String suggestion = new String(edit, 0, length);
+        suggested.add(suggestion);
+        suggestedCorrections.add(suggestion);
+    }
+
+    private void swap(int i) {
+        char letter = edit[i];
+        edit[i] = edit[i + 1];
+        edit[i + 1] = letter;
+    }
+}
@@ -1,12 +1,22 @@
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.util.HashSet;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.function.Consumer;
 
 /**
- * The EnglishDictionary class is responsible for loading a list of English words from a file 
- * into memory and providing a method to check if a particular word is in that list. 
- * 
+ * The EnglishDictionary class is responsible for loading a list of English words from a file
+ * into memory and providing a method to check if a particular word is in that list.
+ * The words can either be kept in a hash set, or in a compact DAWG which answers the same
+ * lookups with a fraction of the memory. A DAWG compiled ahead of time by DictionaryCompiler
+ * is memory mapped instead of being rebuilt from the word list. Every dictionary also
+ * has a bloom filter over its words, which rejects most non-words before the lookup;
+ * its false positive rate can be set, or the filter turned off with a rate of 0. A
+ * compiled dictionary maps the filter it was compiled with rather than building one.
+ *
  * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
  * @author      Jodi Keizer <jkeizer@uwo.ca>
  * @author      Anna Ma <ama92@uwo.ca>
@@ -16,37 +26,228 @@ import java.util.Scanner;
  */
 
 public class EnglishDictionary {
-    HashSet<String> englishDictionary;
+    static final String DEFAULT_DICTIONARY_FILE = "words_alpha.txt";
+    static final String COMPILED_DICTIONARY_FILE = "words_alpha.dawg";
+
+    WordHashSet englishDictionary; // null when the words are in a compact store
+    private WordLookup compactDictionary;
+    private BloomFilter bloomFilter;
+    private final String dictionaryPath;
+    private final double falsePositiveRate;
 
     /**
      * Constructor for the english dictionary class. Also loads the dictionary.
      */
     public EnglishDictionary() {
-        englishDictionary = new HashSet<>();
-        loadDictionary();
+        this(DEFAULT_DICTIONARY_FILE, false);
+    }
+
+    /**
+     * Constructor for the english dictionary class that loads the dictionary from
+     * a given word list. When compact is true, the words are stored in a DAWG
+     * instead of a hash set. If the path is a compiled dictionary, it is memory
+     * mapped rather than loaded.
+     *
+     * @param dictionaryPath the path of the word list or compiled dictionary to load
+     * @param compact true to store the words in a DAWG, false for a hash set
+     */
+    public EnglishDictionary(String dictionaryPath, boolean compact) {
+        this(dictionaryPath, compact, BloomFilter.DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Constructor for the english dictionary class that loads the dictionary from
+     * a given word list, with a bloom filter of the given false positive rate in
+     * front of it. A rate of 0 builds no bloom filter. A compiled dictionary
+     * uses the filter in its file, at the rate it was compiled with, if it has one.
+     *
+     * @param dictionaryPath the path of the word list or compiled dictionary to load
+     * @param compact true to store the words in a DAWG, false for a hash set
+     * @param falsePositiveRate the bloom filter's false positive rate, or 0 for no filter
+     */
+    public EnglishDictionary(String dictionaryPath, boolean compact, double falsePositiveRate) {
+        this.dictionaryPath = dictionaryPath;
+        this.falsePositiveRate = falsePositiveRate;
+        if (compact) {
+            loadCompactDictionary();
+        } else {
+            loadDictionary();
+        }
+    }
+
+    /**
+     * Opens the dictionary used by the spell checker. The compiled dictionary is
+     * memory mapped when it exists, otherwise the word list is loaded into a hash set.
+     *
+     * @return the english dictionary
+     */
+    public static EnglishDictionary openDefault() {
+        return openDefault(BloomFilter.DEFAULT_FALSE_POSITIVE_RATE);
+    }
+
+    /**
+     * Opens the dictionary used by the spell checker, with a bloom filter of the
+     * given false positive rate in front of it.
+     *
+     * @param falsePositiveRate the bloom filter's false positive rate, or 0 for no filter
+     * @return the english dictionary
+     */
+    public static EnglishDictionary openDefault(double falsePositiveRate) {
+        if (new File(COMPILED_DICTIONARY_FILE).isFile()) {
+            return new EnglishDictionary(COMPILED_DICTIONARY_FILE, true, falsePositiveRate);
+        }
+        return new EnglishDictionary(DEFAULT_DICTIONARY_FILE, false, falsePositiveRate);
+    }
+
+    /**
+     * Checks if a file starts with the header of a compiled dictionary.
+     *
+     * @param filePath the path of the file to check
+     * @return true if the file is a compiled dictionary, false otherwise
+     */
+    static boolean isCompiledDictionary(String filePath) {
+        try (DataInputStream input = new DataInputStream(new FileInputStream(filePath))) {
+            return input.readInt() == MappedDictionary.MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
     }
 
     /**
      * Scans the dictionary file to add words to the english dictionary
      */
     private void loadDictionary() {
-        // Load the dictionary from a file into the HashSet for quick lookup
-        try (Scanner scanner = new Scanner(new File("words_alpha.txt"))) {
+        loadDictionary(dictionaryPath);
+    }
+
+    /**
+     * Scans a word list to add words to the english dictionary
+     *
+     * @param wordListPath the path of the word list to load
+     */
+    private void loadDictionary(String wordListPath) {
+        // Load the dictionary from a file into the hash set for quick lookup
+        englishDictionary = new WordHashSet();
+        try (Scanner scanner = new Scanner(new File(wordListPath))) {
             while (scanner.hasNext()) {
                 englishDictionary.add(scanner.next().toLowerCase());
             }
         } catch (FileNotFoundException e) {
             System.err.println("Dictionary file could not be found.");
         }
+        buildBloomFilter();
+    }
+
+    /**
+     * Builds the bloom filter over the loaded words, unless it is turned off.
+     */
+    private void buildBloomFilter() {
+        if (falsePositiveRate <= 0) return;
+        bloomFilter = new BloomFilter(size(), falsePositiveRate);
+        forEachWord(bloomFilter::add);
+    }
+
+    /**
+     * Maps the compiled dictionary file, or scans the dictionary file and builds
+     * the compact DAWG from its words. If the compiled file is damaged, the plain
+     * word list is loaded into the hash set instead.
+     */
+    private void loadCompactDictionary() {
+        if (isCompiledDictionary(dictionaryPath)) {
+            try {
+                MappedDictionary mappedDictionary = new MappedDictionary(dictionaryPath);
+                compactDictionary = mappedDictionary;
+                if (falsePositiveRate > 0) bloomFilter = mappedDictionary.getBloomFilter(); // mapped, not rebuilt
+            } catch (IOException e) {
+                System.err.println("Compiled dictionary could not be opened: " + e.getMessage());
+                loadDictionary(DEFAULT_DICTIONARY_FILE);
+            }
+            return;
+        }
+
+        ArrayList<String> words = new ArrayList<>();
+        try (Scanner scanner = new Scanner(new File(dictionaryPath))) {
+            while (scanner.hasNext()) {
+                words.add(scanner.next().toLowerCase());
+            }
+        } catch (FileNotFoundException e) {
+            System.err.println("Dictionary file could not be found.");
+        }
+        compactDictionary = new DawgDictionary(words);
+        buildBloomFilter();
+    }
+
+    /**
+     * Retrieves the compact store holding the words, if there is one.
+     *
+     * @return the DAWG or mapped dictionary holding the words, or null if they are in a hash set
+     */
+    public WordLookup getCompactDictionary() {
+        return compactDictionary;
+    }
+
+    /**
+     * Retrieves the bloom filter in front of the dictionary, for its hit and miss counters.
+     *
+     * @return the bloom filter, or null if the dictionary has none
+     */
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * Checks if the dictionary is stored as a compact DAWG.
+     *
+     * @return true if the words are stored in a DAWG, false if they are in a hash set
+     */
+    public boolean isCompact() {
+        return compactDictionary != null;
     }
 
     /**
      * Checks if a word, when converted to lowercase, is in the english dictionary or not.
-     * 
+     *
      * @return a boolean containing true if the word is in the english dictionary, false otherwise
      */
     public boolean containsWord(String word) {
         // Check if the word is in the dictionary
-        return englishDictionary.contains(word.toLowerCase());
+        String lowerWord = word.toLowerCase();
+        if (bloomFilter != null && !bloomFilter.mightContain(lowerWord)) return false; // definitely not a word
+        if (compactDictionary != null) return compactDictionary.containsWord(lowerWord);
+        return englishDictionary.contains(lowerWord);
+    }
+
+    /**
+     * Checks if part of a buffer, ignoring case, is in the english dictionary or not.
+     * Case is folded one character at a time, so no String is created for the word.
+     *
+     * @param buffer the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return true if the word is in the english dictionary, false otherwise
+     */
+    public boolean containsWord(CharSequence buffer, int start, int end) {
+        if (bloomFilter != null && !bloomFilter.mightContain(buffer, start, end)) return false;
+        if (compactDictionary != null) return compactDictionary.containsWord(buffer, start, end);
+        return englishDictionary.contains(buffer, start, end);
+    }
+
+    /**
+     * Passes every word in the english dictionary, in lowercase, to an action.
+     *
+     * @param action the action to perform on each word
+     */
+    public void forEachWord(Consumer<? super String> action) {
+        if (compactDictionary != null) compactDictionary.forEachWord(action);
+        else englishDictionary.forEach(action);
+    }
+
+    /**
+     * Retrieves the number of distinct words in the english dictionary.
+     *
+     * @return the number of words in the dictionary
+     */
+    public int size() {
+        return compactDictionary != null ? compactDictionary.size() : englishDictionary.size();
     }
 }
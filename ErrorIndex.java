@@ -0,0 +1,153 @@
+/**
+ * The ErrorIndex class records the result of spell-checking every word of a
+ * document in one pass, so the spell checker can move between errors and
+ * count them without checking words again. Each word has a bitmask of the
+ * error types found in it. Which words have errors, and which were checked, is
+ * also kept in two RankedBitSets, so the next, previous and nth error and the
+ * last checked word are found by rank and select in O(log n) time.
+ *
+ * After an edit, the masks of the few words whose checks read the edited word
+ * are patched in place, rather than building the index again; each patched mask
+ * updates the bit sets in O(log n) time, however many errors the document has.
+ * Words are indexed by their original index in the document, so a removed word
+ * only has its mask cleared, and the words after it keep their positions.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class ErrorIndex {
+    public static final int MISCAPITALIZED = 1;
+    public static final int DOUBLE_WORD = 2;
+    public static final int MISSPELLED = 4;
+    /** Set for words that were checked, as opposed to skipped (empty words, newlines, numbers and tags). */
+    public static final int CHECKED = 8;
+    /** The bits left for detectors added to the spell checker's DetectorPipeline. */
+    public static final int CUSTOM_ERROR_TYPES = 0xF0;
+    public static final int ERROR_TYPES = MISCAPITALIZED | DOUBLE_WORD | MISSPELLED | CUSTOM_ERROR_TYPES;
+
+    private final byte[] masks;
+    private final int size;
+    private final RankedBitSet errors; // the words with at least one error
+    private final RankedBitSet checked; // the words that were checked
+
+    /**
+     * Constructor for the error index class.
+     *
+     * @param masks the bitmask of each word in the document, which the index takes ownership of
+     */
+    public ErrorIndex(byte[] masks) {
+        this.masks = masks;
+        this.size = masks.length;
+        errors = new RankedBitSet(size, i -> (masks[i] & ERROR_TYPES) != 0);
+        checked = new RankedBitSet(size, i -> (masks[i] & CHECKED) != 0);
+    }
+
+    /**
+     * Finds the first word with an error after a word, in O(log n) time.
+     *
+     * @param index the index of the word to search after
+     * @return the index of the next word with an error, or -1 if there is none
+     */
+    public int nextError(int index) {
+        int position = errorsBefore(index + 1);
+        return position < errors.count() ? errors.select(position) : -1;
+    }
+
+    /**
+     * Finds the last word with an error before a word, in O(log n) time.
+     *
+     * @param index the index of the word to search before
+     * @return the index of the previous word with an error, or -1 if there is none
+     */
+    public int previousError(int index) {
+        int position = errorsBefore(index);
+        return position > 0 ? errors.select(position - 1) : -1;
+    }
+
+    /**
+     * Finds where a word is among the words with errors, in O(log n) time.
+     *
+     * @param index the index of the word
+     * @return the position of the word among the words with errors, starting at 0, or -1 if the word has no error
+     */
+    public int getErrorNumber(int index) {
+        return index >= 0 && index < size && errors.get(index) ? errors.rank(index) : -1;
+    }
+
+    /**
+     * Counts the words with errors before a word, which is also the word's
+     * position, or where it would be, among the words with errors.
+     */
+    private int errorsBefore(int index) {
+        return errors.rank(Math.max(0, Math.min(index, size)));
+    }
+
+    /**
+     * Retrieves the bitmask of a word: the error types found in it, and CHECKED
+     * if it was checked.
+     *
+     * @param index the index of the word
+     * @return the word's bitmask
+     */
+    public int getMask(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        return masks[index] & 0xFF;
+    }
+
+    /**
+     * Replaces the bitmask of a word, after the word or the word before it changed.
+     * A word whose errors were fixed leaves the errors at once, in O(log n) time.
+     *
+     * @param index the index of the word
+     * @param mask the word's new bitmask
+     */
+    public void setMask(int index, int mask) {
+        getMask(index); // checks the index is in bounds
+        masks[index] = (byte) mask;
+        errors.set(index, (mask & ERROR_TYPES) != 0);
+        checked.set(index, (mask & CHECKED) != 0);
+    }
+
+    /**
+     * Retrieves the number of words with at least one error.
+     *
+     * @return the number of words with errors
+     */
+    public int getErrorCount() {
+        return errors.count();
+    }
+
+    /**
+     * Retrieves the index of the nth word with an error, in O(log n) time.
+     *
+     * @param n the position of the error among all errors, starting at 0
+     * @return the index of the word
+     */
+    public int getErrorPosition(int n) {
+        if (n < 0 || n >= errors.count()) throw new IndexOutOfBoundsException("Error " + n + " out of bounds for " + errors.count() + " errors");
+        return errors.select(n);
+    }
+
+    /**
+     * Retrieves the index of the last word that was checked.
+     *
+     * @return the index of the last checked word, or -1 if no word was checked
+     */
+    public int getLastCheckedIndex() {
+        return checked.count() > 0 ? checked.select(checked.count() - 1) : -1;
+    }
+
+    /**
+     * Retrieves the number of words the index covers.
+     *
+     * @return the number of words in the indexed document
+     */
+    public int size() {
+        return size;
+    }
+}
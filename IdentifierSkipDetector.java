@@ -0,0 +1,63 @@
+/**
+ * The IdentifierSkipDetector class is a skip filter for words that are not
+ * meant to be English: web addresses, email addresses, and identifiers holding
+ * an underscore or mixing letters and digits, such as "max_size" or "utf8".
+ * It is not part of the default pipeline; add it to a spell checker's
+ * DetectorPipeline to skip such words in technical documents.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class IdentifierSkipDetector implements Detector {
+    public static final int COST = 1;
+
+    @Override
+    public String getName() {
+        return "identifier";
+    }
+
+    @Override
+    public int getErrorType() {
+        return SKIP;
+    }
+
+    @Override
+    public int getCost() {
+        return COST;
+    }
+
+    /**
+     * Checks if a word is a web address, email address or identifier.
+     *
+     * @param spellChecker the spell checker
+     * @param doc the document the word is in
+     * @param index the index of the word in the document
+     * @return true if the word should not be checked
+     */
+    @Override
+    public boolean detect(SpellChecker spellChecker, Document doc, int index) {
+        Token token = doc.getToken(index);
+        String word = token.getText();
+        int start = token.getCoreStart();
+        int end = token.getCoreEnd();
+        if (word.startsWith("www.", start) || word.indexOf("://", start) >= 0) return true; // web address
+
+        boolean letters = false;
+        boolean digits = false;
+        int at = -1;
+        for (int i = start; i < end; i++) {
+            char c = word.charAt(i);
+            if (c == '_') return true;
+            if (c == '@') at = i;
+            else if (Character.isLetter(c)) letters = true;
+            else if (Character.isDigit(c)) digits = true;
+        }
+        if (at > start && word.indexOf('.', at) > at + 1) return true; // email address
+        return letters && digits;
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The IgnoredWordsStore class remembers the words ignored in each document
+ * between sessions, so reopening a document does not mean ignoring the same
+ * words again. Every document's ignored words are kept in one compact binary
+ * file, keyed by the document's absolute path: a header, then for each
+ * document its path, the number of words and the words themselves.
+ *
+ * The file is read when a document's words are loaded and written again
+ * whenever a document's words are saved. A missing file holds no words. The
+ * file is written to a temporary file beside it first, and moved into place,
+ * so a crash or a full disk while saving leaves the words saved before.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class IgnoredWordsStore {
+    public static final String DEFAULT_STORE_FILE = "ignored_words.dat";
+    static final int MAGIC = 0x53424957; // "SBIW"
+    static final int FORMAT_VERSION = 1;
+
+    private final String storePath;
+
+    /**
+     * Constructor for the ignored words store class, keeping the words in DEFAULT_STORE_FILE.
+     */
+    public IgnoredWordsStore() {
+        this(DEFAULT_STORE_FILE);
+    }
+
+    /**
+     * Constructor for the ignored words store class.
+     *
+     * @param storePath the path of the file the ignored words are kept in
+     */
+    public IgnoredWordsStore(String storePath) {
+        this.storePath = storePath;
+    }
+
+    /**
+     * Loads the words ignored in a document.
+     *
+     * @param documentPath the path of the document
+     * @return the document's ignored words, which is empty if none were saved or the file cannot be read
+     */
+    public WordHashSet load(String documentPath) {
+        WordHashSet words = new WordHashSet();
+        ArrayList<String> saved = readAll().get(key(documentPath));
+        if (saved != null) {
+            for (String word : saved) words.add(word);
+        }
+        return words;
+    }
+
+    /**
+     * Saves the words ignored in a document, replacing any words saved for it before.
+     *
+     * @param documentPath the path of the document
+     * @param words the document's ignored words
+     */
+    public void save(String documentPath, WordHashSet words) {
+        LinkedHashMap<String, ArrayList<String>> documents = readAll();
+        ArrayList<String> saved = new ArrayList<String>(words.size());
+        for (String word : words) saved.add(word);
+        documents.put(key(documentPath), saved);
+
+        Path target = Paths.get(storePath).toAbsolutePath();
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(target.getParent(), ".spellbuddy", ".tmp");
+            try (FileOutputStream file = new FileOutputStream(temporary.toFile());
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(documents.size());
+                for (Map.Entry<String, ArrayList<String>> document : documents.entrySet()) {
+                    output.writeUTF(document.getKey());
+                    output.writeInt(document.getValue().size());
+                    for (String word : document.getValue()) output.writeUTF(word);
+                }
+                output.flush();
+                file.getFD().sync(); // on disk before it replaces the saved words
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            e.printStackTrace();
+            try {
+                if (temporary != null) Files.deleteIfExists(temporary); // the words saved before are kept
+            } catch (IOException deleteError) {
+                deleteError.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Reads the ignored words of every document in the file.
+     *
+     * @return the ignored words, by document path, which is empty if the file is missing or cannot be read
+     */
+    private LinkedHashMap<String, ArrayList<String>> readAll() {
+        LinkedHashMap<String, ArrayList<String>> documents = new LinkedHashMap<String, ArrayList<String>>();
+        if (!new File(storePath).exists()) return documents; // nothing saved yet
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(storePath)))) {
+            if (input.readInt() != MAGIC) throw new IOException("Not an ignored words file: " + storePath);
+            int version = input.readInt();
+            if (version != FORMAT_VERSION) throw new IOException("Unsupported ignored words file version " + version + ": " + storePath);
+            int documentCount = input.readInt();
+            for (int i = 0; i < documentCount; i++) {
+                String documentPath = input.readUTF();
+                int wordCount = input.readInt();
+                ArrayList<String> words = new ArrayList<String>(wordCount);
+                for (int j = 0; j < wordCount; j++) words.add(input.readUTF());
+                documents.put(documentPath, words);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+            documents.clear(); // a damaged file holds no words
+        }
+        return documents;
+    }
+
+    private static String key(String documentPath) {
+        return new File(documentPath).getAbsolutePath();
+    }
+}
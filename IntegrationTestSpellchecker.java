@@ -7,9 +7,11 @@ public class IntegrationTestSpellchecker {
     @Test
     void invalidWordTest() {
         SpellChecker spellChecker = new SpellChecker("testDocument.txt", false);
-        EnglishDictionary englishDictionary = new EnglishDictionary();
+        EnglishDictionary englishDictionary = DictionaryRegistry.acquireDefault();
         spellChecker.advanceNextError();
         boolean isInDictionary = englishDictionary.containsWord("gourpsevntn"); // Word that is not in the dictionary
+        DictionaryRegistry.release(englishDictionary);
+        spellChecker.close();
         assertFalse(isInDictionary, "gourpsevntn should not be in the English dictionary.");
     }
 
@@ -0,0 +1,162 @@
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * The LatexTokenizer class splits a LaTeX document into the words of its
+ * prose. Commands are never read as words. The arguments of commands that hold
+ * labels, keys, paths, URLs, package names or definitions (such as label, cite,
+ * usepackage and newcommand) are skipped, along with their optional arguments,
+ * while the arguments of commands that format text (such as emph and section)
+ * are read as prose. Inline and display math ($...$, $$...$$, \(...\),
+ * \[...\] and math environments such as equation and align), verbatim
+ * environments, \verb, and comments are never read as words.
+ *
+ * Math, environments and skipped arguments may span lines, and the tokenizer
+ * keeps its state between lines.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class LatexTokenizer implements Tokenizer {
+    private static final HashMap<String, Integer> SKIPPED_ARGUMENTS = new HashMap<String, Integer>(); // the number of arguments of each command that are not prose
+    private static final Set<String> SKIPPED_ENVIRONMENTS = Set.of("equation", "equation*", "align", "align*", "alignat", "alignat*",
+            "flalign", "flalign*", "gather", "gather*", "multline", "multline*", "eqnarray", "eqnarray*", "math", "displaymath",
+            "verbatim", "verbatim*", "lstlisting", "minted", "comment", "tikzpicture");
+
+    static {
+        for (String command : new String[] {"label", "ref", "eqref", "pageref", "autoref", "cref", "Cref", "cite", "citep", "citet",
+                "nocite", "usepackage", "RequirePackage", "documentclass", "includegraphics", "input", "include", "url", "href",
+                "bibliography", "bibliographystyle", "hspace", "vspace", "pagestyle", "thispagestyle", "color", "graphicspath",
+                "begin", "end", "newcounter", "linespread"}) {
+            SKIPPED_ARGUMENTS.put(command, 1);
+        }
+        for (String command : new String[] {"newcommand", "renewcommand", "providecommand", "setlength", "addtolength",
+                "setcounter", "addtocounter", "textcolor"}) {
+            SKIPPED_ARGUMENTS.put(command, 2);
+        }
+        for (String command : new String[] {"newenvironment", "renewenvironment", "definecolor"}) {
+            SKIPPED_ARGUMENTS.put(command, 3);
+        }
+    }
+
+    private String skipUntil; // what ends the math or environment being skipped, such as "$" or "\end{align}", or null outside one
+    private int argumentsToSkip; // the arguments of the last command still to skip
+    private int skipDepth; // the braces or brackets open in the argument being skipped
+    private char skipClose; // the } or ] closing the argument being skipped
+    private int wordStart = -1; // the offset of the word being read, or -1 if there is none
+
+    @Override
+    public void tokenizeLine(CharSequence text, int textBase, int lineStart, int lineEnd, WordSink sink) {
+        int end = lineEnd - textBase;
+        for (int i = lineStart - textBase; i < end; i++) {
+            char c = text.charAt(i);
+            if (skipUntil != null) { // in math or a skipped environment
+                if (startsWith(text, skipUntil, i, end)) {
+                    i += skipUntil.length() - 1;
+                    skipUntil = null;
+                }
+                else if (c == '\\' && !skipUntil.startsWith("\\end")) i++; // an escaped character, such as \$
+                continue;
+            }
+            if (skipDepth > 0) { // in a skipped argument
+                if (c == '\\') i++;
+                else if (c == skipClose) skipDepth--;
+                else if (c == (skipClose == '}' ? '{' : '[')) skipDepth++;
+                continue;
+            }
+            if (argumentsToSkip > 0) {
+                if (c == '{' || c == '[') { // an optional argument is skipped without counting it
+                    endWord(text, textBase, i, sink);
+                    if (c == '{') argumentsToSkip--;
+                    skipDepth = 1;
+                    skipClose = c == '{' ? '}' : ']';
+                    continue;
+                }
+                if (!Character.isWhitespace(c)) argumentsToSkip = 0; // the command had no more arguments
+            }
+
+            if (c == '%') { // a comment, to the end of the line
+                endWord(text, textBase, i, sink);
+                return;
+            }
+            if (c == '\\') {
+                endWord(text, textBase, i, sink);
+                i = readCommand(text, i, end) - 1;
+            }
+            else if (c == '$') {
+                endWord(text, textBase, i, sink);
+                boolean display = i + 1 < end && text.charAt(i + 1) == '$';
+                skipUntil = display ? "$$" : "$";
+                if (display) i++;
+            }
+            else if (Character.isWhitespace(c) || "{}~&`[]^_".indexOf(c) >= 0) endWord(text, textBase, i, sink);
+            else if (wordStart < 0) wordStart = i;
+        }
+        endWord(text, textBase, end, sink);
+    }
+
+    /**
+     * Reads a command, starting math, an environment or arguments to skip if the
+     * command calls for it.
+     *
+     * @param i the index of the backslash starting the command
+     * @return the index after the command
+     */
+    private int readCommand(CharSequence text, int i, int end) {
+        int nameEnd = i + 1;
+        while (nameEnd < end && Character.isLetter(text.charAt(nameEnd))) nameEnd++;
+        if (nameEnd == i + 1) { // a command of one character, such as \% or \(
+            if (nameEnd == end) return end;
+            char c = text.charAt(nameEnd);
+            if (c == '(') skipUntil = "\\)";
+            else if (c == '[') skipUntil = "\\]";
+            return nameEnd + 1;
+        }
+
+        String name = text.subSequence(i + 1, nameEnd).toString();
+        if (name.equals("verb") && nameEnd < end) { // \verb|text|, with any character around the text
+            char delimiter = text.charAt(nameEnd);
+            int close = nameEnd + 1;
+            while (close < end && text.charAt(close) != delimiter) close++;
+            return Math.min(close + 1, end);
+        }
+        if (name.equals("begin") && nameEnd < end && text.charAt(nameEnd) == '{') {
+            int close = nameEnd + 1;
+            while (close < end && text.charAt(close) != '}') close++;
+            String environment = text.subSequence(nameEnd + 1, Math.min(close, end)).toString();
+            if (close < end && SKIPPED_ENVIRONMENTS.contains(environment)) {
+                skipUntil = "\\end{" + environment + "}";
+                return close + 1;
+            }
+        }
+        argumentsToSkip = SKIPPED_ARGUMENTS.getOrDefault(name, 0);
+        return nameEnd;
+    }
+
+    /**
+     * Ends the word being read, if there is one, and gives it to the sink without
+     * the quotes around it, unless it has no letters.
+     */
+    private void endWord(CharSequence text, int textBase, int end, WordSink sink) {
+        int start = wordStart;
+        wordStart = -1;
+        if (start < 0) return;
+        while (end > start && text.charAt(end - 1) == '\'') end--; // closing quotes, written ''
+        boolean letters = false;
+        for (int i = start; i < end && !letters; i++) letters = Character.isLetter(text.charAt(i));
+        if (letters) sink.addWord(textBase + start, textBase + end);
+    }
+
+    private static boolean startsWith(CharSequence text, String prefix, int i, int end) {
+        if (end - i < prefix.length()) return false;
+        for (int j = 0; j < prefix.length(); j++) {
+            if (text.charAt(i + j) != prefix.charAt(j)) return false;
+        }
+        return true;
+    }
+}
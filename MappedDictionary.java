@@ -0,0 +1,203 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * The MappedDictionary class answers word lookups straight from a compiled
+ * dictionary file, which is memory mapped rather than read into the heap.
+ * The file holds a flattened DAWG (see DawgDictionary), so a lookup reads
+ * one node entry and binary searches its edges per character, without
+ * creating an object per word.
+ *
+ * File layout (big-endian):
+ * - header: magic "SBDG", format version, word count, node count,
+ *   edge count, a CRC32 checksum of everything after the header, and
+ *   the size of the bloom filter section (0 if the file has none)
+ * - nodes: one int per node plus a sentinel, the first edge index with
+ *   DawgDictionary.FINAL_FLAG set for nodes that end a word
+ * - edge targets: one int per edge
+ * - edge labels: one char per edge
+ * - bloom filter: optionally, a filter over the words as written by
+ *   BloomFilter.write, starting at the next multiple of 8 bytes
+ *
+ * The bloom filter is mapped along with the graph, so opening the file
+ * does not read its words. Files of version 1 have no bloom filter.
+ *
+ * Compiled files are written by DictionaryCompiler.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class MappedDictionary implements WordLookup {
+    static final int MAGIC = 0x53424447; // "SBDG"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 32;
+
+    private final MappedByteBuffer buffer;
+    private final int wordCount;
+    private final int nodeCount;
+    private final int targetsOffset;
+    private final int labelsOffset;
+    private final BloomFilter bloomFilter; // null if the file has none
+
+    /**
+     * Constructor for the mapped dictionary class. Maps the compiled file and
+     * checks its header and checksum before any lookups are made.
+     *
+     * @param filePath the path of the compiled dictionary file
+     * @throws IOException if the file cannot be read, or is not a valid compiled dictionary
+     */
+    public MappedDictionary(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Not a compiled dictionary: " + filePath);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt(0) != MAGIC) throw new IOException("Not a compiled dictionary: " + filePath);
+        int version = buffer.getInt(4);
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IOException("Unsupported compiled dictionary version " + version + ": " + filePath);
+        }
+        wordCount = buffer.getInt(8);
+        nodeCount = buffer.getInt(12);
+        int edgeCount = buffer.getInt(16);
+        long checksum = buffer.getLong(20);
+        int bloomFilterSize = version > 1 ? buffer.getInt(28) : 0;
+
+        targetsOffset = HEADER_SIZE + 4 * (nodeCount + 1);
+        labelsOffset = targetsOffset + 4 * edgeCount;
+        long bloomFilterOffset = bloomFilterOffset(labelsOffset + 2L * edgeCount);
+        long expectedSize = bloomFilterSize > 0 ? bloomFilterOffset + bloomFilterSize : labelsOffset + 2L * edgeCount;
+        if (nodeCount < 1 || edgeCount < 0 || bloomFilterSize < 0 || expectedSize != buffer.capacity()) {
+            throw new IOException("Compiled dictionary is truncated: " + filePath);
+        }
+        if (checksum(buffer) != checksum) throw new IOException("Compiled dictionary checksum mismatch: " + filePath);
+        bloomFilter = bloomFilterSize > 0 ? BloomFilter.read(buffer.duplicate().position((int) bloomFilterOffset)) : null;
+    }
+
+    /**
+     * Finds where the bloom filter section starts, so its longs are aligned.
+     *
+     * @param graphEnd the offset just after the edge labels
+     * @return the offset of the bloom filter section
+     */
+    static long bloomFilterOffset(long graphEnd) {
+        return (graphEnd + 7) & ~7L;
+    }
+
+    /**
+     * Computes the CRC32 checksum of everything after the header of a compiled dictionary.
+     *
+     * @param file the contents of the compiled dictionary file
+     * @return the checksum of the node and edge sections
+     */
+    static long checksum(ByteBuffer file) {
+        CRC32 crc = new CRC32();
+        ByteBuffer payload = file.duplicate();
+        payload.position(HEADER_SIZE);
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    @Override
+    public boolean containsWord(String word) {
+        String lowerWord = word.toLowerCase();
+        int node = 0;
+        for (int i = 0; i < lowerWord.length(); i++) {
+            node = findChild(node, lowerWord.charAt(i));
+            if (node < 0) return false;
+        }
+        return (nodeEntry(node) & DawgDictionary.FINAL_FLAG) != 0;
+    }
+
+    @Override
+    public boolean containsWord(CharSequence buffer, int start, int end) {
+        int node = 0;
+        for (int i = start; i < end; i++) {
+            node = findChild(node, Character.toLowerCase(buffer.charAt(i)));
+            if (node < 0) return false;
+        }
+        return (nodeEntry(node) & DawgDictionary.FINAL_FLAG) != 0;
+    }
+
+    @Override
+    public void forEachWord(Consumer<? super String> action) {
+        forEachWord(0, new StringBuilder(), action);
+    }
+
+    /**
+     * Passes every word below a node to an action, in sorted order.
+     *
+     * @param node the node reached by the prefix
+     * @param prefix the characters on the path to the node
+     * @param action the action to perform on each word
+     */
+    private void forEachWord(int node, StringBuilder prefix, Consumer<? super String> action) {
+        if ((nodeEntry(node) & DawgDictionary.FINAL_FLAG) != 0) action.accept(prefix.toString());
+        int end = nodeEntry(node + 1) & DawgDictionary.EDGE_MASK;
+        for (int edge = nodeEntry(node) & DawgDictionary.EDGE_MASK; edge < end; edge++) {
+            prefix.append(buffer.getChar(labelsOffset + 2 * edge));
+            forEachWord(buffer.getInt(targetsOffset + 4 * edge), prefix, action);
+            prefix.setLength(prefix.length() - 1);
+        }
+    }
+
+    /**
+     * Finds the node reached by following the edge labelled c out of a node.
+     *
+     * @param node the node to follow an edge from
+     * @param c the label of the edge to follow
+     * @return the target node, or -1 if the node has no edge labelled c
+     */
+    private int findChild(int node, char c) {
+        int low = nodeEntry(node) & DawgDictionary.EDGE_MASK;
+        int high = (nodeEntry(node + 1) & DawgDictionary.EDGE_MASK) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = buffer.getChar(labelsOffset + 2 * mid);
+            if (label < c) low = mid + 1;
+            else if (label > c) high = mid - 1;
+            else return buffer.getInt(targetsOffset + 4 * mid);
+        }
+        return -1;
+    }
+
+    private int nodeEntry(int node) {
+        return buffer.getInt(HEADER_SIZE + 4 * node);
+    }
+
+    @Override
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Retrieves the bloom filter compiled into the file, whose bits stay in the mapped file.
+     *
+     * @return the bloom filter over the words, or null if the file has none
+     */
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * Retrieves the number of nodes in the compiled graph.
+     *
+     * @return the number of nodes in the graph
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * The MarkdownTokenizer class splits a Markdown document into the words of its
+ * prose. Fenced and indented code blocks, `code spans`, link destinations and
+ * reference definitions, autolinks and URLs, inline HTML tags and comments are
+ * never read as words, and neither are the markers of headings, block quotes,
+ * lists, tables, emphasis and thematic breaks. Words joined by underscores are
+ * taken as identifiers and left out.
+ *
+ * Code blocks and HTML comments may span lines, and the tokenizer keeps its
+ * state between lines.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class MarkdownTokenizer implements Tokenizer {
+    private char fence; // the character of the fence of the code block the tokenizer is in, or 0 outside one
+    private int fenceLength;
+    private boolean inIndentedCode;
+    private boolean inHtmlComment;
+    private boolean previousBlank = true; // whether the line before was blank, so an indented line starts a code block
+
+    @Override
+    public void tokenizeLine(CharSequence text, int textBase, int lineStart, int lineEnd, WordSink sink) {
+        int start = lineStart - textBase;
+        int end = lineEnd - textBase;
+        int i = start;
+        if (inHtmlComment) {
+            i = indexOf(text, "-->", i, end);
+            if (i < 0) return;
+            inHtmlComment = false;
+            i += 3;
+        }
+
+        int indent = 0;
+        int first = i; // the first character that is not indentation
+        while (first < end && (text.charAt(first) == ' ' || text.charAt(first) == '\t')) {
+            indent += text.charAt(first) == '\t' ? 4 : 1;
+            first++;
+        }
+        boolean blank = first == end;
+        if (fence != 0) { // in a fenced code block, until a fence as long as the one opening it
+            if (indent < 4 && run(text, first, end, fence) >= fenceLength && isBlank(text, first + run(text, first, end, fence), end)) fence = 0;
+            return;
+        }
+        if (indent < 4 && first < end && (text.charAt(first) == '`' || text.charAt(first) == '~') && run(text, first, end, text.charAt(first)) >= 3) {
+            fence = text.charAt(first); // the info string after the fence is not prose
+            fenceLength = run(text, first, end, fence);
+            return;
+        }
+        if (indent >= 4 && (previousBlank || inIndentedCode) && !blank) {
+            inIndentedCode = true;
+            return;
+        }
+        if (!blank) inIndentedCode = false;
+        previousBlank = blank;
+        if (blank || isReferenceDefinition(text, first, end)) return;
+
+        tokenizeInline(text, textBase, skipBlockMarkers(text, first, end), end, sink);
+    }
+
+    /**
+     * Splits the inline content of a line into words, skipping code spans, links'
+     * destinations, HTML and emphasis.
+     */
+    private void tokenizeInline(CharSequence text, int textBase, int from, int end, WordSink sink) {
+        int wordStart = -1;
+        for (int i = from; i < end; i++) {
+            char c = text.charAt(i);
+            int skipTo = -1; // the index of the last character of markup starting at i, if any
+            if (c == '`') {
+                int ticks = run(text, i, end, '`');
+                int close = i + ticks;
+                while (close < end && !(text.charAt(close) == '`' && run(text, close, end, '`') == ticks && text.charAt(close - 1) != '`')) close++;
+                skipTo = close < end ? close + ticks - 1 : i + ticks - 1; // an unclosed run of backticks is only markup
+            }
+            else if (c == '<' && i + 1 < end && (Character.isLetter(text.charAt(i + 1)) || text.charAt(i + 1) == '/' || text.charAt(i + 1) == '!')) {
+                if (startsWith(text, "<!--", i, end)) {
+                    int close = indexOf(text, "-->", i + 4, end);
+                    if (close < 0) { // the comment goes on past the line
+                        inHtmlComment = true;
+                        skipTo = end - 1;
+                    }
+                    else skipTo = close + 2;
+                }
+                else {
+                    int close = indexOf(text, ">", i, end);
+                    skipTo = close < 0 ? i : close; // an HTML tag or an autolink
+                }
+            }
+            else if (c == ']' && i + 1 < end && (text.charAt(i + 1) == '(' || text.charAt(i + 1) == '[')) {
+                int close = indexOf(text, text.charAt(i + 1) == '(' ? ")" : "]", i + 2, end);
+                skipTo = close < 0 ? i : close; // a link's destination or reference
+            }
+            else if (c == '\\' && i + 1 < end) skipTo = i + 1; // an escaped character is not part of a word
+            else if (Character.isWhitespace(c) || "*~|[]!".indexOf(c) >= 0) skipTo = i;
+
+            if (skipTo >= 0) {
+                if (wordStart >= 0) addWord(text, textBase, wordStart, i, sink);
+                wordStart = -1;
+                i = skipTo;
+            }
+            else if (wordStart < 0) wordStart = i;
+        }
+        if (wordStart >= 0) addWord(text, textBase, wordStart, end, sink);
+    }
+
+    /**
+     * Gives a word to the sink without the underscores of emphasis around it,
+     * unless it is an identifier, a URL or has no letters or digits.
+     */
+    private static void addWord(CharSequence text, int textBase, int start, int end, WordSink sink) {
+        while (start < end && text.charAt(start) == '_') start++;
+        while (end > start && text.charAt(end - 1) == '_') end--;
+        boolean alphanumeric = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '_') return; // an identifier
+            if (Character.isLetterOrDigit(c)) alphanumeric = true;
+        }
+        if (!alphanumeric || indexOf(text, "://", start, end) >= 0) return;
+        sink.addWord(textBase + start, textBase + end);
+    }
+
+    /**
+     * Skips the block quote, heading and list markers at the start of a line.
+     *
+     * @return the index of the line's inline content
+     */
+    private static int skipBlockMarkers(CharSequence text, int i, int end) {
+        while (true) {
+            while (i < end && text.charAt(i) == ' ') i++;
+            if (i >= end) return i;
+            char c = text.charAt(i);
+            int after = i + 1; // after the marker, which has to be followed by a space
+            if (c == '>') {
+                i = after;
+                continue;
+            }
+            if (c == '#') after = i + run(text, i, end, '#');
+            else if (Character.isDigit(c)) {
+                while (after < end && Character.isDigit(text.charAt(after))) after++;
+                if (after < end && (text.charAt(after) == '.' || text.charAt(after) == ')')) after++;
+                else return i;
+            }
+            else if (c != '-' && c != '+' && c != '*') return i;
+            if (after < end && text.charAt(after) != ' ' && text.charAt(after) != '\t') return i;
+            i = after;
+            if (startsWith(text, " [ ] ", i, end) || startsWith(text, " [x] ", i, end) || startsWith(text, " [X] ", i, end)) i += 4; // a task list item
+        }
+    }
+
+    /**
+     * Checks if a line defines a link reference, such as [id]: http://example.com
+     */
+    private static boolean isReferenceDefinition(CharSequence text, int i, int end) {
+        if (i >= end || text.charAt(i) != '[') return false;
+        int close = indexOf(text, "]:", i, end);
+        return close > i + 1;
+    }
+
+    private static int run(CharSequence text, int i, int end, char c) {
+        int length = 0;
+        while (i + length < end && text.charAt(i + length) == c) length++;
+        return length;
+    }
+
+    private static boolean isBlank(CharSequence text, int i, int end) {
+        for (; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean startsWith(CharSequence text, String prefix, int i, int end) {
+        if (end - i < prefix.length()) return false;
+        for (int j = 0; j < prefix.length(); j++) {
+            if (text.charAt(i + j) != prefix.charAt(j)) return false;
+        }
+        return true;
+    }
+
+    private static int indexOf(CharSequence text, String target, int from, int end) {
+        for (int i = from; i + target.length() <= end; i++) {
+            if (startsWith(text, target, i, end)) return i;
+        }
+        return -1;
+    }
+}
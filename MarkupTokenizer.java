@@ -0,0 +1,207 @@
+/**
+ * The MarkupTokenizer class splits an HTML/XML document into the words of its
+ * text nodes, in one pass over its characters. Tags, with their attributes,
+ * comments, CDATA sections, declarations and processing instructions, and the
+ * bodies of script and style elements, are never read as words. Words are split
+ * at whitespace, at tags and at character references such as &amp;amp;, which
+ * are left out of the words around them.
+ *
+ * The tokenizer is a state machine fed a line at a time, keeping its state
+ * between lines, so tags, comments and script bodies may span lines, and a
+ * streamed document is split the same way as a loaded one. Each word is given
+ * by its offsets in the document's text, so the markup around it is kept as it
+ * was read.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class MarkupTokenizer implements Tokenizer {
+    private static final int TEXT = 0; // between tags
+    private static final int ENTITY = 1; // in a character reference, after its &
+    private static final int TAG_OPEN = 2; // after a <, before knowing what it opens
+    private static final int TAG = 3; // in a start or end tag
+    private static final int BANG = 4; // after <!, before knowing if it opens a comment or a CDATA section
+    private static final int COMMENT = 5; // in a comment, after its <!--
+    private static final int CDATA = 6; // in a CDATA section, after its <![CDATA[
+    private static final int DECLARATION = 7; // in a declaration or processing instruction
+    private static final int RAW_TEXT = 8; // in the body of a script or style element
+
+    private static final String COMMENT_START = "--";
+    private static final String CDATA_START = "[CDATA[";
+
+    private int state = TEXT;
+    private int wordStart = -1; // the offset of the word being read, or -1 if there is none
+    private char quote; // the quote an attribute value in a tag is in, or 0 outside one
+    private final StringBuilder tagName = new StringBuilder(); // the name of the tag being read, in lowercase
+    private boolean readingTagName;
+    private boolean endTag;
+    private boolean selfClosing; // whether the last character of the tag before its > was a /
+    private String rawTextEnd; // the end tag ending the script or style body being read, such as "</script"
+    private int matched; // the characters matched so far of a sequence ending or starting a state
+
+    /**
+     * Splits a line of the document into words, continuing from the state the
+     * previous line ended in. A word still being read at the end of the line ends
+     * there, since a line break is whitespace.
+     *
+     * @param text the document's text, or the part of it holding the line
+     * @param textBase the offset in the document's text of the first character of text
+     * @param lineStart the offset of the line in the document's text
+     * @param lineEnd the offset of the line's line break in the document's text
+     * @param sink the receiver of the line's words
+     */
+    @Override
+    public void tokenizeLine(CharSequence text, int textBase, int lineStart, int lineEnd, WordSink sink) {
+        for (int i = lineStart; i < lineEnd; i++) {
+            char c = text.charAt(i - textBase);
+            switch (state) {
+                case TEXT:
+                    readText(c, i, sink);
+                    break;
+                case ENTITY:
+                    if (c == ';') { // the reference is left out of the words around it
+                        state = TEXT;
+                        wordStart = -1;
+                    }
+                    else if (!Character.isLetterOrDigit(c) && c != '#') { // a lone &, whose following characters are text
+                        state = TEXT;
+                        readText(c, i, sink);
+                    }
+                    else if (wordStart < 0) wordStart = i; // kept as text if no ; ends the reference
+                    break;
+                case TAG_OPEN:
+                    openTag(c, i, sink);
+                    break;
+                case TAG:
+                    readTag(c);
+                    break;
+                case BANG:
+                    readBang(c);
+                    break;
+                case COMMENT:
+                    if (c == '>' && matched >= 2) state = TEXT;
+                    matched = c == '-' ? matched + 1 : 0; // the dashes before a >
+                    break;
+                case CDATA:
+                    if (c == '>' && matched >= 2) state = TEXT;
+                    matched = c == ']' ? matched + 1 : 0; // the brackets before a >
+                    break;
+                case DECLARATION:
+                    if (c == '>') state = TEXT;
+                    break;
+                case RAW_TEXT:
+                    readRawText(c);
+                    break;
+            }
+        }
+        if (state == ENTITY) state = TEXT; // a line break ends a reference
+        else if (state == TAG_OPEN) state = TEXT; // a < at the end of a line opens nothing
+        endWord(lineEnd, sink);
+    }
+
+    /**
+     * Reads a character of a text node.
+     */
+    private void readText(char c, int i, WordSink sink) {
+        if (c == '<') {
+            endWord(i, sink);
+            state = TAG_OPEN;
+        }
+        else if (c == '&') {
+            endWord(i, sink);
+            state = ENTITY;
+        }
+        else if (Character.isWhitespace(c) || c == '\u00A0') endWord(i, sink); // a no-break space is whitespace too
+        else if (wordStart < 0) wordStart = i;
+    }
+
+    /**
+     * Reads the character after a <, which opens markup if it starts a tag name,
+     * an end tag, a comment or declaration, or a processing instruction.
+     */
+    private void openTag(char c, int i, WordSink sink) {
+        tagName.setLength(0);
+        endTag = c == '/';
+        selfClosing = false;
+        quote = 0;
+        matched = 0;
+        if (c == '!') state = BANG;
+        else if (c == '?') state = DECLARATION;
+        else if (endTag || Character.isLetter(c)) {
+            state = TAG;
+            readingTagName = true;
+            if (!endTag) tagName.append(Character.toLowerCase(c));
+        }
+        else { // a < in text, which is left out of the words around it
+            state = TEXT;
+            readText(c, i, sink);
+        }
+    }
+
+    /**
+     * Reads a character of a tag, finding its name and its end outside quoted
+     * attribute values. A start tag of a script or style element starts its body.
+     */
+    private void readTag(char c) {
+        if (quote != 0) {
+            if (c == quote) quote = 0;
+            return;
+        }
+        if (c == '>') {
+            String name = tagName.toString();
+            boolean rawText = name.equals("script") || name.equals("style");
+            state = rawText && !endTag && !selfClosing ? RAW_TEXT : TEXT;
+            if (state == RAW_TEXT) {
+                rawTextEnd = "</" + name;
+                matched = 0;
+            }
+            return;
+        }
+        if (readingTagName) {
+            if (Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_') tagName.append(Character.toLowerCase(c));
+            else readingTagName = false;
+        }
+        if (c == '"' || c == '\'') quote = c;
+        if (!Character.isWhitespace(c)) selfClosing = c == '/';
+    }
+
+    /**
+     * Reads a character after <!, which starts a comment if it is --, a CDATA
+     * section if it is [CDATA[, and a declaration otherwise.
+     */
+    private void readBang(char c) {
+        tagName.append(c); // the characters after <! so far
+        String opened = tagName.toString();
+        if (opened.equals(COMMENT_START)) state = COMMENT;
+        else if (opened.equals(CDATA_START)) state = CDATA;
+        else if (!COMMENT_START.startsWith(opened) && !CDATA_START.startsWith(opened)) state = c == '>' ? TEXT : DECLARATION;
+    }
+
+    /**
+     * Reads a character of a script or style body, looking for the end tag ending it.
+     */
+    private void readRawText(char c) {
+        if (Character.toLowerCase(c) == rawTextEnd.charAt(matched)) matched++;
+        else matched = c == '<' ? 1 : 0;
+        if (matched == rawTextEnd.length()) { // read the rest of the end tag as a tag
+            state = TAG;
+            endTag = true;
+            readingTagName = false;
+            tagName.setLength(0);
+            quote = 0;
+        }
+    }
+
+    /**
+     * Ends the word being read, if there is one, and gives it to the sink.
+     */
+    private void endWord(int end, WordSink sink) {
+        if (wordStart >= 0 && end > wordStart) sink.addWord(wordStart, end);
+        wordStart = -1;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * The MiscapitalizationDetector class finds words that do not start with a
+ * capital letter at the start of a sentence, and words with mixed
+ * capitalization, such as "hEllo". A sentence starts at the first word of the
+ * document and after every word ending with a period.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class MiscapitalizationDetector implements Detector {
+    public static final int COST = 2;
+
+    @Override
+    public String getName() {
+        return "miscapitalized";
+    }
+
+    @Override
+    public int getErrorType() {
+        return ErrorIndex.MISCAPITALIZED;
+    }
+
+    @Override
+    public int getCost() {
+        return COST;
+    }
+
+    /**
+     * Detects if there is a miscapitalization at a word index in the document.
+     *
+     * @param spellChecker the spell checker
+     * @param doc the document the word is in
+     * @param index the index of the word in the document
+     * @return true if there is a miscapitalization at the word index, false otherwise
+     */
+    @Override
+    public boolean detect(SpellChecker spellChecker, Document doc, int index) {
+        String word = doc.getToken(index).getCore();
+
+        // detect miscapitalization error for capitalizing start of sentence
+        boolean startOfSentence = index == 0 || doc.getToken(index - 1).getText().endsWith(".");
+        if (startOfSentence && !Character.isUpperCase(word.charAt(0))) return true;
+
+        // detect miscapitalization error for mixed capitalization
+        String rest = word.substring(1);
+        return !word.equals(word.toUpperCase()) && !rest.equals(rest.toLowerCase());
+    }
+}
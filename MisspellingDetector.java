@@ -0,0 +1,52 @@
+/**
+ * The MisspellingDetector class finds words that are not in the user
+ * dictionary, the English dictionary or the ignored words. Each is probed
+ * with the core word as a slice of the word, without copying it. Dictionary
+ * lookups cost the most of the built in detectors, so it runs last.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class MisspellingDetector implements Detector {
+    public static final int COST = 10;
+
+    @Override
+    public String getName() {
+        return "misspelled";
+    }
+
+    @Override
+    public int getErrorType() {
+        return ErrorIndex.MISSPELLED;
+    }
+
+    @Override
+    public int getCost() {
+        return COST;
+    }
+
+    /**
+     * Detects if there is a misspelling at a word index in the document.
+     *
+     * @param spellChecker the spell checker, holding the dictionaries and ignored words
+     * @param doc the document the word is in
+     * @param index the index of the word in the document
+     * @return true if there is a misspelling at the word index, false otherwise
+     */
+    @Override
+    public boolean detect(SpellChecker spellChecker, Document doc, int index) {
+        Token token = doc.getToken(index);
+        String word = token.getText(); // look the word up in place, without copying it
+        int start = token.getCoreStart();
+        int end = token.getCoreEnd();
+
+        if (spellChecker.userDictionary.containsWord(word, start, end)) return false;
+        if (spellChecker.getEnglishDictionary().containsWord(word, start, end)) return false;
+        return !spellChecker.ignoredWords.contains(word, start, end); // if word isn't in ignored words or user/english dict, it is misspelled
+    }
+}
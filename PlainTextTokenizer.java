@@ -0,0 +1,43 @@
+/**
+ * The PlainTextTokenizer class splits the lines of a plain text document into
+ * words at spaces, the way String.split(" ") does: each space ends a word, so
+ * two spaces in a row make an empty word between them, and empty words at the
+ * end of a line are dropped. A line of only spaces has no words, but an empty
+ * line has one empty word. Tabs and other characters are kept in the words.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class PlainTextTokenizer implements Tokenizer {
+    @Override
+    public void tokenizeLine(CharSequence text, int textBase, int lineStart, int lineEnd, WordSink sink) {
+        int start = lineStart - textBase;
+        int end = lineEnd - textBase;
+        boolean hasSpace = indexOf(text, ' ', start, end) >= 0;
+        if (hasSpace) {
+            while (end > start && text.charAt(end - 1) == ' ') end--; // empty words at the end of the line are dropped
+        }
+        if (hasSpace && end == start) return; // a line of only spaces has no words, but an empty line has one empty word
+
+        int wordStart = start;
+        while (true) { // add each word
+            int wordEnd = indexOf(text, ' ', wordStart, end);
+            if (wordEnd < 0) wordEnd = end;
+            sink.addWord(textBase + wordStart, textBase + wordEnd);
+            if (wordEnd == end) break;
+            wordStart = wordEnd + 1; // skip the space after the word
+        }
+    }
+
+    private static int indexOf(CharSequence text, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (text.charAt(i) == c) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.function.IntPredicate;
+
+/**
+ * The RankedBitSet class is a fixed-size set of bits that can count the set
+ * bits before any index (rank) and find the nth set bit (select) without
+ * scanning the set. The bits are kept in longs, and a Fenwick tree over the
+ * longs holds how many bits are set in each, so setting or clearing a bit,
+ * rank and select each take O(log n) time.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class RankedBitSet {
+    private final long[] words;
+    private final int[] tree; // tree[i] counts the set bits of the longs in (i - lowest bit of i, i], from 1
+    private final int size;
+    private int count;
+
+    /**
+     * Constructor for the ranked bit set class, with every bit clear.
+     *
+     * @param size the number of bits in the set
+     */
+    public RankedBitSet(int size) {
+        this(size, i -> false);
+    }
+
+    /**
+     * Constructor for the ranked bit set class, setting the bits for which a test
+     * is true. The counts are built in one pass over the longs.
+     *
+     * @param size the number of bits in the set
+     * @param isSet the test for whether each bit starts out set
+     */
+    public RankedBitSet(int size, IntPredicate isSet) {
+        if (size < 0) throw new IllegalArgumentException("Size must not be negative: " + size);
+        this.size = size;
+        words = new long[(size + 63) >>> 6];
+        tree = new int[words.length + 1];
+        for (int i = 0; i < size; i++) {
+            if (isSet.test(i)) words[i >>> 6] |= 1L << i;
+        }
+        for (int i = 1; i <= words.length; i++) {
+            int bits = Long.bitCount(words[i - 1]);
+            count += bits;
+            tree[i] += bits;
+            int parent = i + (i & -i);
+            if (parent <= words.length) tree[parent] += tree[i];
+        }
+    }
+
+    /**
+     * Checks if a bit is set.
+     *
+     * @param index the index of the bit
+     * @return true if the bit is set, false otherwise
+     */
+    public boolean get(int index) {
+        checkIndex(index);
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Sets or clears a bit.
+     *
+     * @param index the index of the bit
+     * @param value true to set the bit, false to clear it
+     */
+    public void set(int index, boolean value) {
+        if (get(index) == value) return;
+        words[index >>> 6] ^= 1L << index;
+        int change = value ? 1 : -1;
+        count += change;
+        for (int i = (index >>> 6) + 1; i <= words.length; i += i & -i) {
+            tree[i] += change;
+        }
+    }
+
+    /**
+     * Counts the set bits before an index.
+     *
+     * @param index the index to count up to, from 0 to size (inclusive)
+     * @return the number of set bits below the index
+     */
+    public int rank(int index) {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        int word = index >>> 6;
+        int rank = 0;
+        for (int i = word; i > 0; i -= i & -i) {
+            rank += tree[i];
+        }
+        if ((index & 63) != 0) rank += Long.bitCount(words[word] & ((1L << index) - 1));
+        return rank;
+    }
+
+    /**
+     * Finds the nth set bit.
+     *
+     * @param n the number of set bits before the bit to find, from 0
+     * @return the index of the bit
+     */
+    public int select(int n) {
+        if (n < 0 || n >= count) throw new IndexOutOfBoundsException("Set bit " + n + " out of bounds for " + count + " set bits");
+        int word = 0; // the number of longs known to hold at most n set bits, found by descending the tree
+        for (int step = Integer.highestOneBit(words.length); step > 0; step >>>= 1) {
+            if (word + step <= words.length && tree[word + step] <= n) {
+                word += step;
+                n -= tree[word];
+            }
+        }
+        long bits = words[word];
+        for (int i = 0; i < n; i++) {
+            bits &= bits - 1; // clear the lowest set bit
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Retrieves the number of set bits.
+     *
+     * @return the number of bits set
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Retrieves the number of bits in the set.
+     *
+     * @return the size of the set
+     */
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+    }
+}
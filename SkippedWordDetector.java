@@ -0,0 +1,49 @@
+/**
+ * The SkippedWordDetector class is the skip filter the spell checker always
+ * runs first. It skips the words that are never checked: empty words, the
+ * newlines between lines, numbers, and tags in an HTML/XML document. It only
+ * reads what the word's token already worked out, so it costs the least of
+ * the built in detectors.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class SkippedWordDetector implements Detector {
+    public static final int COST = 0;
+
+    @Override
+    public String getName() {
+        return "skipped";
+    }
+
+    @Override
+    public int getErrorType() {
+        return SKIP;
+    }
+
+    @Override
+    public int getCost() {
+        return COST;
+    }
+
+    /**
+     * Checks if a word should not be checked.
+     *
+     * @param spellChecker the spell checker
+     * @param doc the document the word is in
+     * @param index the index of the word in the document
+     * @return true if the word is empty, a newline, a number or an HTML/XML tag
+     */
+    @Override
+    public boolean detect(SpellChecker spellChecker, Document doc, int index) {
+        Token token = doc.getToken(index);
+        if (token.isEmpty() || token.isNewline() || token.isNumeric()) return true;
+        String word = token.getText();
+        return doc.isHTML && word.startsWith("<") && word.endsWith(">"); // a tag in an html/xml document
+    }
+}
@@ -8,11 +8,14 @@ import javax.swing.text.StyledDocument;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.function.Supplier;
 
 /**
  * The SpellCheckInterface class is used to spell check a file using a GUI.
@@ -31,7 +34,7 @@ import java.util.ArrayList;
 
 public class SpellCheckInterface {
     private static File myFile;
-    private static boolean isHTML = false;
+    private static Supplier<Tokenizer> format = PlainTextTokenizer::new; // makes the tokenizer for the selected file type
     public static SpellChecker mySpellChecker;
     private static Configuration myConfig = new Configuration();
     private static UserDictionary myUserDictionary;
@@ -47,15 +50,35 @@ public class SpellCheckInterface {
         myFile = selectedFile;
     }
 
+    /**
+     * Closes the spell checker, if there is one, so it releases the English dictionary
+     */
+    public static void closeSpellChecker() {
+        if(mySpellChecker != null) {
+            mySpellChecker.close();
+            mySpellChecker = null;
+        }
+    }
+
     /**
      * Initialized the selected document, initializes myDocument 
      * to a new Document object
      *
      * @param selectedFile the file to initialize myDocument with
-     * @param isHTML true for html/xml file, false for txt file
+     * @param format makes the tokenizer for the selected file type
      */
-    public static void initSpellChecker(File selectedFile, boolean isHTML, String userDictPath) {
-        mySpellChecker = new SpellChecker(selectedFile.getPath(), isHTML);
+    public static void initSpellChecker(File selectedFile, Supplier<Tokenizer> format, String userDictPath) {
+        closeSpellChecker(); // the last document's checker is replaced
+        mySpellChecker = new SpellChecker(selectedFile.getPath(), format);
+        if(myConfig.getSuggestions().equals("symspell")) { // if user config file asks for the deletion index, suggest with it
+            mySpellChecker.setSuggestionEngine(new SymSpellSuggestionEngine(mySpellChecker.getEnglishDictionary(), mySpellChecker.userDictionary));
+        }
+        else if(myConfig.getSuggestions().equals("bktree")) { // if user config file asks for the BK-tree, suggest with it
+            mySpellChecker.setSuggestionEngine(new BKTreeSuggestionEngine(mySpellChecker.getEnglishDictionary(), mySpellChecker.userDictionary));
+        }
+        if(myConfig.getIgnoredWords().equals("saved")) { // if user config file asks to remember ignored words, load the ones saved for this document
+            mySpellChecker.setIgnoredWordsStore(new IgnoredWordsStore());
+        }
     }
 
     /**
@@ -64,6 +87,13 @@ public class SpellCheckInterface {
      * spell check a file.
      */
     public static void main(String[] args) {
+        DictionaryRegistry.setDefaultFalsePositiveRate(myConfig.getBloomFilterRate()); // the user config file may set the bloom filter's rate
+        if(myConfig.getSuggestions().equals("bktree")) { // build the BK-tree in the background too, rather than on the first suggestion
+            DictionaryRegistry.preloadDefault(BKTreeSuggestionEngine::prepare);
+        }
+        else {
+            DictionaryRegistry.preloadDefault(); // load the dictionary in the background while the user picks a file
+        }
         JFrame frame = new JFrame(); // all content will be displayed on this frame
         frame.setSize(1200,680); // set frame width and height
         CardLayout cardLayout = new CardLayout();
@@ -623,14 +653,20 @@ public class SpellCheckInterface {
         suggest4.addActionListener(goNextWordListener);
         suggest5.addActionListener(goNextWordListener);
 
+        JCheckBox applyToAll = new JCheckBox("Apply to all occurrences"); // when checked, suggestions and deletions apply to every occurrence of the error word
+        applyToAll.setBackground(new Color(240,240,240));
+
         ActionListener acceptSuggestionFromButton = new ActionListener() { // accepts suggestion and increments suggestion acceptance counter if button is not N/A
             @Override
             public void actionPerformed(ActionEvent e) {
                 String buttonText = ((JButton) e.getSource()).getText();
                 boolean buttonIsNA = buttonText.contains("N/A");
                 if(!buttonIsNA) {
-                    mySpellChecker.getDocument().replaceWord(mySpellChecker.getCurrentWordIndex(), buttonText);
-                    mySpellChecker.myMetrics.increaseAcceptedSuggestions(1);
+                    if(applyToAll.isSelected()) mySpellChecker.replaceAllOccurrences(buttonText); // replace every occurrence, counting each as accepted
+                    else {
+                        mySpellChecker.getDocument().replaceWord(mySpellChecker.getCurrentWordIndex(), buttonText);
+                        mySpellChecker.myMetrics.increaseAcceptedSuggestions(1);
+                    }
                     acceptedCountNumLabel.setText(Integer.toString(mySpellChecker.myMetrics.getNumAcceptedSuggestions()));
                 }
             }
@@ -658,6 +694,11 @@ public class SpellCheckInterface {
         gbc.anchor = GridBagConstraints.SOUTH;
         spellCheckMain.add(optionsButtonsContainer, gbc); 
 
+        gbc.gridx = 0;
+        gbc.gridy = 6;
+        gbc.anchor = GridBagConstraints.CENTER;
+        spellCheckMain.add(applyToAll, gbc); 
+
         JButton option1, option2, option3, option4, option5;
         option1 = new JButton(); // the ignore once button
         option1.setText("Ignore Once");
@@ -710,8 +751,11 @@ public class SpellCheckInterface {
         ActionListener deleteWord = new ActionListener() { // adds delete word function to delete word
             @Override
             public void actionPerformed(ActionEvent e) {
-                mySpellChecker.getDocument().replaceWord(mySpellChecker.getCurrentWordIndex(), "");
-                mySpellChecker.myMetrics.increaseDeletions(1);
+                if(applyToAll.isSelected()) mySpellChecker.deleteAllOccurrences(); // delete every occurrence, counting each as a deletion
+                else {
+                    mySpellChecker.getDocument().replaceWord(mySpellChecker.getCurrentWordIndex(), "");
+                    mySpellChecker.myMetrics.increaseDeletions(1);
+                }
                 deletionsCountNumLabel.setText(Integer.toString(mySpellChecker.myMetrics.getNumDeletions()));
             }
         };
@@ -740,6 +784,33 @@ public class SpellCheckInterface {
         gbc.anchor = GridBagConstraints.EAST;
         spellCheckPage.add(bottomSpellPanel, gbc);
 
+        JPanel errorNavigationPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0)); // this container contains the buttons to move between errors
+        errorNavigationPanel.setBackground(Color.WHITE);
+        bottomSpellPanel.add(errorNavigationPanel, BorderLayout.WEST);
+
+        JButton previousErrorButton = new JButton("Previous Error"); // button to go back to the previous error
+        previousErrorButton.setPreferredSize(new Dimension(140, 40));
+        errorNavigationPanel.add(previousErrorButton);
+        previousErrorButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if(mySpellChecker.goToPreviousError()) {
+                    updateTextNextError(mySpellChecker.getCurrentWordIndex(), readWords, currentWord, suggest1, suggest2, suggest3, suggest4, suggest5);
+                }
+            }
+        });
+
+        JButton nextErrorButton = new JButton("Next Error"); // button to skip to the next error without changing the current one
+        nextErrorButton.setPreferredSize(new Dimension(140, 40));
+        errorNavigationPanel.add(nextErrorButton);
+        nextErrorButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                mySpellChecker.advanceNextError();
+                updateTextNextError(mySpellChecker.getCurrentWordIndex(), readWords, currentWord, suggest1, suggest2, suggest3, suggest4, suggest5);
+            }
+        });
+
         JButton doneSpellButton = new JButton("Done"); // done spellchecking button to proceed to metrics
         doneSpellButton.setPreferredSize(new Dimension(100, 40));
         bottomSpellPanel.add(doneSpellButton, BorderLayout.EAST);
@@ -822,7 +893,7 @@ public class SpellCheckInterface {
         gbc.anchor = GridBagConstraints.SOUTH;
         mainMenuPanel.add(fileTypeText, gbc);
 
-        JToggleButton txtButton, htmlButton, xmlButton; // these buttons are toggles, only 1 is active at a time, select filetype
+        JToggleButton txtButton, htmlButton, xmlButton, mdButton, texButton, codeButton; // these buttons are toggles, only 1 is active at a time, select filetype
 
         txtButton = new JToggleButton(".txt"); // the .txt button
         txtButton.setPreferredSize(new Dimension(80, 35));
@@ -842,42 +913,52 @@ public class SpellCheckInterface {
         gbc.gridx = 2;
         gbc.gridy = 4;
         mainMenuPanel.add(xmlButton, gbc);
+
+        mdButton = new JToggleButton(".md"); // the markdown button
+        mdButton.setPreferredSize(new Dimension(80, 35));
+        gbc.gridx = 0;
+        gbc.gridy = 5;
+        mainMenuPanel.add(mdButton, gbc);
+
+        texButton = new JToggleButton(".tex"); // the latex button
+        texButton.setPreferredSize(new Dimension(80, 35));
+        gbc.gridx = 1;
+        gbc.gridy = 5;
+        mainMenuPanel.add(texButton, gbc);
+
+        codeButton = new JToggleButton("code"); // the source code button, which checks only the comments
+        codeButton.setPreferredSize(new Dimension(80, 35));
+        gbc.gridx = 2;
+        gbc.gridy = 5;
+        mainMenuPanel.add(codeButton, gbc);
+        JToggleButton[] fileTypeButtons = {txtButton, htmlButton, xmlButton, mdButton, texButton, codeButton};
         ButtonGroup fileButtonGroup = new ButtonGroup();
-        fileButtonGroup.add(txtButton);
-        fileButtonGroup.add(htmlButton);
-        fileButtonGroup.add(xmlButton);
+        for (JToggleButton button : fileTypeButtons) {
+            fileButtonGroup.add(button);
+        }
         ActionListener toggleListener = new ActionListener() { // adds toggle functionality to the filetype buttons
             @Override
             public void actionPerformed(ActionEvent e) {
                 JToggleButton sourceButton = (JToggleButton) e.getSource();
                 if (sourceButton.isSelected()) { // set selected button, deselect others
-                    txtButton.setSelected(sourceButton == txtButton);
-                    htmlButton.setSelected(sourceButton == htmlButton);
-                    xmlButton.setSelected(sourceButton == xmlButton);
-                    sourceButton.setForeground(Color.RED);
-                    if (sourceButton != txtButton) {
-                        txtButton.setForeground(Color.BLACK);
-                    }
-                    if (sourceButton != htmlButton) {
-                        htmlButton.setForeground(Color.BLACK);
-                    }
-                    if (sourceButton != xmlButton) {
-                        xmlButton.setForeground(Color.BLACK);
+                    for (JToggleButton button : fileTypeButtons) {
+                        button.setSelected(button == sourceButton);
+                        button.setForeground(button == sourceButton ? Color.RED : Color.BLACK);
                     }
                 }else {
                     sourceButton.setForeground(Color.BLACK);
                 }
             }
         };
-        txtButton.addActionListener(toggleListener); // add this toggle functionality to the buttons
-        htmlButton.addActionListener(toggleListener);
-        xmlButton.addActionListener(toggleListener);
+        for (JToggleButton button : fileTypeButtons) { // add this toggle functionality to the buttons
+            button.addActionListener(toggleListener);
+        }
 
         JButton uploadButton; // clicking this button (when file and type are selected) advances the user to spell checking page
         uploadButton = new JButton("Upload File");
         uploadButton.setPreferredSize(new Dimension((int) uploadButton.getPreferredSize().getWidth(), 40));
         gbc.gridx = 0;
-        gbc.gridy = 5;
+        gbc.gridy = 6;
         gbc.gridwidth = 3;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         mainMenuPanel.add(uploadButton, gbc);
@@ -887,22 +968,31 @@ public class SpellCheckInterface {
                 if(myFile != null) { // if file is selected, we can proceed to the spell check screen
                     fileNameText.setText("File: ".concat(myFile.getName()));
                     if (txtButton.isSelected()) {
-                        isHTML = false;
+                        format = TokenizerRegistry.forExtension("txt");
                         cardLayout.show(mainCards, "spellCheckScreen");
                     } else if (htmlButton.isSelected()) {
-                        isHTML = true;
+                        format = TokenizerRegistry.forExtension("html");
                         cardLayout.show(mainCards, "spellCheckScreen");
                     } else if (xmlButton.isSelected()) {
-                        isHTML = true;
+                        format = TokenizerRegistry.forExtension("xml");
+                        cardLayout.show(mainCards, "spellCheckScreen");
+                    } else if (mdButton.isSelected()) {
+                        format = TokenizerRegistry.forExtension("md");
+                        cardLayout.show(mainCards, "spellCheckScreen");
+                    } else if (texButton.isSelected()) {
+                        format = TokenizerRegistry.forExtension("tex");
+                        cardLayout.show(mainCards, "spellCheckScreen");
+                    } else if (codeButton.isSelected()) {
+                        format = TokenizerRegistry.forExtension("java"); // every language with // and /* */ comments is read the same way
                         cardLayout.show(mainCards, "spellCheckScreen");
                     } else {
                         JOptionPane.showMessageDialog(frame,"Please select a file type.","Notice",JOptionPane.INFORMATION_MESSAGE);
                     }
                     if(mySpellChecker == null) {
-                        initSpellChecker(myFile, isHTML, "");
+                        initSpellChecker(myFile, format, "");
                     }
                     else {
-                        mySpellChecker.loadNewDocument(myFile.getPath(), isHTML);
+                        mySpellChecker.loadNewDocument(myFile.getPath(), format);
                     }
                     wordCountNumLabel.setText(Integer.toString(mySpellChecker.myMetrics.getNumWords()));
                     charCountNumLabel.setText(Integer.toString(mySpellChecker.myMetrics.getNumCharacters()));
@@ -923,7 +1013,7 @@ public class SpellCheckInterface {
         userDictButton = new JButton("Edit User Dictionary");
         userDictButton.setPreferredSize(new Dimension((int) uploadButton.getPreferredSize().getWidth(), 40));
         gbc.gridx = 0;
-        gbc.gridy = 6;
+        gbc.gridy = 7;
         gbc.gridwidth = 3;
         gbc.fill = GridBagConstraints.HORIZONTAL;
         mainMenuPanel.add(userDictButton, gbc);
@@ -1038,6 +1128,17 @@ public class SpellCheckInterface {
         frame.add(mainCards, BorderLayout.CENTER); // adding the cards layout to the main frame
 
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // close frame upon exit
+        frame.addWindowListener(new WindowAdapter() { // close the spell checker when the frame is closed or disposed
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeSpellChecker();
+            }
+
+            @Override
+            public void windowClosed(WindowEvent e) {
+                closeSpellChecker();
+            }
+        });
         frame.setVisible(true); // making the frame visible  
         frame.setResizable(false); // make frame unresizable
         frame.setLayout(new BorderLayout(0,0));
@@ -1113,7 +1214,9 @@ public class SpellCheckInterface {
      * @param suggest5 the button containing the fifth correction suggestion
      */
     private static void updateTextNextError(int newIndex, JTextPane readWords, JLabel currentWord, JButton suggest1, JButton suggest2, JButton suggest3, JButton suggest4, JButton suggest5) { // input is readWords, currentError, newIndex. updates readWords and currentError to the next error word based on newIndex
-        String errorWordText = "Error: ".concat(SpellChecker.stripPunctuation(mySpellChecker.getDocument().getWordsList().get(newIndex))).concat(" (");
+        int errorNumber = mySpellChecker.getErrorNumber();
+        String errorLabel = errorNumber > 0 ? "Error " + errorNumber + " of " + mySpellChecker.getErrorCount() + ": " : "Error: "; // e.g. "Error 3 of 12: "
+        String errorWordText = errorLabel.concat(SpellChecker.stripPunctuation(mySpellChecker.getDocument().getWordsList().get(newIndex))).concat(" (");
         int errorCount = 0;
         for (String error : mySpellChecker.getErrorType()) {
             if(errorCount > 0) errorWordText = errorWordText.concat(", ");
@@ -1127,12 +1230,12 @@ public class SpellCheckInterface {
         readWords.setText(""); 
         StyledDocument styledDocument = readWords.getStyledDocument(); // set text block to context surrounding new error word
         try {
-            styledDocument.insertString(styledDocument.getLength(), mySpellChecker.getDocument().getContextBefore(newIndex), null); // add context before error word
+            styledDocument.insertString(styledDocument.getLength(), mySpellChecker.getDocument().getTextBefore(newIndex), null); // add context before error word, as laid out in the document
             SimpleAttributeSet style = new SimpleAttributeSet();
             StyleConstants.setBold(style, true);
             StyleConstants.setForeground(style, Color.RED);
-            styledDocument.insertString(styledDocument.getLength(), " " + mySpellChecker.getDocument().getWordsList().get(newIndex) + " ", style); // selected word will be bold and red
-            styledDocument.insertString(styledDocument.getLength(), mySpellChecker.getDocument().getContextAfter(newIndex), null); // add context after error word
+            styledDocument.insertString(styledDocument.getLength(), mySpellChecker.getDocument().getWordsList().get(newIndex), style); // selected word will be bold and red
+            styledDocument.insertString(styledDocument.getLength(), mySpellChecker.getDocument().getTextAfter(newIndex), null); // add context after error word
         } catch (BadLocationException e) {
             e.printStackTrace();
         }
@@ -1,5 +1,9 @@
+import java.io.Reader;
 import java.util.ArrayList;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
 
 /**
  * The SpellChecker class provides the functionality for spell-checking
@@ -8,7 +12,8 @@ import java.util.regex.Pattern;
  * miscapitalization, and double word errors. The SpellChecker class also
  * provides funcitonality for suggesting corrections to misspelling and 
  * miscapitalization errors. Additionally, the SpellChecker is integrated
- * with metrics to count the number of each error type.
+ * with metrics to count the number of each error type. Words are checked
+ * by the detectors in a DetectorPipeline, which more detectors can be added to.
  * 
  * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
  * @author      Jodi Keizer <jkeizer@uwo.ca>
@@ -19,19 +24,44 @@ import java.util.regex.Pattern;
  */
 
 public class SpellChecker {
+  public static final int PARALLEL_SCAN_THRESHOLD = 65536; // documents with at least this many words are checked in parallel
+  private static final int SCAN_CHUNK_SIZE = 8192; // the number of words a parallel scan task checks on its own
+  public static final int STREAM_WINDOW_WORDS = 8192; // the number of words a streamed check reads at a time
+  private static final int STREAM_CONTEXT_WORDS = Document.CONTEXT_WORDS; // the words kept on each side of a word for its context
+
   private EnglishDictionary englishDictionary;
   public UserDictionary userDictionary;
-  public ArrayList<String> ignoredWords;
-  private int currentWordIndex;
+  public WordHashSet ignoredWords; // changes made to it directly are seen through its modification count
+  private int currentOriginalIndex; // the original index of the current word, which removing words before it does not move
   private Document myDoc;
   public Metrics myMetrics;
   private ArrayList<String> errorType; 
+  private SuggestionEngine suggestionEngine;
+  private SuggestionCache suggestionCache;
+  private UserDictionary cachedUserDictionary; // the user dictionary, and its version, the cached suggestions were found with
+  private int cachedUserDictionaryVersion;
+  private WordHashSet cachedIgnoredWords; // the ignored words, and their modification count, the cached suggestions were found with
+  private int cachedIgnoredWordsModificationCount;
+  private ErrorIndex errorIndex;
+  private Document indexedDoc; // the document, and the state of everything detection reads, the error index was built from
+  private int indexedModificationCount;
+  private WordHashSet indexedIgnoredWords;
+  private int indexedIgnoredWordsModificationCount;
+  private UserDictionary indexedUserDictionary;
+  private int indexedUserDictionaryVersion;
+  private int indexedPipelineVersion;
+  private boolean parallelScan = true;
+  private DetectorPipeline detectorPipeline = new DetectorPipeline();
+  private DetectorPipeline indexedPipeline;
+  private IgnoredWordsStore ignoredWordsStore; // where each document's ignored words are saved, or null to not save them
+  private final DocumentListener errorIndexUpdater = new ErrorIndexUpdater();
 
   /**
    * Constructor for the SpellChecker class. Takes a file path as an 
    * argument to initializse the document, alongside an indication if
    * the doc is txt or html/xml. Initializes the document, as well as the
-   * English and user dictionary. This function also counts the metrics
+   * English and user dictionary. The English dictionary is shared through the
+   * DictionaryRegistry, so it is only loaded by the first spell checker. This function also counts the metrics
    * in the document for each error type, and automatically initializes
    * the SpellChecker's word index to the first error in the document.
    *
@@ -39,16 +69,30 @@ public class SpellChecker {
    * @param isHTML true if document is html/xml, false for txt file
    */
   public SpellChecker(String docPath, boolean isHTML) {
-    myDoc = new Document(docPath, isHTML);
-    englishDictionary = new EnglishDictionary();
-    ignoredWords = new ArrayList<String>();
+    this(docPath, isHTML ? MarkupTokenizer::new : PlainTextTokenizer::new);
+  }
+
+  /**
+   * Constructor for a spell checker of a document of any format the spell
+   * checker can read, such as those found through the TokenizerRegistry.
+   *
+   * @param docPath the path of the document to be read
+   * @param format makes the tokenizer splitting the document into words
+   */
+  public SpellChecker(String docPath, Supplier<Tokenizer> format) {
+    myDoc = new Document(docPath, format);
+    myDoc.setDocumentListener(errorIndexUpdater);
+    englishDictionary = DictionaryRegistry.acquireDefault();
+    ignoredWords = new WordHashSet();
     String userDictFilePath = "user_dict.txt";
     userDictionary = new UserDictionary();
     userDictionary.loadDictionary(userDictFilePath);
     errorType = new ArrayList<String>();
+    suggestionEngine = new EditSuggestionEngine(englishDictionary, userDictionary);
+    suggestionCache = new SuggestionCache();
 
     resetMetrics();
-    currentWordIndex = 0;
+    currentOriginalIndex = 0;
     advanceNextError(); // instantiate index to first error
   }
 
@@ -58,7 +102,28 @@ public class SpellChecker {
    * @return the integer containing the index of the current error in the document
    */
   public int getCurrentWordIndex() {
-    return currentWordIndex;
+    return myDoc.getIndex(currentOriginalIndex);
+  }
+
+  /**
+   * Finds the original index of the word at the current word index: the current
+   * word, or if it was removed, the first word after it that was not
+   *
+   * @return the original index of the word at the current word index, or the document's original size if there is none
+   */
+  private int currentResolvedIndex() {
+    int index = getCurrentWordIndex();
+    return index < myDoc.getWordsList().size() ? myDoc.getOriginalIndex(index) : myDoc.getOriginalSize();
+  }
+
+  /**
+   * Finds the original index of the last word in the document
+   *
+   * @return the original index of the last word, or -1 if the document has no words
+   */
+  private int lastOriginalIndex() {
+    int size = myDoc.getWordsList().size();
+    return size == 0 ? -1 : myDoc.getOriginalIndex(size - 1);
   }
 
   /**
@@ -70,6 +135,45 @@ public class SpellChecker {
     return myDoc;
   }
 
+  /**
+   * Retrieves the English dictionary used to check the document
+   *
+   * @return the shared English dictionary
+   */
+  public EnglishDictionary getEnglishDictionary() {
+    return englishDictionary;
+  }
+
+  /**
+   * Retrieves the strategy used to suggest corrections for misspellings
+   *
+   * @return the suggestion engine in use
+   */
+  public SuggestionEngine getSuggestionEngine() {
+    return suggestionEngine;
+  }
+
+  /**
+   * Sets the strategy used to suggest corrections for misspellings. The engine is
+   * kept when a new document is loaded.
+   *
+   * @param suggestionEngine the suggestion engine to use
+   */
+  public void setSuggestionEngine(SuggestionEngine suggestionEngine) {
+    this.suggestionEngine = suggestionEngine;
+    suggestionCache.clear(); // the new engine may suggest different words
+  }
+
+  /**
+   * Retrieves the cache of misspelling corrections, for its hit and miss counts.
+   * The cache is kept when a new document is loaded.
+   *
+   * @return the suggestion cache
+   */
+  public SuggestionCache getSuggestionCache() {
+    return suggestionCache;
+  }
+
   /**
    * Retrieves the current error type(s) at the current word index
    *
@@ -80,105 +184,408 @@ public class SpellChecker {
   }
 
   /**
-   * Advances the current word index to the next error in the document
+   * Advances the current word index to the next error in the document. Errors are
+   * read from the error index, which is rebuilt first if the document, the ignored
+   * words or the user dictionary have changed since it was built.
    */
   public void advanceNextError() {
-    Boolean errorFound = false;
-    while(!errorFound) {
-      if(endOfDoc()) return; // if we are at the last word, return
-      else currentWordIndex++;
-      String currentWord = myDoc.getWordsList().get(currentWordIndex); // retrieve next word from document
-      String currWordToCheck = stripPunctuation(currentWord);
-      currWordToCheck = currWordToCheck.toLowerCase();
-
-      if(currWordToCheck.equals("") || currWordToCheck == null) continue; // if word is empty/null, skip it
-      if(currWordToCheck.equals("\n")) continue; // if word is just a newline, skip it
-      if(isInteger(currWordToCheck)) continue; // if word is just numbers, skip it
-      if(myDoc.isHTML && currentWord.startsWith("<") && currentWord.endsWith(">")) continue; //if html/xml, when finding next error, if word starts with < or ends with >, skip it 
-
-      // update error type flags
-      errorType.clear(); // reset error type
-      if(detectMiscapitalizationError()) errorType.add("miscapitalized"); // if miscapitalization detected, update error type flags
-      if(detectDoubleWordError()) errorType.add("double word"); // if double word detected, update error type flags
-      if(detectMisspellingError()) errorType.add("misspelled"); //if misspelling detected, update error type flags
-
-      if(detectMiscapitalizationError()) return; // if miscapitalization detected, we are at an error index. break.
-      if(detectDoubleWordError()) return; // if double word detected, we are at an error index. break.
-      if(detectMisspellingError()) return; //if misspelling detected, we are at an error index. break.
+    if(endOfDoc()) return; // if we are at the last word, return
+    ErrorIndex index = getErrorIndex();
+    int current = currentResolvedIndex();
+    int nextError = index.nextError(current);
+    if(nextError < 0) { // no errors left, stop at the last word
+      if(index.getLastCheckedIndex() > current) errorType.clear(); // words checked on the way had no errors
+      currentOriginalIndex = lastOriginalIndex();
+      return;
     }
+    currentOriginalIndex = nextError;
+    setErrorType(index.getMask(nextError));
   }
 
   /**
-   * Detects if there is a miscapitalization at the current word index in the document
-   * 
-   * @return true if there is a miscapitalization at the current word index, false otherwise
+   * Moves the current word index back to the previous error in the document
+   *
+   * @return true if there was an error before the current word, false if the index did not move
    */
-  private boolean detectMiscapitalizationError() { // detect miscapitalization error at the current word index
-    String currentWord = myDoc.getWordsList().get(currentWordIndex);
-    String currWordToCheck = stripPunctuation(currentWord);
+  public boolean goToPreviousError() {
+    return goToError(getErrorIndex().previousError(currentResolvedIndex()));
+  }
 
-    // detect miscapitalization error for capitalizing start of sentence
-    String prevWord;
-    boolean startOfSentence = false;
-    if(currentWordIndex == 0) { // if index is on first word, return false
-      startOfSentence = true;
-    }
-    else {
-      prevWord = myDoc.getWordsList().get(currentWordIndex-1);
-      if(prevWord.endsWith(".")) startOfSentence = true;
+  /**
+   * Moves the current word index to the first error in the document
+   *
+   * @return true if the document has an error, false if the index did not move
+   */
+  public boolean goToFirstError() {
+    ErrorIndex index = getErrorIndex();
+    return index.getErrorCount() > 0 && goToError(index.getErrorPosition(0));
+  }
+
+  /**
+   * Moves the current word index to the last error in the document
+   *
+   * @return true if the document has an error, false if the index did not move
+   */
+  public boolean goToLastError() {
+    ErrorIndex index = getErrorIndex();
+    return index.getErrorCount() > 0 && goToError(index.getErrorPosition(index.getErrorCount() - 1));
+  }
+
+  /**
+   * Moves the current word index to the nth error in the document, found by
+   * select in the error index rather than by walking the errors before it
+   *
+   * @param n the number of the error, starting at 1, as returned by getErrorNumber
+   * @return true if there is an nth error, false if the index did not move
+   */
+  public boolean goToErrorNumber(int n) {
+    ErrorIndex index = getErrorIndex();
+    return n >= 1 && n <= index.getErrorCount() && goToError(index.getErrorPosition(n - 1));
+  }
+
+  /**
+   * Moves the current word index to a word with an error, and sets the error types
+   *
+   * @param originalIndex the original index of the word, or -1 to not move
+   * @return true if the index moved
+   */
+  private boolean goToError(int originalIndex) {
+    if(originalIndex < 0) return false;
+    currentOriginalIndex = originalIndex;
+    setErrorType(errorIndex.getMask(originalIndex));
+    return true;
+  }
+
+  /**
+   * Retrieves the number of the current error among all errors in the document,
+   * as in "error 37 of 412". The number is the rank of the current word among
+   * the words with errors, so it stays right as errors before it are fixed
+   *
+   * @return the number of the current error, starting at 1, or 0 if the current word has no error
+   */
+  public int getErrorNumber() {
+    ErrorIndex index = getErrorIndex();
+    int current = currentResolvedIndex();
+    return current < index.size() ? index.getErrorNumber(current) + 1 : 0;
+  }
+
+  /**
+   * Retrieves the number of words with errors in the document, including errors
+   * already passed
+   *
+   * @return the number of errors
+   */
+  public int getErrorCount() {
+    return getErrorIndex().getErrorCount();
+  }
+
+  /**
+   * Sets the current error type(s) from an error index bitmask
+   *
+   * @param mask the error types found in the current word
+   */
+  private void setErrorType(int mask) {
+    errorType.clear(); // reset error type
+    addErrorTypes(errorType, mask);
+  }
+
+  /**
+   * Adds the names of the error types in an error index bitmask to a list
+   *
+   * @param errorTypes the list to add the names to
+   * @param mask the error types found in a word
+   */
+  private void addErrorTypes(ArrayList<String> errorTypes, int mask) {
+    for(int bit = 1; bit <= ErrorIndex.ERROR_TYPES; bit <<= 1) { // in bit order: miscapitalized, double word, misspelled, then added detectors
+      if((mask & bit & ErrorIndex.ERROR_TYPES) == 0) continue;
+      Detector detector = detectorPipeline.getDetector(bit);
+      if(detector != null) errorTypes.add(detector.getName());
     }
+  }
 
-    if(startOfSentence && !Character.isUpperCase(currWordToCheck.charAt(0))) {
-      return true;
+  /**
+   * Retrieves the error index of the document, checking every word again if the
+   * ignored words or the user dictionary have changed since the index was built.
+   * Edits to the document are patched into the index as they are made. When the
+   * index is built again for the same document, the error counts in the metrics
+   * are updated to match it.
+   *
+   * @return the up to date error index
+   */
+  public ErrorIndex getErrorIndex() {
+    if(!isErrorIndexCurrent(myDoc.getModificationCount())) {
+      boolean sameDoc = errorIndex != null && indexedDoc == myDoc && myMetrics != null;
+      if(sameDoc) addErrorCounts(errorIndex, -1);
+      buildErrorIndex();
+      if(sameDoc) addErrorCounts(errorIndex, 1);
     }
+    return errorIndex;
+  }
 
-    // detect miscapitalization error for mixed capitalization
-    if(!currWordToCheck.equals(currWordToCheck.toUpperCase()) && !currWordToCheck.substring(1, currWordToCheck.length()).equals(currWordToCheck.substring(1, currWordToCheck.length()).toLowerCase())) {
-      return true;
+  /**
+   * Checks if the error index was built from the current document, ignored words,
+   * user dictionary and detectors
+   *
+   * @param modificationCount the modification count the document should have had when the index was last updated
+   * @return true if nothing the index depends on has changed since
+   */
+  private boolean isErrorIndexCurrent(int modificationCount) {
+    return errorIndex != null && indexedDoc == myDoc && indexedModificationCount == modificationCount
+        && indexedIgnoredWords == ignoredWords && indexedIgnoredWordsModificationCount == ignoredWords.getModificationCount() && indexedUserDictionary == userDictionary
+        && indexedUserDictionaryVersion == userDictionary.getVersion() && indexedPipeline == detectorPipeline
+        && indexedPipelineVersion == detectorPipeline.getVersion();
+  }
+
+  /**
+   * Adds the errors in an error index to the metrics' error counts. Errors in the
+   * last word are not counted.
+   *
+   * @param index the error index to count the errors of
+   * @param sign 1 to add the errors to the counts, or -1 to subtract them
+   */
+  private void addErrorCounts(ErrorIndex index, int sign) {
+    int lastWord = lastOriginalIndex();
+    for(int i = 0; i < index.getErrorCount(); i++) {
+      int position = index.getErrorPosition(i);
+      if(position >= lastWord) break; // the last word is not counted
+      addErrorCounts(index.getMask(position), sign);
     }
-      
-    return false;
   }
 
   /**
-   * Detects if there is a misspelling at the current word index in the document
-   * 
-   * @return true if there is a misspelling at the current word index, false otherwise
+   * Adds the error types in a word's bitmask to the metrics' error counts
+   *
+   * @param mask the bitmask of the word
+   * @param sign 1 to add the errors to the counts, or -1 to subtract them
    */
-  private boolean detectMisspellingError() { // detect misspelling error at the current word index
-    String currentWord = myDoc.getWordsList().get(currentWordIndex);    
-    String currWordToCheck = stripPunctuation(currentWord);
-    currWordToCheck = currWordToCheck.toLowerCase();
+  private void addErrorCounts(int mask, int sign) {
+    addErrorCounts(myMetrics, mask, sign);
+  }
 
-    if(ignoredWords.contains(currWordToCheck)) return false;
+  /**
+   * Adds the error types in a word's bitmask to the error counts of some metrics
+   *
+   * @param metrics the metrics to count the errors in
+   * @param mask the bitmask of the word
+   * @param sign 1 to add the errors to the counts, or -1 to subtract them
+   */
+  private static void addErrorCounts(Metrics metrics, int mask, int sign) {
+    if((mask & ErrorIndex.DOUBLE_WORD) != 0) metrics.increaseDoubleWord(sign);
+    if((mask & ErrorIndex.MISCAPITALIZED) != 0) metrics.increaseMiscapitalization(sign);
+    if((mask & ErrorIndex.MISSPELLED) != 0) metrics.increaseMisspelling(sign);
+  }
 
-    if(userDictionary.containsWord(currWordToCheck)) return false;
+  /**
+   * Checks a word again, replacing its bitmask in the error index and its errors
+   * in the metrics
+   *
+   * @param originalIndex the original index of the word
+   */
+  private void recheckWord(int originalIndex) {
+    int index = myDoc.getIndex(originalIndex);
+    int mask = index == 0 ? 0 : checkWord(index); // the first word is never checked
+    if(originalIndex < lastOriginalIndex()) { // the last word is not counted
+      addErrorCounts(errorIndex.getMask(originalIndex), -1);
+      addErrorCounts(mask, 1);
+    }
+    errorIndex.setMask(originalIndex, mask);
+  }
 
-    if(englishDictionary.containsWord(currWordToCheck)) return false;
+  /**
+   * Keeps the error index and the metrics' error counts up to date as the document
+   * is edited. Only the edited word and the word after it are checked again, since
+   * a word's checks only read the word itself and the one before it. If the index
+   * was already out of date, it is left to be built again when next needed. The
+   * index is kept by original index, so removing a word moves no other word's mask.
+   */
+  private class ErrorIndexUpdater implements DocumentListener {
+    @Override
+    public void wordReplaced(int index, int originalIndex) {
+      if(!isErrorIndexCurrent(myDoc.getModificationCount() - 1)) return;
+      recheckWord(originalIndex);
+      if(index + 1 < myDoc.getWordsList().size()) recheckWord(myDoc.getOriginalIndex(index + 1)); // the replaced word is the word before it
+      indexedModificationCount = myDoc.getModificationCount();
+    }
 
-    return true; // if word isn't in ignored words or user/english dict, it is misspelled
+    @Override
+    public void wordRemoved(int index, int originalIndex) {
+      if(!isErrorIndexCurrent(myDoc.getModificationCount() - 1)) return;
+      int size = myDoc.getWordsList().size();
+      if(index < size) addErrorCounts(errorIndex.getMask(originalIndex), -1); // the removed word's errors were counted
+      else if(index > 0) addErrorCounts(errorIndex.getMask(myDoc.getOriginalIndex(index - 1)), -1); // the word before it becomes the uncounted last word
+      errorIndex.setMask(originalIndex, 0); // drop it from the words with errors
+      if(index < size) recheckWord(myDoc.getOriginalIndex(index)); // the word after the removed one has a new word before it
+      indexedModificationCount = myDoc.getModificationCount();
+    }
+
+    @Override
+    public void wordsReplaced(int[] originalIndices) {
+      if(!isErrorIndexCurrent(myDoc.getModificationCount() - 1)) return;
+      int size = myDoc.getWordsList().size();
+      int lastWord = lastOriginalIndex();
+      int oldLastWord = lastWord; // the last word before the edit, which may have been removed
+      for(int original : originalIndices) {
+        if(myDoc.isRemoved(original)) oldLastWord = Math.max(oldLastWord, original);
+      }
+      if(lastWord >= 0 && lastWord < oldLastWord) addErrorCounts(errorIndex.getMask(lastWord), -1); // it becomes the uncounted last word
+
+      // one pass over the edited words in order; the words checked again come in order too, so each is checked once
+      int rechecked = -1;
+      for(int original : originalIndices) {
+        int after = myDoc.getIndex(original); // the index of the first word not removed from the edited word on
+        if(myDoc.isRemoved(original)) {
+          if(original < oldLastWord) addErrorCounts(errorIndex.getMask(original), -1); // the removed word's errors were counted
+          errorIndex.setMask(original, 0); // drop it from the words with errors
+        }
+        else {
+          if(original > rechecked) recheckWord(original);
+          rechecked = original;
+          after++;
+        }
+        if(after < size) { // the word after the edited one has a new word before it
+          int next = myDoc.getOriginalIndex(after);
+          if(next > rechecked) recheckWord(next);
+          rechecked = Math.max(rechecked, next);
+        }
+      }
+      indexedModificationCount = myDoc.getModificationCount();
+    }
   }
 
   /**
-   * Detects if there is a double word error at the current word index in the document
-   * 
-   * @return true if there is a double word error at the current word index, false otherwise
+   * Checks every word in the document once, and records the errors found in the error index
    */
-  private boolean detectDoubleWordError() { //detect double word error at the current word index
-    String currentWord = myDoc.getWordsList().get(currentWordIndex);    
-    String currWordToCheck = stripPunctuation(currentWord);
-    currWordToCheck = currWordToCheck.toLowerCase();
-    String prevWord;
-    if(currentWordIndex == 0) { // if index is on first word, return false
-      return false;
+  private void buildErrorIndex() {
+    indexedDoc = myDoc;
+    indexedModificationCount = myDoc.getModificationCount();
+    indexedIgnoredWords = ignoredWords;
+    indexedIgnoredWordsModificationCount = ignoredWords.getModificationCount();
+    indexedUserDictionary = userDictionary;
+    indexedUserDictionaryVersion = userDictionary.getVersion();
+    indexedPipeline = detectorPipeline;
+    indexedPipelineVersion = detectorPipeline.getVersion();
+
+    byte[] masks = new byte[myDoc.getOriginalSize()]; // removed words are left unchecked
+    int size = myDoc.getWordsList().size();
+    if(parallelScan && size >= PARALLEL_SCAN_THRESHOLD) {
+      ForkJoinPool.commonPool().invoke(new ScanTask(masks, 1, size)); // the first word is never checked
     }
     else {
-      prevWord = myDoc.getWordsList().get(currentWordIndex-1);
-      prevWord = stripPunctuation(prevWord);
-      prevWord = prevWord.toLowerCase();
+      for(int i = 1; i < size; i++) { // the first word is never checked
+        masks[myDoc.getOriginalIndex(i)] = (byte) checkWord(i);
+      }
+    }
+    errorIndex = new ErrorIndex(masks);
+  }
+
+  /**
+   * Checks whether large documents are checked on several threads
+   *
+   * @return true if documents of at least PARALLEL_SCAN_THRESHOLD words are checked in parallel
+   */
+  public boolean isParallelScan() {
+    return parallelScan;
+  }
+
+  /**
+   * Sets whether large documents are checked on several threads. Either way, the
+   * same errors are found.
+   *
+   * @param parallelScan true to check documents of at least PARALLEL_SCAN_THRESHOLD words in parallel
+   */
+  public void setParallelScan(boolean parallelScan) {
+    this.parallelScan = parallelScan;
+  }
+
+  /**
+   * Retrieves the detectors words are checked with. Detectors added to or removed
+   * from the pipeline are used the next time the error index is needed.
+   *
+   * @return the detector pipeline
+   */
+  public DetectorPipeline getDetectorPipeline() {
+    return detectorPipeline;
+  }
+
+  /**
+   * Sets the detectors words are checked with, and counts the metrics again
+   *
+   * @param detectorPipeline the detector pipeline
+   */
+  public void setDetectorPipeline(DetectorPipeline detectorPipeline) {
+    this.detectorPipeline = detectorPipeline;
+    resetMetrics();
+  }
+
+  /**
+   * A task checking a range of words for a parallel scan. Ranges larger than
+   * SCAN_CHUNK_SIZE are split in two at a sentence boundary near their middle, so
+   * most chunks hold whole sentences. Each word's checks also read the word before
+   * it, which may be in the previous chunk, so double words and sentence starts
+   * across chunk edges are found as in a sequential scan. Every word's bitmask is
+   * written to its own position, so the merged result does not depend on the order
+   * the chunks finish in.
+   */
+  private class ScanTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final byte[] masks;
+    private final int from;
+    private final int to;
+
+    ScanTask(byte[] masks, int from, int to) {
+      this.masks = masks;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if(to - from <= SCAN_CHUNK_SIZE) {
+        for(int i = from; i < to; i++) masks[myDoc.getOriginalIndex(i)] = (byte) checkWord(i);
+        return;
+      }
+      int split = sentenceBoundary(from + (to - from) / 2);
+      invokeAll(new ScanTask(masks, from, split), new ScanTask(masks, split, to));
+    }
+
+    /**
+     * Finds the first word after a word ending a sentence, searching forward from
+     * a word and giving up after half a chunk
+     *
+     * @param middle the word to start searching from
+     * @return the index of the first word of a sentence, or middle if none is near
+     */
+    private int sentenceBoundary(int middle) {
+      List<String> words = myDoc.getWordsList();
+      int limit = Math.min(to - 1, middle + SCAN_CHUNK_SIZE / 2);
+      for(int i = middle; i < limit; i++) {
+        if(words.get(i).endsWith(".")) return i + 1;
+      }
+      return middle;
     }
-    if(prevWord.equals(currWordToCheck)) return true; // double word detected, return true
-    else return false; // not double word, return false
+  }
+
+  /**
+   * Checks a word with every detector in the detector pipeline
+   *
+   * @param index the index of the word in the document
+   * @return the bitmask of error types found, with ErrorIndex.CHECKED set, or 0 if the word is skipped
+   */
+  private int checkWord(int index) {
+    return detectorPipeline.check(this, myDoc, index);
+  }
+
+  /**
+   * Checks if part of a buffer is a word in the English or user dictionary
+   * 
+   * @param buffer the buffer holding the word
+   * @param start the index of the first character of the word
+   * @param end the index after the last character of the word
+   * @return true if the word is in either dictionary, false otherwise
+   */
+  private boolean isKnownWord(CharSequence buffer, int start, int end) {
+    return englishDictionary.containsWord(buffer, start, end) || userDictionary.containsWord(buffer, start, end);
   }
 
   /**
@@ -189,7 +596,40 @@ public class SpellChecker {
   public void addToIgnoredWords(String word) {
     word = stripPunctuation(word);
     word = word.toLowerCase();
-    ignoredWords.add(word);
+    if(!ignoredWords.add(word)) return; // already ignored
+    if(ignoredWordsStore != null) ignoredWordsStore.save(myDoc.getFilePath(), ignoredWords);
+  }
+
+  /**
+   * Retrieves the store the ignored words of each document are saved in
+   *
+   * @return the ignored words store, or null if ignored words are not saved
+   */
+  public IgnoredWordsStore getIgnoredWordsStore() {
+    return ignoredWordsStore;
+  }
+
+  /**
+   * Sets the store the ignored words of each document are saved in. With a store,
+   * each document starts with the words ignored in it before, and words ignored
+   * are saved as they are added; without one, ignored words are kept for the
+   * session. The current document's saved words are loaded straight away, so its
+   * metrics are counted again and the current word index goes back to the first error.
+   *
+   * @param ignoredWordsStore the store to save ignored words in, or null to not save them
+   */
+  public void setIgnoredWordsStore(IgnoredWordsStore ignoredWordsStore) {
+    this.ignoredWordsStore = ignoredWordsStore;
+    if(ignoredWordsStore == null) return;
+    loadIgnoredWords();
+    resetMetrics();
+  }
+
+  /**
+   * Replaces the ignored words with the words saved for the current document
+   */
+  private void loadIgnoredWords() {
+    ignoredWords = ignoredWordsStore.load(myDoc.getFilePath());
   }
 
   /**
@@ -203,12 +643,24 @@ public class SpellChecker {
 
     ArrayList<String> suggestedCorrections = new ArrayList<String>();
 
-    if(detectMiscapitalizationError()) suggestedCorrections.addAll(suggestMiscapitalizationCorrections());
-    if(detectMisspellingError()) suggestedCorrections.addAll(suggestMisspellingCorrections());
+    if(detects(ErrorIndex.MISCAPITALIZED)) suggestedCorrections.addAll(suggestMiscapitalizationCorrections());
+    if(detects(ErrorIndex.MISSPELLED)) suggestedCorrections.addAll(suggestMisspellingCorrections());
 
     return suggestedCorrections;
   }
 
+  /**
+   * Runs the detector for an error type on the current word, whether or not the
+   * word would be skipped
+   *
+   * @param errorType the error index bit of the error type
+   * @return true if the detector finds the error, false otherwise or if no detector finds it
+   */
+  private boolean detects(int errorType) {
+    Detector detector = detectorPipeline.getDetector(errorType);
+    return detector != null && detector.detect(this, myDoc, getCurrentWordIndex());
+  }
+
   /**
    * Suggests miscapitalization corrections for the error at the current word index.
    * Miscapitalizations include forgetting to capitalize the start of a sentence, or
@@ -217,7 +669,8 @@ public class SpellChecker {
    * @return an ArrayList<String> containing potential miscapitalization corrections
    */
   public ArrayList<String> suggestMiscapitalizationCorrections() {
-    String errorWord = stripPunctuation(myDoc.getWordsList().get(currentWordIndex)); // get current error word
+    int currentWordIndex = getCurrentWordIndex();
+    String errorWord = myDoc.getToken(currentWordIndex).getCore(); // get current error word
     ArrayList<String> suggestedCorrections = new ArrayList<String>();
     // detect miscapitalization error for capitalizing start of sentence
     String prevWord;
@@ -250,56 +703,118 @@ public class SpellChecker {
 
   /**
    * Suggests misspelling corrections for the error at the current word index.
-   * The current word is subjected to letter removal, letter insertion, letter
-   * swapping, and word splitting to generate potential corrections, and these
-   * potential corrections are checked against the English and user dictionary
-   * to search for suggested corrections. Capitalization of the word is maintained.
+   * The suggestion engine finds dictionary words close to the current word (by
+   * default through letter removal, letter insertion and letter swapping), and
+   * the word is split in two at each position to find pairs of dictionary words.
+   * The corrections for recent misspellings are cached, and the cache is emptied
+   * whenever the user dictionary or the ignored words change. Capitalization of
+   * the word is maintained.
    * 
    * @return an ArrayList<String> containing potential misspelling corrections
    */
   public ArrayList<String> suggestMisspellingCorrections() {
-    String errorWord = myDoc.getWordsList().get(currentWordIndex); // get current error word
-    errorWord = stripPunctuation(errorWord).toLowerCase(); // strip punctuation from current error word and converto to lower case
-    ArrayList<String> potentialCorrections = new ArrayList<String>();
-
-    potentialCorrections.addAll(removeLetters(errorWord)); // remove each letter from word and add to potentialCorrections
-    potentialCorrections.addAll(insertLetters(errorWord)); // insert letters into word and add to potentialCorrections
-    potentialCorrections.addAll(swapLetters(errorWord)); // swap consecutive letters in word and add to potentialCorrections
+    Token errorToken = myDoc.getToken(getCurrentWordIndex()); // get current error word
+    String errorWord = errorToken.getLowerCaseCore(); // current error word without punctuation, in lower case
 
-    ArrayList<String> potentialSplitWordSuggestions = new ArrayList<String>();
-    potentialSplitWordSuggestions.addAll(splitWord(errorWord)); // add spaces in between word and add to potentialSplitWordSuggestions
-
-    ArrayList<String> suggestedCorrections = new ArrayList<String>();
-    for (String word : potentialCorrections) {
-      if(englishDictionary.containsWord(word) && !suggestedCorrections.contains(word)) {
-        suggestedCorrections.add(word);
-      }
-      else if(userDictionary.containsWord(word) && !suggestedCorrections.contains(word)) suggestedCorrections.add(word); // else if its in userdictionary, add
+    if(userDictionary != cachedUserDictionary || userDictionary.getVersion() != cachedUserDictionaryVersion) { // user dictionary changed since the suggestions were cached
+      suggestionCache.clear();
+      cachedUserDictionary = userDictionary;
+      cachedUserDictionaryVersion = userDictionary.getVersion();
+    }
+    if(ignoredWords != cachedIgnoredWords || ignoredWords.getModificationCount() != cachedIgnoredWordsModificationCount) { // ignored words changed since the suggestions were cached
+      suggestionCache.clear();
+      cachedIgnoredWords = ignoredWords;
+      cachedIgnoredWordsModificationCount = ignoredWords.getModificationCount();
     }
 
-    for (String splitWord : potentialSplitWordSuggestions) {
-      String[] splits = splitWord.split(" "); // split the word
-      if((englishDictionary.containsWord(splits[0]) || userDictionary.containsWord(splits[0])) &&
-        (englishDictionary.containsWord(splits[1]) || userDictionary.containsWord(splits[1]))) {
-        suggestedCorrections.add(splitWord);
+    ArrayList<String> suggestedCorrections = suggestionCache.get(errorWord); // reuse the corrections if this misspelling was seen recently
+    if(suggestedCorrections == null) {
+      suggestedCorrections = suggestionEngine.suggest(errorWord); // find single word corrections
+
+      for(int i = 1; i < errorWord.length(); i++) { // split the word at each position (as splitWord does), looking up both halves in place
+        if(isKnownWord(errorWord, 0, i) && isKnownWord(errorWord, i, errorWord.length())) {
+          suggestedCorrections.add(errorWord.substring(0, i) + " " + errorWord.substring(i));
         }
       }
+      suggestionCache.put(errorWord, suggestedCorrections);
+    }
 
     // retain capitalization state (all caps, first letter capitalization) for words corrected
-    String currentWord = stripPunctuation(myDoc.getWordsList().get(currentWordIndex)); // get current word
-    boolean isAllCaps = currentWord.equals(currentWord.toUpperCase()); // check if current word is all caps
-    boolean firstLetterCapitalized = Character.isUpperCase(currentWord.charAt(0)); // check if current word's first letter is capitalized
-    if(isAllCaps) {
-      for(int i=0; i<suggestedCorrections.size(); i++) suggestedCorrections.set(i, suggestedCorrections.get(i).toUpperCase());
-    }
-    else if(firstLetterCapitalized) {
-      for(int i=0; i<suggestedCorrections.size(); i++) {
-        suggestedCorrections.set(i, suggestedCorrections.get(i).substring(0, 1).toUpperCase() + suggestedCorrections.get(i).substring(1));
-      }
-    }
+    String currentWord = errorToken.getCore(); // get current word
+    for(int i=0; i<suggestedCorrections.size(); i++) suggestedCorrections.set(i, matchCapitalization(suggestedCorrections.get(i), currentWord));
     return suggestedCorrections;
   }
 
+  /**
+   * Capitalizes a correction the way the word it corrects is capitalized: in all
+   * caps if the word is in all caps, or with its first letter capitalized if the
+   * word's first letter is capitalized
+   *
+   * @param correction the correction to capitalize
+   * @param word the word being corrected, without punctuation
+   * @return the capitalized correction
+   */
+  private static String matchCapitalization(String correction, String word) {
+    boolean isAllCaps = word.equals(word.toUpperCase()); // check if word is all caps
+    boolean firstLetterCapitalized = Character.isUpperCase(word.charAt(0)); // check if word's first letter is capitalized
+    if(isAllCaps) return correction.toUpperCase();
+    if(firstLetterCapitalized) return correction.substring(0, 1).toUpperCase() + correction.substring(1);
+    return correction;
+  }
+
+  /**
+   * Replaces every occurrence of the word at the current word index, found through
+   * the document's word occurrence index, and counts each one as an accepted
+   * suggestion. Occurrences capitalized differently from the current word get the
+   * replacement capitalized to match them, as long as the replacement is capitalized
+   * to match the current word. Every occurrence is replaced in one edit of the document.
+   *
+   * @param replacement the word to replace the current word with
+   * @return the number of occurrences replaced
+   */
+  public int replaceAllOccurrences(String replacement) {
+    int replaced = editAllOccurrences(replacement);
+    myMetrics.increaseAcceptedSuggestions(replaced);
+    return replaced;
+  }
+
+  /**
+   * Deletes every occurrence of the word at the current word index, found through
+   * the document's word occurrence index, and counts each one as a deletion.
+   * Punctuation around an occurrence is kept, as when deleting a single word.
+   *
+   * @return the number of occurrences deleted
+   */
+  public int deleteAllOccurrences() {
+    int deleted = editAllOccurrences("");
+    myMetrics.increaseDeletions(deleted);
+    return deleted;
+  }
+
+  /**
+   * Replaces every occurrence of the word at the current word index with one call
+   * to Document.replaceWords, so the document's live word counts and the error
+   * index are each updated once. The current word keeps its original index, so
+   * the current word index moves back by the number of words removed before it.
+   *
+   * @param replacement the word to replace each occurrence with, or "" to delete them
+   * @return the number of occurrences edited
+   */
+  private int editAllOccurrences(String replacement) {
+    String currentWord = myDoc.getToken(getCurrentWordIndex()).getCore();
+    int[] positions = myDoc.getOccurrenceIndex().getPositions(currentWord);
+    boolean recapitalize = !replacement.isEmpty() && replacement.equals(matchCapitalization(replacement.toLowerCase(), currentWord));
+
+    String[] replacements = new String[positions.length];
+    for(int i = 0; i < positions.length; i++) {
+      String occurrence = myDoc.getToken(positions[i]).getCore();
+      replacements[i] = replacement;
+      if(recapitalize && !occurrence.equals(currentWord)) replacements[i] = matchCapitalization(replacement.toLowerCase(), occurrence);
+    }
+    myDoc.replaceWords(positions, replacements); // one edit, so the error index is patched in one pass
+    return positions.length;
+  }
+
   /**
    * Removes each letter from the input word, and returns a list of words with 
    * each letter removed.
@@ -374,51 +889,126 @@ public class SpellChecker {
 
   /**
    * Loads a new document, resets the metrics for the document, and advances
-   * the current word index to the first error in the document
+   * the current word index to the first error in the document. If ignored words
+   * are saved, the words ignored in the document before are loaded first.
    * 
    * @param filePath the path of the document to be read
    * @param isHTML true if document is html/xml, false for txt file
    */
   public void loadNewDocument(String filePath, boolean isHTML) {
-    myDoc = new Document(filePath, isHTML);
+    loadNewDocument(filePath, isHTML ? MarkupTokenizer::new : PlainTextTokenizer::new);
+  }
+
+  /**
+   * Loads a new document of any format the spell checker can read, the way
+   * loadNewDocument(String, boolean) does.
+   *
+   * @param filePath the path of the document to be read
+   * @param format makes the tokenizer splitting the document into words
+   */
+  public void loadNewDocument(String filePath, Supplier<Tokenizer> format) {
+    myDoc = new Document(filePath, format);
+    myDoc.setDocumentListener(errorIndexUpdater);
+    if(ignoredWordsStore != null) loadIgnoredWords(); // start with the words ignored in this document before
     resetMetrics();
-    currentWordIndex = 0;
+    currentOriginalIndex = 0;
     advanceNextError();
   }
 
+  /**
+   * Checks a document read from a reader without loading all of it, for batch
+   * and headless checking of documents too large to keep in memory. The document
+   * is read STREAM_WINDOW_WORDS words at a time, and only the words still needed
+   * for checking or as context are kept. Each error is reported to the listener
+   * as soon as it is found, with the text around it that getTextBefore and
+   * getTextAfter of the loaded document would give.
+   * Word, character and line counts, and the error counts, are added to the given
+   * metrics as the document is read, so they can be read from the listener.
+   *
+   * The spell checker's current document, error index and metrics are not changed;
+   * its dictionaries, ignored words and detectors are used.
+   *
+   * @param reader the reader to read the document from, which is not closed
+   * @param isHTML true if document is html/xml, false for txt
+   * @param metrics the metrics to count the document and its errors in
+   * @param listener the listener to report each error to
+   */
+  public void checkStream(Reader reader, boolean isHTML, Metrics metrics, StreamingErrorListener listener) {
+    checkStream(reader, isHTML ? MarkupTokenizer::new : PlainTextTokenizer::new, metrics, listener);
+  }
+
+  /**
+   * Checks a document of any format the spell checker can read from a reader,
+   * the way checkStream(Reader, boolean, Metrics, StreamingErrorListener) does.
+   *
+   * @param reader the reader to read the document from, which is not closed
+   * @param format makes the tokenizer splitting the document into words
+   * @param metrics the metrics to count the document and its errors in
+   * @param listener the listener to report each error to
+   */
+  public void checkStream(Reader reader, Supplier<Tokenizer> format, Metrics metrics, StreamingErrorListener listener) {
+    Document window = new Document(reader, format, metrics);
+    List<String> words = window.getWordsList();
+    int windowStart = 0; // the index in the whole document of the window's first word
+    int next = 1; // the next word of the window to check; the first word is never checked
+    boolean more = true;
+    while(more || next < words.size()) {
+      if(more) more = window.readWords(STREAM_WINDOW_WORDS);
+      int checkTo = more ? words.size() - STREAM_CONTEXT_WORDS : words.size(); // leave words to read the context after
+      for(; next < checkTo; next++) {
+        int mask = detectorPipeline.check(this, window, next);
+        if((mask & ErrorIndex.ERROR_TYPES) == 0) continue;
+        addErrorCounts(metrics, mask, 1);
+        ArrayList<String> errorTypes = new ArrayList<String>();
+        addErrorTypes(errorTypes, mask);
+        listener.errorFound(windowStart + next, words.get(next), errorTypes, window.getTextBefore(next), window.getTextAfter(next));
+      }
+      int drop = next - STREAM_CONTEXT_WORDS; // keep the words read as context before the next word
+      if(drop > 0) {
+        window.dropWords(drop);
+        windowStart += drop;
+        next -= drop;
+      }
+    }
+  }
+
   /**
    * Resets all metrics to 0, and updates metrics to count the number of
    * misspellings, miscapitalizations, and double word errors in the 
    * document. Also resets the current word index to the index of the
    * first error in the document and sets the metrics count for document 
-   * metrics.
+   * metrics. Errors are counted from the error index, so each word is only
+   * checked once.
    */
   private void resetMetrics() {
-    currentWordIndex = 0;
-    advanceNextError();
+    ErrorIndex index = getErrorIndex();
     myMetrics = new Metrics();
-    while(!endOfDoc()){
-      if(detectDoubleWordError()) myMetrics.increaseDoubleWord(1);
-      if(detectMiscapitalizationError()) myMetrics.increaseMiscapitalization(1);
-      if(detectMisspellingError()) myMetrics.increaseMisspelling(1);
-      advanceNextError();
-    }
+    addErrorCounts(index, 1);
     
     myMetrics.increaseWordCount(this.getDocument().docMetrics.getNumWords()); // set document metrics
     myMetrics.increaseCharacterCount(this.getDocument().docMetrics.getNumCharacters());
     myMetrics.increaseLineCount(this.getDocument().docMetrics.getNumLines());
     
-    currentWordIndex = 0; // reset index back to first error
+    currentOriginalIndex = 0; // reset index back to first error
     advanceNextError();
   }
 
+  /**
+   * Releases this spell checker's reference to the shared English dictionary.
+   * The spell checker should not be used after it is closed.
+   */
+  public void close() {
+    if(englishDictionary != null) DictionaryRegistry.release(englishDictionary);
+    englishDictionary = null;
+  }
+
   /**
    * Checks if the current word index is the last word in the documentt.
    * 
    * @return true if the current word index is the last word in the document, false otherwise
    */
   public boolean endOfDoc() {
-    return currentWordIndex >= (myDoc.getWordsList().size()-1);
+    return getCurrentWordIndex() >= (myDoc.getWordsList().size()-1);
   }
 
   /**
@@ -428,42 +1018,33 @@ public class SpellChecker {
    * @return true if the string can be converted to integer, false otherwise
    */
   public static boolean isInteger(String word) {
-    try {
-        Integer.parseInt(word);
-        return true;
-    } catch (NumberFormatException e) {
-        return false;
-    }
-}
+    return isInteger(word, 0, word.length());
+  }
+
+  /**
+   * Checks if part of a buffer is all numeric (can be converted to integer), accepting
+   * the same text as Integer.parseInt without creating a String or throwing.
+   * 
+   * @param word the buffer holding the word
+   * @param start the index of the first character of the word
+   * @param end the index after the last character of the word
+   * @return true if the word can be converted to integer, false otherwise
+   */
+  public static boolean isInteger(CharSequence word, int start, int end) {
+    return Token.isInteger(word, start, end);
+  }
 
   /**
-   * Strips leading and trailing punctuation from a word.
+   * Strips leading and trailing punctuation from a word. Trailing punctuation is
+   * stripped first, then leading punctuation (see Token for the characters
+   * stripped from each end).
    * 
    * @param word the word to strip puncutation from
    * @return the same word, without leading or trailing punctuation
    */
   public static String stripPunctuation(String word) {
-    String resultWord = word;
-
-    Pattern punctuationPattern = Pattern.compile("(.*?)([-.,;:!?(){}\"])*$");
-    java.util.regex.Matcher matcher = punctuationPattern.matcher(resultWord);
-    if (matcher.matches()) {
-      if (matcher.group(1) != null) {
-        resultWord = matcher.group(1); //extract word without leading/trailing punctuation
-      } else {
-        resultWord = ""; // word only contains punctuation, returns empty
-      }
-    }
-    
-    punctuationPattern = Pattern.compile("([\"-.,;:!?(){}])*(.*?)");
-    matcher = punctuationPattern.matcher(resultWord);
-    if (matcher.matches()) {
-      if (matcher.group(2) != null) {
-        resultWord = matcher.group(2); //extract word without leading/trailing punctuation
-      } else {
-        resultWord = ""; // word only contains punctuation, returns empty
-      }
-    }
-    return resultWord;
+    int end = Token.strippedEnd(word, 0, word.length());
+    int start = Token.strippedStart(word, 0, end);
+    return word.substring(start, end);
   }
 }
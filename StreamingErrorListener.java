@@ -0,0 +1,28 @@
+import java.util.ArrayList;
+
+/**
+ * The StreamingErrorListener interface is implemented by anything that wants
+ * to hear about the errors found by SpellChecker.checkStream, which checks a
+ * document as it is read, without keeping all of its words. Errors are
+ * reported in the order they appear in the document.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public interface StreamingErrorListener {
+    /**
+     * Called for each word with at least one error.
+     *
+     * @param index the index of the word in the whole document's words list
+     * @param word the word, with its punctuation
+     * @param errorTypes the names of the error types found in the word, as SpellChecker.getErrorType gives them
+     * @param contextBefore the context before the word, as Document.getTextBefore gives it
+     * @param contextAfter the context after the word, as Document.getTextAfter gives it
+     */
+    void errorFound(int index, String word, ArrayList<String> errorTypes, String contextBefore, String contextAfter);
+}
@@ -0,0 +1,142 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The SuggestionCache class remembers the misspelling corrections suggested for
+ * recent misspellings, so a misspelling that repeats through a document is
+ * only looked up once. Entries are keyed by the lowercase word without
+ * punctuation and hold the lowercase suggestions; the caller re-applies the
+ * capitalization of each occurrence. When the cache is full, the least
+ * recently used entry is dropped.
+ *
+ * The cache counts its lookups: a hit is a word whose suggestions were cached,
+ * and a miss is a word whose suggestions had to be found.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class SuggestionCache {
+    public static final int DEFAULT_CAPACITY = 256;
+
+    private final LinkedHashMap<String, ArrayList<String>> entries;
+    private final int capacity;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructor for the suggestion cache class, holding up to DEFAULT_CAPACITY words.
+     */
+    public SuggestionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for the suggestion cache class.
+     *
+     * @param capacity the largest number of words to remember suggestions for
+     */
+    public SuggestionCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<String, ArrayList<String>>(16, 0.75f, true) { // iterate in access order
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ArrayList<String>> eldest) {
+                return size() > SuggestionCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Retrieves the cached suggestions for a word, counting a hit or a miss.
+     *
+     * @param word the lowercase word without punctuation
+     * @return a copy of the cached suggestions, or null if the word is not cached
+     */
+    public ArrayList<String> get(String word) {
+        ArrayList<String> suggestions = entries.get(word);
+        if (suggestions == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return new ArrayList<String>(suggestions);
+    }
+
+    /**
+     * Caches the suggestions for a word, dropping the least recently used word if
+     * the cache is full.
+     *
+     * @param word the lowercase word without punctuation
+     * @param suggestions the lowercase suggestions for the word, which are copied
+     */
+    public void put(String word, ArrayList<String> suggestions) {
+        entries.put(word, new ArrayList<String>(suggestions));
+    }
+
+    /**
+     * Removes every cached word, keeping the hit and miss counts.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Retrieves the number of words cached.
+     *
+     * @return the number of cached words
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the largest number of words the cache holds.
+     *
+     * @return the capacity of the cache
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retrieves the number of lookups that found cached suggestions.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of lookups that found nothing cached.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Retrieves the fraction of lookups that found cached suggestions.
+     *
+     * @return the hit rate, between 0 and 1, or 0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Resets the hit and miss counts to 0.
+     */
+    public void resetCounters() {
+        hits = 0;
+        misses = 0;
+    }
+}
@@ -0,0 +1,26 @@
+import java.util.ArrayList;
+
+/**
+ * The SuggestionEngine interface is implemented by the strategies the spell
+ * checker can use to find corrections for a misspelled word. An engine only
+ * suggests single dictionary words; the spell checker adds split-word
+ * suggestions and restores the capitalization of the misspelled word.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public interface SuggestionEngine {
+    /**
+     * Suggests words from the English and user dictionaries that are close to a
+     * misspelled word, best suggestions first.
+     *
+     * @param word the misspelled word, in lowercase and without punctuation
+     * @return an ArrayList<String> containing the suggested lowercase words, without duplicates
+     */
+    ArrayList<String> suggest(String word);
+}
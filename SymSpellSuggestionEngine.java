@@ -0,0 +1,242 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.WeakHashMap;
+import java.util.function.IntConsumer;
+
+/**
+ * The SymSpellSuggestionEngine class suggests every dictionary word within a
+ * maximum Damerau-Levenshtein distance of a misspelled word, using a symmetric
+ * deletion index. Each English word is indexed under every string made by
+ * deleting up to maxDistance letters from it; a misspelling is looked up under
+ * its own deletions, and the words found are checked with EditDistance. This
+ * finds substitutions and edits two letters away, which EditSuggestionEngine
+ * cannot, with a fixed number of index lookups per misspelling.
+ *
+ * Only the first PREFIX_LENGTH letters of a word are used for its deletions,
+ * which keeps the index to about 30 entries per word for a distance of 2. The
+ * index is built once per English dictionary and distance, and shared by every
+ * engine made for them. The user dictionary has a small deletion index of its
+ * own in each engine, rebuilt on the next suggestion after its words change.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class SymSpellSuggestionEngine implements SuggestionEngine {
+    public static final int DEFAULT_MAX_DISTANCE = 2;
+    static final int PREFIX_LENGTH = 7;
+
+    private static final WeakHashMap<EnglishDictionary, HashMap<Integer, DeletionIndex>> indexes = new WeakHashMap<>();
+
+    private final DeletionIndex index;
+    private final UserDictionary userDictionary;
+    private final int maxDistance;
+    private volatile DeletionIndex userIndex; // the user dictionary's words when it was at userIndex.version
+
+    /**
+     * Constructor for the SymSpell suggestion engine class, suggesting words up to
+     * DEFAULT_MAX_DISTANCE edits away.
+     *
+     * @param englishDictionary the English dictionary to index
+     * @param userDictionary the user dictionary to search
+     */
+    public SymSpellSuggestionEngine(EnglishDictionary englishDictionary, UserDictionary userDictionary) {
+        this(englishDictionary, userDictionary, DEFAULT_MAX_DISTANCE);
+    }
+
+    /**
+     * Constructor for the SymSpell suggestion engine class. Builds the deletion index
+     * for the English dictionary, unless one was already built for the same distance.
+     *
+     * @param englishDictionary the English dictionary to index
+     * @param userDictionary the user dictionary to search
+     * @param maxDistance the largest number of edits between a misspelling and a suggestion
+     */
+    public SymSpellSuggestionEngine(EnglishDictionary englishDictionary, UserDictionary userDictionary, int maxDistance) {
+        if (maxDistance < 1) throw new IllegalArgumentException("Maximum distance must be at least 1: " + maxDistance);
+        this.index = indexFor(englishDictionary, maxDistance);
+        this.userDictionary = userDictionary;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Retrieves the shared deletion index for a dictionary and distance, building it if needed.
+     */
+    private static synchronized DeletionIndex indexFor(EnglishDictionary englishDictionary, int maxDistance) {
+        return indexes.computeIfAbsent(englishDictionary, dictionary -> new HashMap<>())
+                .computeIfAbsent(maxDistance, distance -> {
+                    ArrayList<String> words = new ArrayList<String>(englishDictionary.size());
+                    englishDictionary.forEachWord(words::add);
+                    return new DeletionIndex(words, distance, 0);
+                });
+    }
+
+    /**
+     * Retrieves the deletion index of the user dictionary, rebuilding it if the
+     * user dictionary has changed since it was built.
+     */
+    private DeletionIndex userIndex() {
+        DeletionIndex current = userIndex;
+        int version = userDictionary.getVersion();
+        if (current == null || current.version != version) {
+            ArrayList<String> words = new ArrayList<String>(userDictionary.size());
+            userDictionary.forEachWord(words::add);
+            current = new DeletionIndex(words, maxDistance, version);
+            userIndex = current;
+        }
+        return current;
+    }
+
+    /**
+     * Suggests every dictionary word within the maximum distance of a word, closest
+     * first, and in alphabetical order among words the same distance away.
+     *
+     * @param word the misspelled word, in lowercase and without punctuation
+     * @return an ArrayList<String> containing the suggested words
+     */
+    @Override
+    public ArrayList<String> suggest(String word) {
+        String lowerWord = word.toLowerCase();
+        HashMap<String, Integer> distances = new HashMap<>();
+        search(index, lowerWord, distances);
+        search(userIndex(), lowerWord, distances);
+
+        ArrayList<String> suggestedCorrections = new ArrayList<String>(distances.keySet());
+        Collections.sort(suggestedCorrections, Comparator.comparing((String suggestion) -> distances.get(suggestion))
+                .thenComparing(Comparator.naturalOrder()));
+        return suggestedCorrections;
+    }
+
+    /**
+     * Checks every word in the buckets a word's deletions hash to, and records
+     * those within the maximum distance of it.
+     *
+     * @param index the deletion index to search
+     * @param lowerWord the misspelled word, in lowercase
+     * @param distances the words found so far and their distances, added to
+     */
+    private void search(DeletionIndex index, String lowerWord, HashMap<String, Integer> distances) {
+        HashSet<Integer> checked = new HashSet<>();
+        char[] prefix = prefixOf(lowerWord);
+        forEachDeletion(prefix, prefix.length, 0, maxDistance, hash -> {
+            int bucket = hash & index.mask;
+            for (int i = index.bucketStarts[bucket]; i < index.bucketStarts[bucket + 1]; i++) {
+                int wordId = index.postings[i];
+                if (!checked.add(wordId)) continue;
+                String candidate = index.words[wordId];
+                if (Math.abs(candidate.length() - lowerWord.length()) > maxDistance) continue;
+                int distance = EditDistance.damerauLevenshtein(lowerWord, candidate, maxDistance);
+                if (distance <= maxDistance) distances.merge(candidate, distance, Math::min);
+            }
+        });
+    }
+
+    /**
+     * Retrieves the maximum number of edits between a misspelling and a suggestion.
+     *
+     * @return the maximum distance of a suggestion
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Retrieves the number of entries in the deletion index.
+     *
+     * @return the number of (deletion, word) entries indexed
+     */
+    public int getIndexSize() {
+        return index.postings.length;
+    }
+
+    /**
+     * Copies the letters of a word that its deletions are made from.
+     */
+    private static char[] prefixOf(String word) {
+        char[] prefix = new char[Math.min(word.length(), PREFIX_LENGTH)];
+        word.getChars(0, prefix.length, prefix, 0);
+        return prefix;
+    }
+
+    /**
+     * Passes the hash of a word, and of every string made by deleting up to a number
+     * of its letters, to an action. Letters are deleted in place, one position after
+     * another, so each set of deleted positions is visited once.
+     *
+     * @param letters the letters of the word, which are restored before returning
+     * @param length the number of letters in use
+     * @param from the first position that may still be deleted
+     * @param deletions the number of letters that may still be deleted
+     * @param action the action to perform on each hash
+     */
+    private static void forEachDeletion(char[] letters, int length, int from, int deletions, IntConsumer action) {
+        action.accept(hash(letters, length));
+        if (deletions == 0) return;
+        for (int i = from; i < length; i++) {
+            char deleted = letters[i];
+            System.arraycopy(letters, i + 1, letters, i, length - i - 1);
+            forEachDeletion(letters, length - 1, i, deletions - 1, action);
+            System.arraycopy(letters, i, letters, i + 1, length - i - 1);
+            letters[i] = deleted;
+        }
+    }
+
+    /**
+     * Hashes the letters in use with 32-bit FNV-1a.
+     */
+    private static int hash(char[] letters, int length) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < length; i++) {
+            hash ^= letters[i];
+            hash *= 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * The deletion index of a dictionary. Deletions are not stored: the words are
+     * grouped into buckets by the hash of each of their deletions, and every word
+     * in the buckets a misspelling hashes to is checked. The buckets are laid out
+     * end to end in one array of word ids.
+     */
+    private static class DeletionIndex {
+        final String[] words;
+        final int mask;
+        final int[] bucketStarts;
+        final int[] postings;
+        final int version; // the version of the user dictionary indexed, or 0 for an English dictionary
+
+        DeletionIndex(ArrayList<String> wordList, int maxDistance, int version) {
+            this.version = version;
+            words = wordList.toArray(new String[0]);
+
+            int buckets = Integer.highestOneBit(Math.max(1, 4 * words.length - 1)) << 1; // at least 4 buckets per word
+            mask = buckets - 1;
+
+            // first pass counts the entries in each bucket, second pass fills them in
+            bucketStarts = new int[buckets + 1];
+            for (String word : words) {
+                char[] prefix = prefixOf(word);
+                forEachDeletion(prefix, prefix.length, 0, maxDistance, hash -> bucketStarts[(hash & mask) + 1]++);
+            }
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                bucketStarts[bucket + 1] += bucketStarts[bucket];
+            }
+
+            postings = new int[bucketStarts[buckets]];
+            int[] next = bucketStarts.clone();
+            for (int wordId = 0; wordId < words.length; wordId++) {
+                char[] prefix = prefixOf(words[wordId]);
+                int id = wordId;
+                forEachDeletion(prefix, prefix.length, 0, maxDistance, hash -> postings[next[hash & mask]++] = id);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * The TestFiles class makes the temporary files the unit tests read and save:
+ * word lists, documents, and files that have to start out missing. Tests that
+ * only read a document use the fixtures checked in beside them, such as
+ * testDocumentShort.txt; these files are for tests that write to theirs, or need
+ * content the fixtures do not have. Each file is deleted when the tests end.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+final class TestFiles {
+    private TestFiles() {
+    }
+
+    /**
+     * Makes an empty temporary file.
+     *
+     * @param suffix the file's extension, such as ".txt"
+     * @return the file
+     * @throws IOException if the file cannot be made
+     */
+    static File create(String suffix) throws IOException {
+        File file = File.createTempFile("unitTest", suffix);
+        file.deleteOnExit();
+        return file;
+    }
+
+    /**
+     * Gets the path of a temporary file that does not exist yet.
+     *
+     * @param suffix the file's extension, such as ".dat"
+     * @return the file, which is deleted when the tests end if it is made
+     * @throws IOException if the temporary directory cannot be used
+     */
+    static File missing(String suffix) throws IOException {
+        File file = create(suffix);
+        file.delete();
+        return file;
+    }
+
+    /**
+     * Makes a temporary file holding text, encoded in UTF-8.
+     *
+     * @param content the text of the file, with its line breaks
+     * @param suffix the file's extension, such as ".txt"
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    static File write(String content, String suffix) throws IOException {
+        return write(content.getBytes(StandardCharsets.UTF_8), suffix);
+    }
+
+    /**
+     * Makes a temporary file holding bytes.
+     *
+     * @param content the bytes of the file
+     * @param suffix the file's extension, such as ".txt"
+     * @return the file
+     * @throws IOException if the file cannot be written
+     */
+    static File write(byte[] content, String suffix) throws IOException {
+        File file = create(suffix);
+        Files.write(file.toPath(), content);
+        return file;
+    }
+}
@@ -0,0 +1,257 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+/**
+ * The TextDecoder class reads the text of a file in the charset it was written
+ * in, rather than the platform's default charset, so words with characters
+ * outside ASCII are read as they were written. The charset is detected from the
+ * file's bytes: a byte order mark names UTF-8, UTF-16 or UTF-32, and a file
+ * without one is read as UTF-8 if its bytes are valid UTF-8, or as Windows-1252
+ * (a superset of ISO-8859-1) if they are not.
+ *
+ * Files are decoded from direct ByteBuffers, either the decoder's own buffer or
+ * a memory-mapped file, by a CharsetDecoder that is kept for each charset and
+ * reset between files. The bytes are staged through a small reused array, since
+ * the JDK's decoders run several times faster over arrays than over direct
+ * buffers, and decoded straight into a char array as long as the text can be.
+ * UTF-8 is checked while it is decoded, so a file without a byte order mark is
+ * only read twice if it turns out not to be UTF-8. A decoder is not thread
+ * safe; each thread reading documents uses its own through forCurrentThread.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class TextDecoder {
+    public static final int BUFFER_SIZE = 1 << 20; // the bytes of the direct buffer small files are read into
+    public static final Charset FALLBACK = Charset.isSupported("windows-1252") ? Charset.forName("windows-1252") : StandardCharsets.ISO_8859_1; // for files that are not UTF-8
+    private static final int CHUNK_SIZE = 1 << 16; // the bytes staged in the heap at a time
+    private static final ThreadLocal<TextDecoder> DECODERS = ThreadLocal.withInitial(TextDecoder::new);
+
+    private ByteBuffer buffer; // made the first time a file is read into it
+    private final ByteBuffer chunk = ByteBuffer.allocate(CHUNK_SIZE);
+    private final HashMap<Charset, CharsetDecoder> decoders = new HashMap<Charset, CharsetDecoder>();
+    private final CharsetDecoder utf8Checker = StandardCharsets.UTF_8.newDecoder(); // reports malformed input rather than replacing it
+    private Charset charset; // the charset of the last file decoded
+    private int byteOrderMarkLength; // the length of the byte order mark of the last file decoded
+
+    /**
+     * Gets the decoder of the current thread, so its buffer and decoders are
+     * reused by each document the thread reads.
+     *
+     * @return the current thread's decoder
+     */
+    public static TextDecoder forCurrentThread() {
+        return DECODERS.get();
+    }
+
+    /**
+     * Reads a file of at most BUFFER_SIZE bytes into the decoder's direct buffer.
+     * The buffer is overwritten by the next file read.
+     *
+     * @param channel the file to read, from its start
+     * @return the buffer, holding the file's bytes from its position to its limit
+     * @throws IOException if the file cannot be read or has more than BUFFER_SIZE bytes
+     */
+    public ByteBuffer read(FileChannel channel) throws IOException {
+        if (channel.size() > BUFFER_SIZE) throw new IOException("File too large to read into the buffer: " + channel.size() + " bytes");
+        if (buffer == null) buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.clear();
+        while (channel.read(buffer, buffer.position()) > 0) { // read until the end of the file
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes the bytes of a file into text in the charset detected for them,
+     * which is kept until the next file is decoded. The byte order mark, if there
+     * is one, is not part of the text. The buffer's position is moved to its limit.
+     *
+     * @param bytes the bytes of the file, from the buffer's position to its limit
+     * @return the text
+     */
+    public String decode(ByteBuffer bytes) {
+        byteOrderMarkLength = byteOrderMarkLength(bytes);
+        if (byteOrderMarkLength > 0) {
+            charset = detect(bytes);
+            bytes.position(bytes.position() + byteOrderMarkLength);
+            return decode(bytes, charset);
+        }
+        int start = bytes.position();
+        String text = decode(bytes, utf8Checker);
+        if (text != null) {
+            charset = StandardCharsets.UTF_8;
+            return text;
+        }
+        charset = FALLBACK;
+        bytes.position(start);
+        return decode(bytes, charset);
+    }
+
+    /**
+     * Decodes bytes into text, replacing any byte that is not valid in the
+     * charset with U+FFFD. The buffer's position is moved to its limit.
+     *
+     * @param bytes the bytes to decode, from the buffer's position to its limit, without any byte order mark
+     * @param charset the charset to decode them with
+     * @return the text
+     */
+    public String decode(ByteBuffer bytes, Charset charset) {
+        return decode(bytes, decoders.computeIfAbsent(charset, c -> c.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE)));
+    }
+
+    /**
+     * Gets the charset detected for the last file decoded.
+     *
+     * @return the charset, or null if no file has been decoded
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Gets the length of the byte order mark of the last file decoded.
+     *
+     * @return the number of bytes of the byte order mark, or 0 if it had none
+     */
+    public int getByteOrderMarkLength() {
+        return byteOrderMarkLength;
+    }
+
+    /**
+     * Decodes bytes a chunk at a time through the staging array.
+     *
+     * @return the text, or null if the decoder reports a byte that is not valid
+     */
+    private String decode(ByteBuffer bytes, CharsetDecoder decoder) {
+        decoder.reset();
+        char[] chars = new char[(int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(bytes.remaining() * (double) decoder.maxCharsPerByte()))];
+        CharBuffer out = CharBuffer.wrap(chars);
+        chunk.clear();
+        try {
+            boolean last;
+            do {
+                int length = Math.min(chunk.remaining(), bytes.remaining());
+                bytes.get(chunk.array(), chunk.position(), length);
+                chunk.position(chunk.position() + length);
+                chunk.flip();
+                last = !bytes.hasRemaining();
+                CoderResult result = decoder.decode(chunk, out, last); // a sequence cut off at the end of the chunk is left for the next one
+                if (result.isError()) return null;
+                if (result.isOverflow()) result.throwException(); // the array is long enough to prevent it
+                chunk.compact();
+            } while (!last);
+            CoderResult result = decoder.flush(out);
+            if (!result.isUnderflow()) result.throwException();
+        } catch (CharacterCodingException e) {
+            throw new IllegalStateException(e);
+        }
+        return new String(chars, 0, out.position());
+    }
+
+    /**
+     * Detects the charset of a file from its bytes.
+     *
+     * @param bytes the bytes of the file, from the buffer's position to its limit, which are not moved
+     * @return the charset named by the byte order mark, or UTF-8 if the bytes are valid UTF-8, or Windows-1252
+     */
+    public static Charset detect(ByteBuffer bytes) {
+        int start = bytes.position();
+        int length = bytes.limit() - start;
+        int b0 = length > 0 ? bytes.get(start) & 0xFF : -1;
+        int b1 = length > 1 ? bytes.get(start + 1) & 0xFF : -1;
+        int b2 = length > 2 ? bytes.get(start + 2) & 0xFF : -1;
+        int b3 = length > 3 ? bytes.get(start + 3) & 0xFF : -1;
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) return StandardCharsets.UTF_8;
+        if (b0 == 0x00 && b1 == 0x00 && b2 == 0xFE && b3 == 0xFF) return Charset.forName("UTF-32BE");
+        if (b0 == 0xFF && b1 == 0xFE && b2 == 0x00 && b3 == 0x00) return Charset.forName("UTF-32LE");
+        if (b0 == 0xFE && b1 == 0xFF) return StandardCharsets.UTF_16BE;
+        if (b0 == 0xFF && b1 == 0xFE) return StandardCharsets.UTF_16LE;
+        return isUtf8(bytes) ? StandardCharsets.UTF_8 : FALLBACK;
+    }
+
+    /**
+     * Gets the length of the byte order mark a file starts with.
+     *
+     * @param bytes the bytes of the file, from the buffer's position to its limit, which are not moved
+     * @return the number of bytes of the byte order mark, or 0 if there is none
+     */
+    public static int byteOrderMarkLength(ByteBuffer bytes) {
+        int start = bytes.position();
+        int length = bytes.limit() - start;
+        int b0 = length > 0 ? bytes.get(start) & 0xFF : -1;
+        int b1 = length > 1 ? bytes.get(start + 1) & 0xFF : -1;
+        int b2 = length > 2 ? bytes.get(start + 2) & 0xFF : -1;
+        int b3 = length > 3 ? bytes.get(start + 3) & 0xFF : -1;
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) return 3;
+        if ((b0 == 0x00 && b1 == 0x00 && b2 == 0xFE && b3 == 0xFF) || (b0 == 0xFF && b1 == 0xFE && b2 == 0x00 && b3 == 0x00)) return 4;
+        if ((b0 == 0xFE && b1 == 0xFF) || (b0 == 0xFF && b1 == 0xFE)) return 2;
+        return 0;
+    }
+
+    /**
+     * Checks if bytes are valid UTF-8: every sequence is complete, is the shortest
+     * for its character, and is not a surrogate or above U+10FFFF. Runs of ASCII
+     * are skipped 8 bytes at a time.
+     *
+     * @param bytes the bytes, from the buffer's position to its limit, which are not moved
+     * @return true if the bytes are valid UTF-8
+     */
+    public static boolean isUtf8(ByteBuffer bytes) {
+        int limit = bytes.limit();
+        int i = bytes.position();
+        while (i < limit) {
+            if (i + 8 <= limit && (bytes.getLong(i) & 0x8080808080808080L) == 0) { // 8 ASCII bytes
+                i += 8;
+                continue;
+            }
+            int b = bytes.get(i) & 0xFF;
+            if (b < 0x80) {
+                i++;
+                continue;
+            }
+            int length; // the bytes of the sequence
+            int min; // the smallest character the sequence may hold, so overlong sequences are rejected
+            int codePoint;
+            if (b >= 0xC2 && b <= 0xDF) {
+                length = 2;
+                min = 0x80;
+                codePoint = b & 0x1F;
+            }
+            else if (b >= 0xE0 && b <= 0xEF) {
+                length = 3;
+                min = 0x800;
+                codePoint = b & 0x0F;
+            }
+            else if (b >= 0xF0 && b <= 0xF4) {
+                length = 4;
+                min = 0x10000;
+                codePoint = b & 0x07;
+            }
+            else return false; // a continuation byte, an overlong lead byte, or a byte never used in UTF-8
+            if (i + length > limit) return false;
+            for (int j = 1; j < length; j++) {
+                int continuation = bytes.get(i + j) & 0xFF;
+                if ((continuation & 0xC0) != 0x80) return false;
+                codePoint = (codePoint << 6) | (continuation & 0x3F);
+            }
+            if (codePoint < min || codePoint > 0x10FFFF || (codePoint >= 0xD800 && codePoint <= 0xDFFF)) return false;
+            i += length;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,287 @@
+/**
+ * The Token class represents one word of a document's words list, along with
+ * everything the spell checker needs to know about its characters, worked out
+ * once when the token is made instead of every time the word is checked. A
+ * token records where it came from in the document's text, where its core word
+ * starts and ends once punctuation is stripped, the punctuation kept around a
+ * replacement, and whether the core word is a number.
+ *
+ * Two sets of punctuation are used. The core word is the word stripped the way
+ * SpellChecker.stripPunctuation strips it, and the punctuation kept by
+ * Document.replaceWord is the run of characters from PUNCTUATION at each end of
+ * the word. A word holding a line break has no punctuation stripped.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class Token {
+    /** The punctuation stripped from the end of a word, and kept around a replacement. */
+    public static final String PUNCTUATION = "-.,;:!?(){}\"";
+
+    private final String text;
+    private final int start;
+    private final int end;
+    private final int coreStart;
+    private final int coreEnd;
+    private final int leadingEnd;
+    private final int trailingStart;
+    private final int trailingEnd;
+    private final boolean numeric;
+    private String core;
+    private String lowerCaseCore;
+
+    /**
+     * Constructor for the token class.
+     *
+     * @param text the word
+     * @param start the offset of the first character of the word in the document's text
+     * @param end the offset after the last character of the word in the document's text
+     */
+    public Token(String text, int start, int end) {
+        this.text = text;
+        this.start = start;
+        this.end = end;
+        int length = text.length();
+        coreEnd = strippedEnd(text, 0, length);
+        coreStart = strippedStart(text, 0, coreEnd);
+
+        int leading = 0;
+        while (leading < length && PUNCTUATION.indexOf(text.charAt(leading)) >= 0) leading++;
+        leadingEnd = leading;
+        if (hasLineBreak(text, 0, length)) {
+            int[] trailing = trailingPunctuationAroundLineBreaks(text);
+            trailingStart = trailing[0];
+            trailingEnd = trailing[1];
+        }
+        else {
+            int trailing = length;
+            while (trailing > 0 && PUNCTUATION.indexOf(text.charAt(trailing - 1)) >= 0) trailing--;
+            trailingStart = trailing;
+            trailingEnd = length;
+        }
+
+        numeric = isInteger(text, coreStart, coreEnd);
+    }
+
+    /**
+     * Retrieves the word.
+     *
+     * @return the word, with its punctuation
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Retrieves the offset of the token in the document's text. A word replacing
+     * another keeps the offsets of the word it replaced.
+     *
+     * @return the offset of the first character of the word
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Retrieves the offset after the token in the document's text.
+     *
+     * @return the offset after the last character of the word
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * Retrieves the index in the word of the first character of the core word.
+     *
+     * @return the start of the word without punctuation
+     */
+    public int getCoreStart() {
+        return coreStart;
+    }
+
+    /**
+     * Retrieves the index in the word after the last character of the core word.
+     *
+     * @return the end of the word without punctuation
+     */
+    public int getCoreEnd() {
+        return coreEnd;
+    }
+
+    /**
+     * Retrieves the core word, which is only copied out of the word the first time
+     * it is asked for.
+     *
+     * @return the word without leading or trailing punctuation
+     */
+    public String getCore() {
+        if (core == null) core = text.substring(coreStart, coreEnd);
+        return core;
+    }
+
+    /**
+     * Retrieves the core word in lowercase, which is only made the first time it
+     * is asked for.
+     *
+     * @return the word without leading or trailing punctuation, in lowercase
+     */
+    public String getLowerCaseCore() {
+        if (lowerCaseCore == null) lowerCaseCore = getCore().toLowerCase();
+        return lowerCaseCore;
+    }
+
+    /**
+     * Checks if the word has no core word, being empty or all punctuation.
+     *
+     * @return true if the word without punctuation is empty
+     */
+    public boolean isEmpty() {
+        return coreStart == coreEnd;
+    }
+
+    /**
+     * Checks if the token is the line break added at the end of each line.
+     *
+     * @return true if the core word is a single newline
+     */
+    public boolean isNewline() {
+        return coreEnd - coreStart == 1 && text.charAt(coreStart) == '\n';
+    }
+
+    /**
+     * Checks if the core word is a number that can be converted to an integer.
+     *
+     * @return true if the word without punctuation is an integer
+     */
+    public boolean isNumeric() {
+        return numeric;
+    }
+
+    /**
+     * Retrieves the punctuation at the start of the word that a replacement keeps.
+     *
+     * @return the leading punctuation, or null if there is none
+     */
+    public String getLeadingPunctuation() {
+        return leadingEnd == 0 ? null : text.substring(0, leadingEnd);
+    }
+
+    /**
+     * Retrieves the punctuation at the end of the word that a replacement keeps.
+     *
+     * @return the trailing punctuation, or null if there is none
+     */
+    public String getTrailingPunctuation() {
+        return trailingStart == trailingEnd ? null : text.substring(trailingStart, trailingEnd);
+    }
+
+    /**
+     * Finds the trailing punctuation of a word holding a line break the way the
+     * pattern replaceWord used to match it did: the first run of PUNCTUATION,
+     * searching from the start of the word without crossing a line break, that
+     * ends at the end of the word or at a line break ending the word.
+     *
+     * @param text the word
+     * @return the start and end of the trailing punctuation, which are equal if there is none
+     */
+    private static int[] trailingPunctuationAroundLineBreaks(String text) {
+        int length = text.length();
+        for (int searchStart = 0; searchStart <= length; searchStart++) {
+            for (int runStart = searchStart; ; runStart++) {
+                int runEnd = runStart;
+                while (runEnd < length && PUNCTUATION.indexOf(text.charAt(runEnd)) >= 0) runEnd++;
+                if (isEndOfWord(text, runEnd)) return new int[] {runStart, runEnd};
+                if (runStart == length || isLineBreak(text.charAt(runStart))) break;
+            }
+        }
+        return new int[] {length, length};
+    }
+
+    /**
+     * Checks if a position is the end of a word, or is only followed by one line break.
+     */
+    private static boolean isEndOfWord(String text, int index) {
+        int length = text.length();
+        if (index == length) return true;
+        if (text.endsWith("\r\n")) return index == length - 2; // a CRLF is one line break
+        return index == length - 1 && isLineBreak(text.charAt(index));
+    }
+
+    /**
+     * Finds where a word ends once its trailing punctuation is stripped, the same
+     * way SpellChecker.stripPunctuation does, without creating a String. A word
+     * spanning a line break is left whole.
+     *
+     * @param word the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return the index after the last character of the stripped word
+     */
+    static int strippedEnd(CharSequence word, int start, int end) {
+        if (hasLineBreak(word, start, end)) return end;
+        while (end > start && PUNCTUATION.indexOf(word.charAt(end - 1)) >= 0) end--;
+        return end;
+    }
+
+    /**
+     * Finds where a word starts once its leading punctuation is stripped, the same
+     * way SpellChecker.stripPunctuation does, without creating a String. Should be
+     * given the end found by strippedEnd, since trailing punctuation is stripped first.
+     *
+     * @param word the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return the index of the first character of the stripped word
+     */
+    static int strippedStart(CharSequence word, int start, int end) {
+        if (hasLineBreak(word, start, end)) return start;
+        while (start < end && isLeadingPunctuation(word.charAt(start))) start++;
+        return start;
+    }
+
+    private static boolean isLeadingPunctuation(char c) {
+        return (c >= '"' && c <= '.') || ",;:!?(){}".indexOf(c) >= 0; // stripPunctuation's leading class ["-.] is a range
+    }
+
+    private static boolean hasLineBreak(CharSequence word, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (isLineBreak(word.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Checks if part of a buffer is all numeric (can be converted to integer), accepting
+     * the same text as Integer.parseInt without creating a String or throwing.
+     *
+     * @param word the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return true if the word can be converted to integer, false otherwise
+     */
+    static boolean isInteger(CharSequence word, int start, int end) {
+        if (start >= end) return false;
+        boolean negative = word.charAt(start) == '-';
+        if (negative || word.charAt(start) == '+') start++; // optional sign
+        if (start == end) return false; // a sign on its own is not a number
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(word.charAt(i), 10);
+            if (digit < 0) return false;
+            value = value * 10 + digit;
+            if (value > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) return false; // out of int range
+        }
+        return true;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * The Tokenizer interface is implemented by each document format the spell
+ * checker can read, splitting the lines of a document into the words that are
+ * spell-checked. Anything a format marks up, such as tags, code, math, commands
+ * or identifiers, is left out by its tokenizer, so it never reaches the
+ * dictionaries. Words are given by their offsets in the document's text, so
+ * everything around them is kept as it was read when the document is saved.
+ *
+ * A document is given its lines in order, each through the same tokenizer, so a
+ * tokenizer may keep state from one line to the next, such as being inside a
+ * comment or a code block. A new tokenizer is made for each document; the
+ * tokenizers for each file type are found through the TokenizerRegistry.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public interface Tokenizer {
+    /**
+     * The receiver of the words a tokenizer finds.
+     */
+    interface WordSink {
+        /**
+         * Adds a word of the document.
+         *
+         * @param start the offset of the word in the document's text
+         * @param end the offset after the word in the document's text
+         */
+        void addWord(int start, int end);
+    }
+
+    /**
+     * Splits a line of the document into words, continuing from the state the
+     * previous line ended in.
+     *
+     * @param text the document's text, or the part of it holding the line
+     * @param textBase the offset in the document's text of the first character of text
+     * @param lineStart the offset of the line in the document's text
+     * @param lineEnd the offset of the line's line break in the document's text
+     * @param sink the receiver of the line's words, in order
+     */
+    void tokenizeLine(CharSequence text, int textBase, int lineStart, int lineEnd, WordSink sink);
+}
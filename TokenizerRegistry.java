@@ -0,0 +1,73 @@
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * The TokenizerRegistry class maps file extensions to the tokenizers of their
+ * formats, so a document is split into words the way its format calls for.
+ * Files with an extension that is not registered are read as plain text. A new
+ * format is added by registering a supplier of its tokenizer for its extensions.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class TokenizerRegistry {
+    private static final HashMap<String, Supplier<Tokenizer>> FORMATS = new HashMap<String, Supplier<Tokenizer>>();
+
+    static {
+        register("txt", PlainTextTokenizer::new);
+        for (String extension : new String[] {"html", "htm", "xhtml", "xml"}) register(extension, MarkupTokenizer::new);
+        for (String extension : new String[] {"md", "markdown"}) register(extension, MarkdownTokenizer::new);
+        for (String extension : new String[] {"tex", "latex"}) register(extension, LatexTokenizer::new);
+        for (String extension : new String[] {"java", "c", "h", "cpp", "hpp", "cc", "cs", "js", "ts", "go", "kt", "scala", "swift", "rs"}) {
+            register(extension, CommentTokenizer::new);
+        }
+    }
+
+    private TokenizerRegistry() {
+    }
+
+    /**
+     * Registers the tokenizer of a format for a file extension, in place of any
+     * registered for it before.
+     *
+     * @param extension the file extension, with or without its leading dot
+     * @param format makes a new tokenizer for each document
+     */
+    public static synchronized void register(String extension, Supplier<Tokenizer> format) {
+        if (extension == null || format == null) throw new IllegalArgumentException("extension and format must not be null");
+        FORMATS.put(normalize(extension), format);
+    }
+
+    /**
+     * Gets the tokenizer of the format registered for a file extension.
+     *
+     * @param extension the file extension, with or without its leading dot
+     * @return makes a new tokenizer for each document, reading plain text if no format is registered for the extension
+     */
+    public static synchronized Supplier<Tokenizer> forExtension(String extension) {
+        if (extension == null) return PlainTextTokenizer::new;
+        return FORMATS.getOrDefault(normalize(extension), PlainTextTokenizer::new);
+    }
+
+    /**
+     * Gets the tokenizer of the format registered for a file's extension.
+     *
+     * @param path the path or name of the file
+     * @return makes a new tokenizer for each document, reading plain text if the file has no registered extension
+     */
+    public static Supplier<Tokenizer> forPath(String path) {
+        String name = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+        int dot = name.lastIndexOf('.');
+        return forExtension(dot < 0 ? null : name.substring(dot + 1));
+    }
+
+    private static String normalize(String extension) {
+        return (extension.startsWith(".") ? extension.substring(1) : extension).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,64 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class UnitTestBKTreeSuggestionEngine {
+    private static EnglishDictionary englishDictionary;
+
+    // Write a word list to a temporary file before running tests
+    @BeforeAll
+    static void setUp() throws IOException {
+        StringBuilder words = new StringBuilder();
+        for (String word : Arrays.asList("ape", "apple", "apply", "banana", "band", "the", "ten", "then", "they", "them", "tea")) {
+            words.append(word).append('\n');
+        }
+        for (int i = 0; i < 2000; i++) { // filler words far from the searched words
+            words.append("zq").append(Integer.toString(i, 26).replace('0', 'x')).append('\n');
+        }
+        File wordList = TestFiles.write(words.toString(), ".txt");
+        englishDictionary = new EnglishDictionary(wordList.getPath(), false);
+    }
+
+    // Test 1: Check that words up to two edits away are suggested, closest first
+    @Test
+    void testSuggestWithinDistance() {
+        BKTreeSuggestionEngine engine = new BKTreeSuggestionEngine(englishDictionary, new UserDictionary(), 2, 10);
+        assertEquals(Arrays.asList("apple", "ape", "apply"), engine.suggest("appel"));
+        assertEquals(Arrays.asList("banana"), engine.suggest("bcnana"));
+        assertTrue(engine.suggest("wxyz").isEmpty());
+    }
+
+    // Test 2: Check that only the best five suggestions are kept, and the search stops short of the whole tree
+    @Test
+    void testSuggestionSlots() {
+        BKTreeSuggestionEngine engine = new BKTreeSuggestionEngine(englishDictionary, new UserDictionary());
+        assertEquals(Arrays.asList("tea", "ten", "the", "them", "then"), engine.suggest("teh")); // "they" is cut
+        assertTrue(engine.getVisitedNodeCount() < engine.getTreeSize());
+    }
+
+    // Test 3: Check that the tree is shared by engines for the same dictionary, and that user words are suggested
+    @Test
+    void testSharedTreeAndUserDictionary() {
+        UserDictionary userDictionary = new UserDictionary();
+        userDictionary.addWord("Appels");
+        BKTreeSuggestionEngine engine = new BKTreeSuggestionEngine(englishDictionary, userDictionary, 2, 10);
+        assertEquals(Arrays.asList("appels", "apple", "ape", "apply"), engine.suggest("appel"));
+        assertEquals(new BKTreeSuggestionEngine(englishDictionary, userDictionary).getTreeSize(), engine.getTreeSize());
+    }
+
+    // Test 4: Check that the tree is built in the background when the dictionary is preloaded with it
+    @Test
+    void testPreparedByRegistry() throws Exception {
+        File wordList = TestFiles.write("cat\ncart\ncard\n", ".txt");
+        DictionaryRegistry.preload(wordList.getPath(), BKTreeSuggestionEngine::prepare).get();
+        EnglishDictionary dictionary = DictionaryRegistry.acquire(wordList.getPath());
+        assertTrue(BKTreeSuggestionEngine.isPrepared(dictionary));
+        assertEquals(Arrays.asList("card", "cart", "cat"), new BKTreeSuggestionEngine(dictionary, new UserDictionary()).suggest("carr"));
+        DictionaryRegistry.release(dictionary);
+    }
+}
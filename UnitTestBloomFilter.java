@@ -0,0 +1,58 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestBloomFilter {
+
+    // Test 1: Check that every word added is accepted (no false negatives), ignoring case
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter bloomFilter = new BloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            bloomFilter.add("word" + i);
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(bloomFilter.mightContain("word" + i));
+        }
+        assertTrue(bloomFilter.mightContain("WORD7"));
+    }
+
+    // Test 2: Check that the false positive rate is close to the configured rate
+    @Test
+    void testFalsePositiveRate() {
+        BloomFilter bloomFilter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            bloomFilter.add("word" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (bloomFilter.mightContain("other" + i)) falsePositives++;
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives); // about 100 expected
+    }
+
+    // Test 3: Check that hits and misses are counted
+    @Test
+    void testCounters() {
+        BloomFilter bloomFilter = new BloomFilter(100, 0.001);
+        bloomFilter.add("apple");
+        bloomFilter.mightContain("apple");
+        bloomFilter.mightContain("apple");
+        bloomFilter.mightContain("zzzzqqq");
+        assertEquals(2, bloomFilter.getHitCount());
+        assertEquals(1, bloomFilter.getMissCount());
+        bloomFilter.resetCounters();
+        assertEquals(0, bloomFilter.getHitCount() + bloomFilter.getMissCount());
+    }
+
+    // Test 4: Check that the user dictionary's filter forgets removed words
+    @Test
+    void testUserDictionaryFilter() {
+        UserDictionary userDictionary = new UserDictionary();
+        userDictionary.addWord("Gizmo");
+        assertTrue(userDictionary.containsWord("gizmo"));
+        userDictionary.removeWord("gizmo");
+        assertFalse(userDictionary.containsWord("gizmo"));
+        assertTrue(userDictionary.getBloomFilter().getMissCount() + userDictionary.getBloomFilter().getHitCount() > 0);
+    }
+}
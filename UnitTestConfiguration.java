@@ -34,4 +34,14 @@ public class UnitTestConfiguration {
         Configuration newConfiguration = new Configuration();
         assertEquals("dark", newConfiguration.getMode());
     }
+
+    // Test 4: Check that the bloom filter's rate is saved, and a rate that is not valid reads as the default
+    @Test
+    public void testBloomFilterRate() {
+        configuration.setBloomFilterRate(0.001);
+        assertEquals(0.001, new Configuration().getBloomFilterRate());
+        configuration.setBloomFilterRate(2);
+        assertEquals(BloomFilter.DEFAULT_FALSE_POSITIVE_RATE, configuration.getBloomFilterRate());
+        configuration.setBloomFilterRate(BloomFilter.DEFAULT_FALSE_POSITIVE_RATE);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class UnitTestDawgDictionary {
+    private static DawgDictionary dawgDictionary;
+
+    // Build a small DAWG with shared prefixes and suffixes before running tests
+    @BeforeAll
+    static void setUp() {
+        dawgDictionary = new DawgDictionary(Arrays.asList("tap", "taps", "top", "tops", "stop", "stops", "apple", "Tap"));
+    }
+
+    // Test 1: Check if every word that was added is found
+    @Test
+    void testKnownWords() {
+        assertTrue(dawgDictionary.containsWord("tap"));
+        assertTrue(dawgDictionary.containsWord("taps"));
+        assertTrue(dawgDictionary.containsWord("top"));
+        assertTrue(dawgDictionary.containsWord("stops"));
+        assertTrue(dawgDictionary.containsWord("apple"));
+    }
+
+    // Test 2: Check that prefixes, extensions, and unrelated words are not found
+    @Test
+    void testNotKnownWords() {
+        assertFalse(dawgDictionary.containsWord("ta"));
+        assertFalse(dawgDictionary.containsWord("sto"));
+        assertFalse(dawgDictionary.containsWord("stopss"));
+        assertFalse(dawgDictionary.containsWord("apples"));
+        assertFalse(dawgDictionary.containsWord(""));
+    }
+
+    // Test 3: Test case insensitivity, and that duplicates are only counted once
+    @Test
+    void testCaseInsensitivity() {
+        assertTrue(dawgDictionary.containsWord("ApPlE"));
+        assertTrue(dawgDictionary.containsWord("STOPS"));
+        assertEquals(7, dawgDictionary.size());
+    }
+
+    // Test 4: Check that shared suffixes are merged ("tap"/"top" and "stop"/"top" share their endings)
+    @Test
+    void testMinimized() {
+        // a plain trie of these words would need 18 nodes
+        assertTrue(dawgDictionary.getNodeCount() < 18);
+    }
+}
@@ -0,0 +1,98 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestDetectorPipeline {
+
+    // A detector for testing, which finds every word it is asked about and counts the words it checked
+    private static class CountingDetector implements Detector {
+        private final int errorType;
+        private final int cost;
+        int checked;
+
+        CountingDetector(int errorType, int cost) {
+            this.errorType = errorType;
+            this.cost = cost;
+        }
+
+        public String getName() { return "counted"; }
+        public int getErrorType() { return errorType; }
+        public int getCost() { return cost; }
+        public boolean detect(SpellChecker spellChecker, Document doc, int index) {
+            checked++;
+            return true;
+        }
+    }
+
+    // Test 1: Check that detectors run in order of cost, with the built in skip filter first and the dictionary lookup last
+    @Test
+    void testOrderedByCost() {
+        DetectorPipeline pipeline = new DetectorPipeline();
+        Detector custom = new CountingDetector(0x10, 5);
+        pipeline.addDetector(custom);
+        ArrayList<Detector> detectors = pipeline.getDetectors();
+        assertEquals(5, detectors.size());
+        assertTrue(detectors.get(0) instanceof SkippedWordDetector);
+        assertSame(custom, detectors.get(3));
+        assertTrue(detectors.get(4) instanceof MisspellingDetector);
+        for (int i = 1; i < detectors.size(); i++) {
+            assertTrue(detectors.get(i - 1).getCost() <= detectors.get(i).getCost());
+        }
+    }
+
+    // Test 2: Check that a skipped word is not passed to the detectors after the skip filter, and that timing counts only the detectors run
+    @Test
+    void testSkipShortCircuits() throws IOException {
+        SpellChecker spellChecker = new SpellChecker(TestFiles.write("The 42 the\n", ".txt").getPath(), false);
+        CountingDetector after = new CountingDetector(0x20, 100);
+        DetectorPipeline pipeline = new DetectorPipeline(new SkippedWordDetector(), after);
+        pipeline.setTiming(true);
+        assertEquals(0, pipeline.check(spellChecker, spellChecker.getDocument(), 1)); // a number
+        assertEquals(0, after.checked);
+        assertEquals(ErrorIndex.CHECKED | 0x20, pipeline.check(spellChecker, spellChecker.getDocument(), 2));
+        assertEquals(1, after.checked);
+        assertEquals(2, pipeline.getCalls(pipeline.getDetectors().get(0)));
+        assertEquals(1, pipeline.getCalls(after));
+        pipeline.resetTiming();
+        assertEquals(0, pipeline.getCalls(after));
+    }
+
+    // Test 3: Check that a detector added to the spell checker's pipeline is used when words are checked again, and names its errors
+    @Test
+    void testAddedDetectorsRecheckDocument() throws IOException {
+        SpellChecker spellChecker = new SpellChecker(TestFiles.write("The qwzx max_size utf8 www.example.com the\n", ".txt").getPath(), false);
+        int misspellings = spellChecker.myMetrics.getNumMisspellingError();
+        ErrorIndex before = spellChecker.getErrorIndex();
+
+        Detector identifiers = new IdentifierSkipDetector();
+        spellChecker.getDetectorPipeline().addDetector(identifiers);
+        ErrorIndex after = spellChecker.getErrorIndex();
+        assertNotSame(before, after);
+        assertEquals(0, after.getMask(2));
+        assertEquals(0, after.getMask(3));
+        assertEquals(0, after.getMask(4));
+        assertEquals(misspellings - 3, spellChecker.myMetrics.getNumMisspellingError());
+
+        spellChecker.getDetectorPipeline().addDetector(new CountingDetector(0x40, 3));
+        spellChecker.loadNewDocument(spellChecker.getDocument().getFilePath(), false);
+        assertEquals(1, spellChecker.getCurrentWordIndex());
+        assertEquals("counted", spellChecker.getErrorType().get(spellChecker.getErrorType().size() - 1));
+        assertTrue(spellChecker.getErrorType().contains("misspelled"));
+    }
+
+    // Test 4: Check that a detector cannot use an error bit another detector already sets, or a bit outside the error types
+    @Test
+    void testInvalidErrorTypes() {
+        DetectorPipeline pipeline = new DetectorPipeline();
+        assertThrows(IllegalArgumentException.class, () -> pipeline.addDetector(new CountingDetector(ErrorIndex.MISSPELLED, 1)));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.addDetector(new CountingDetector(ErrorIndex.CHECKED, 1)));
+        assertThrows(IllegalArgumentException.class, () -> pipeline.addDetector(new CountingDetector(0x30, 1)));
+        int version = pipeline.getVersion();
+        assertTrue(pipeline.removeDetector(pipeline.getDetector(ErrorIndex.DOUBLE_WORD)));
+        assertNull(pipeline.getDetector(ErrorIndex.DOUBLE_WORD));
+        assertEquals(version + 1, pipeline.getVersion());
+    }
+}
@@ -0,0 +1,52 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class UnitTestDictionaryRegistry {
+    private static String wordListPath;
+
+    // Write a small word list to a temporary file before running tests
+    @BeforeAll
+    static void setUp() throws IOException {
+        wordListPath = TestFiles.write("apple\nbanana\ncherry\n", ".txt").getPath();
+    }
+
+    // Test 1: Check that every caller gets the same dictionary, and that references are counted
+    @Test
+    void testSharedDictionary() {
+        EnglishDictionary first = DictionaryRegistry.acquire(wordListPath);
+        EnglishDictionary second = DictionaryRegistry.acquire(wordListPath);
+        assertSame(first, second);
+        assertTrue(first.containsWord("Banana"));
+        assertEquals(2, DictionaryRegistry.getReferenceCount(wordListPath));
+
+        DictionaryRegistry.release(first);
+        assertEquals(1, DictionaryRegistry.getReferenceCount(wordListPath));
+        DictionaryRegistry.release(second);
+        assertEquals(0, DictionaryRegistry.getReferenceCount(wordListPath));
+    }
+
+    // Test 2: Check that a dictionary is loaded again once all references have been released
+    @Test
+    void testReloadAfterRelease() {
+        EnglishDictionary first = DictionaryRegistry.acquire(wordListPath);
+        DictionaryRegistry.release(first);
+        EnglishDictionary second = DictionaryRegistry.acquire(wordListPath);
+        assertNotSame(first, second);
+        DictionaryRegistry.release(second);
+    }
+
+    // Test 3: Check that a preloaded dictionary is handed out without taking a reference until acquired
+    @Test
+    void testPreload() {
+        DictionaryRegistry.preload(wordListPath);
+        assertEquals(0, DictionaryRegistry.getReferenceCount(wordListPath));
+        EnglishDictionary dictionary = DictionaryRegistry.acquire(wordListPath);
+        assertTrue(dictionary.containsWord("cherry"));
+        assertEquals(1, DictionaryRegistry.getReferenceCount(wordListPath));
+        DictionaryRegistry.release(dictionary);
+    }
+}
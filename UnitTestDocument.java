@@ -1,8 +1,13 @@
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
 class UnitTestDocument {
   // Test 1: testing .txt document word list instantiation
   @Test
@@ -113,4 +118,86 @@ class UnitTestDocument {
         assertTrue((currWord.startsWith("<") && currWord.endsWith(">")) || (!(currWord.startsWith("<")) && !(currWord.endsWith(">"))));
     }
   }
+
+  // Test 12: testing a document large enough to be memory-mapped, which should be split into the same words as a small one, and can be overwritten after editing
+  @Test
+  void testMappedDocument() throws IOException {
+    String line = "Some well-known words, and\r\n  a line:   ending in spaces   \n";
+    File small = TestFiles.write(line, ".txt");
+    File large = TestFiles.write(line.repeat(Document.MAPPED_THRESHOLD / line.length() + 1), ".txt");
+    Document smallDoc = new Document(small.getPath(), false);
+    Document largeDoc = new Document(large.getPath(), false);
+    int wordsPerLine = smallDoc.getWordsList().size();
+    assertEquals(0, largeDoc.getWordsList().size() % wordsPerLine);
+    for (int i = 0; i < wordsPerLine; i++) {
+      int repeated = largeDoc.getWordsList().size() - wordsPerLine + i; // the same word in the last copy of the line
+      assertEquals(smallDoc.getWordsList().get(i), largeDoc.getWordsList().get(repeated));
+      assertEquals(smallDoc.getToken(i).getEnd() - smallDoc.getToken(i).getStart(), largeDoc.getToken(repeated).getEnd() - largeDoc.getToken(repeated).getStart());
+    }
+    assertEquals(smallDoc.getContextAfter(0), largeDoc.getContextAfter(0).substring(0, smallDoc.getContextAfter(0).length()));
+
+    largeDoc.replaceWord(0, "Many");
+    largeDoc.overwriteFile(largeDoc.getWordsList());
+    assertEquals("Many", largeDoc.getWordsList().get(0));
+    assertEquals("well-", largeDoc.getWordsList().get(1));
+    assertEquals("Many", new Document(large.getPath(), false).getWordsList().get(0));
+  }
+
+  // Test 13: testing that removing words keeps every word's original index, and maps between original indices and the words list
+  @Test
+  void testOriginalIndices() throws IOException {
+    File file = TestFiles.write("zero one two three four five", ".txt");
+    Document doc = new Document(file.getPath(), false);
+    int size = doc.getWordsList().size();
+    doc.replaceWord(1, "");
+    doc.replaceWord(2, ""); // "three", now at index 2
+    doc.replaceWord(1, "TWO");
+    assertEquals(size, doc.getOriginalSize());
+    assertEquals(size - 2, doc.getWordsList().size());
+    assertEquals("zero TWO four five", String.join(" ", doc.getWordsList().subList(0, 4)));
+    assertTrue(doc.isRemoved(1));
+    assertTrue(doc.isRemoved(3));
+    assertFalse(doc.isRemoved(2));
+    assertEquals(4, doc.getOriginalIndex(2)); // four
+    assertEquals(2, doc.getIndex(4));
+    assertEquals(2, doc.getIndex(3)); // a removed word has the index of the word after it
+    for (int i = 0; i < doc.getWordsList().size(); i++) assertEquals(i, doc.getIndex(doc.getOriginalIndex(i)));
+  }
+
+  // Test 14: testing that saving keeps the file's spacing and punctuation, writing over only the edited words
+  @Test
+  void testLosslessSave() throws IOException {
+    File file = TestFiles.write("Hello,\tworld  of   tpyos!\r\nSecond line -- here\n", ".txt");
+    File copy = TestFiles.create(".txt");
+    Document doc = new Document(file.getPath(), false);
+    assertEquals("tpyos!", doc.getWordsList().get(5));
+    doc.replaceWord(5, "typos");
+    doc.replaceWord(8, ""); // line
+    doc.saveNewFile(doc.getWordsList(), copy.getPath());
+    assertEquals("Hello,\tworld  of   typos!\r\nSecond -- here\n", new String(Files.readAllBytes(copy.toPath())));
+
+    doc.overwriteFile(doc.getWordsList());
+    doc.replaceWord(7, "Third");
+    doc.overwriteFile(doc.getWordsList()); // the file no longer holds the text the document was read from
+    assertEquals("Hello,\tworld  of   typos!\r\nThird -- here\n", new String(Files.readAllBytes(file.toPath())));
+  }
+
+  // Test 15: testing that the text around a word keeps the document's layout and edits, and starts at most 4 lines above the word
+  @Test
+  void testTextAroundWord() throws IOException {
+    File file = TestFiles.write("One  two\tthree\nfour five.\n", ".txt");
+    Document doc = new Document(file.getPath(), false);
+    assertEquals("four", doc.getWordsList().get(4));
+    assertEquals("One  two\tthree\n", doc.getTextBefore(4));
+    assertEquals("  two\tthree\nfour five.\n", doc.getTextAfter(0));
+    doc.replaceWord(2, "2");
+    doc.replaceWord(4, ""); // four
+    assertEquals("One  2\n", doc.getTextBefore(4));
+    assertEquals("  2\nfive.\n", doc.getTextAfter(0));
+
+    Files.write(file.toPath(), "a\nb\nc\nd\ne\nf\ng\n".getBytes());
+    doc = new Document(file.getPath(), false);
+    assertEquals("g", doc.getWordsList().get(12));
+    assertEquals("c\nd\ne\nf\n", doc.getTextBefore(12));
+  }
 }
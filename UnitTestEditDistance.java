@@ -0,0 +1,38 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestEditDistance {
+
+    // Test 1: Check the distance for each kind of edit
+    @Test
+    void testEdits() {
+        assertEquals(0, EditDistance.damerauLevenshtein("apple", "apple"));
+        assertEquals(1, EditDistance.damerauLevenshtein("aple", "apple")); // insertion
+        assertEquals(1, EditDistance.damerauLevenshtein("applle", "apple")); // deletion
+        assertEquals(1, EditDistance.damerauLevenshtein("apqle", "apple")); // substitution
+        assertEquals(1, EditDistance.damerauLevenshtein("paple", "apple")); // swap
+        assertEquals(2, EditDistance.damerauLevenshtein("paplr", "apple"));
+        assertEquals(3, EditDistance.damerauLevenshtein("", "abc"));
+    }
+
+    // Test 2: Check that a bounded distance gives up past the maximum
+    @Test
+    void testMaxDistance() {
+        assertEquals(2, EditDistance.damerauLevenshtein("abc", "cba", 1));
+        assertEquals(1, EditDistance.damerauLevenshtein("teh", "the", 2));
+        assertEquals(3, EditDistance.damerauLevenshtein("banana", "apple", 2));
+        assertEquals(3, EditDistance.damerauLevenshtein("a", "abcd", 2));
+    }
+
+    // Test 3: Check that the unrestricted distance lets swapped letters be edited again
+    @Test
+    void testUnrestrictedDistance() {
+        assertEquals(1, EditDistance.unrestrictedDamerauLevenshtein("teh", "the"));
+        assertEquals(3, EditDistance.damerauLevenshtein("ca", "abc"));
+        assertEquals(2, EditDistance.unrestrictedDamerauLevenshtein("ca", "abc")); // swap, then insert between
+        assertEquals(2, EditDistance.unrestrictedDamerauLevenshtein("paplr", "apple"));
+        assertEquals(0, EditDistance.unrestrictedDamerauLevenshtein("", ""));
+        assertEquals(4, EditDistance.unrestrictedDamerauLevenshtein("", "abcd"));
+    }
+}
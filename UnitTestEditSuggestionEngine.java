@@ -0,0 +1,60 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class UnitTestEditSuggestionEngine {
+    private static EnglishDictionary englishDictionary;
+
+    // Write a small word list to a temporary file before running tests
+    @BeforeAll
+    static void setUp() throws IOException {
+        File wordList = TestFiles.write(String.join("\n", Arrays.asList("a", "an", "and", "ant", "ants", "at", "tan", "tna", "nat", "the", "hte", "he")) + "\n", ".txt");
+        englishDictionary = new EnglishDictionary(wordList.getPath(), false);
+    }
+
+    // Test 1: Check that the suggestions are the dictionary words among removeLetters, insertLetters and swapLetters, in order
+    @Test
+    void testSameAsStaticEdits() {
+        UserDictionary userDictionary = new UserDictionary();
+        userDictionary.addWord("antz");
+        EditSuggestionEngine engine = new EditSuggestionEngine(englishDictionary, userDictionary);
+        for (String word : Arrays.asList("ant", "tn", "nt", "eth", "thee", "", "x", "ants")) {
+            ArrayList<String> expected = new ArrayList<String>();
+            ArrayList<String> edits = SpellChecker.removeLetters(word);
+            edits.addAll(SpellChecker.insertLetters(word));
+            edits.addAll(SpellChecker.swapLetters(word));
+            for (String edit : edits) {
+                if ((englishDictionary.containsWord(edit) || userDictionary.containsWord(edit)) && !expected.contains(edit)) expected.add(edit);
+            }
+            assertEquals(expected, engine.suggest(word), word);
+        }
+    }
+
+    // Test 2: Check that suggesting for a 15 letter word creates almost no garbage
+    @Test
+    void testSuggestDoesNotAllocate() {
+        EditSuggestionEngine engine = new EditSuggestionEngine(englishDictionary, new UserDictionary());
+        String word = "qwertyuiopasdfg";
+        for (int i = 0; i < 2000; i++) { // warm up, so the measured loop runs compiled
+            engine.suggest(word);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(engine.suggest(word).isEmpty());
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        // the 445 edits of the word would take tens of kilobytes as Strings; only the empty result list remains
+        assertTrue(allocated / 1000 < 256, "each suggestion allocated " + allocated / 1000 + " bytes");
+    }
+}
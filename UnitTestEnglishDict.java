@@ -1,6 +1,7 @@
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import java.lang.management.ManagementFactory;
 
 class UnitTestEnglishDict {
     private static EnglishDictionary englishDictionary;
@@ -35,6 +36,32 @@ class UnitTestEnglishDict {
         assertTrue(englishDictionary.containsWord("ApPlE"));
     }
 
+    // Test 5: Test that looking up part of a buffer ignores case and allocates nothing
+    @Test
+    void testSliceLookupDoesNotAllocate() {
+        StringBuilder buffer = new StringBuilder("(ApPlE) addong");
+        assertTrue(englishDictionary.containsWord(buffer, 1, 6));
+        assertFalse(englishDictionary.containsWord(buffer, 8, 14));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int found = 0;
+        for (int i = 0; i < 100000; i++) { // warm up, so the measured loop runs compiled
+            if (englishDictionary.containsWord(buffer, 1, 6)) found++;
+            if (englishDictionary.containsWord(buffer, 8, 14)) found++;
+        }
+
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100000; i++) {
+            if (englishDictionary.containsWord(buffer, 1, 6)) found++;
+            if (englishDictionary.containsWord(buffer, 8, 14)) found++;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(200000, found);
+        assertTrue(allocated < 1024, "200000 lookups allocated " + allocated + " bytes"); // far less than one object per lookup
+    }
+
 
     
 }
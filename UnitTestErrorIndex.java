@@ -0,0 +1,204 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestErrorIndex {
+
+    // Test 1: Check that the next error is found after any word, and that -1 is returned after the last error
+    @Test
+    void testNextError() {
+        byte[] masks = new byte[8];
+        masks[2] = ErrorIndex.CHECKED | ErrorIndex.MISSPELLED;
+        masks[3] = ErrorIndex.CHECKED;
+        masks[5] = ErrorIndex.CHECKED | ErrorIndex.DOUBLE_WORD | ErrorIndex.MISCAPITALIZED;
+        masks[6] = ErrorIndex.CHECKED;
+        ErrorIndex index = new ErrorIndex(masks);
+
+        assertEquals(2, index.getErrorCount());
+        assertEquals(2, index.nextError(0));
+        assertEquals(5, index.nextError(2));
+        assertEquals(5, index.nextError(4));
+        assertEquals(-1, index.nextError(5));
+        assertEquals(6, index.getLastCheckedIndex());
+        assertEquals(ErrorIndex.DOUBLE_WORD | ErrorIndex.MISCAPITALIZED, index.getMask(5) & ErrorIndex.ERROR_TYPES);
+    }
+
+    // Test 2: Check that edits are patched into the spell checker's index, which matches an index built again from scratch
+    @Test
+    void testPatchedAfterEdits() {
+        SpellChecker spellChecker = new SpellChecker("testDocument.txt", false);
+        ErrorIndex patched = spellChecker.getErrorIndex();
+        for (int step = 0; step < 30 && !spellChecker.endOfDoc(); step++) {
+            int errorIndex = spellChecker.getCurrentWordIndex();
+            if (step % 3 == 0) spellChecker.getDocument().replaceWord(errorIndex, "");
+            else if (step % 3 == 1) spellChecker.getDocument().replaceWord(errorIndex, "word.");
+            else spellChecker.getDocument().replaceWord(errorIndex, "the");
+            spellChecker.advanceNextError();
+        }
+        assertSame(patched, spellChecker.getErrorIndex());
+        int misspellings = spellChecker.myMetrics.getNumMisspellingError();
+        int miscapitalizations = spellChecker.myMetrics.getNumMiscapitalizationError();
+        int doubleWords = spellChecker.myMetrics.getNumDoubleWordsError();
+
+        spellChecker.addToIgnoredWords("qwzxqwzx"); // built again, though no word is ignored
+        ErrorIndex rebuilt = spellChecker.getErrorIndex();
+        assertNotSame(patched, rebuilt);
+        assertEquals(spellChecker.getDocument().getOriginalSize(), rebuilt.size());
+        assertEquals(rebuilt.size(), patched.size());
+        assertEquals(rebuilt.getErrorCount(), patched.getErrorCount());
+        assertEquals(rebuilt.getLastCheckedIndex(), patched.getLastCheckedIndex());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(rebuilt.getMask(i), patched.getMask(i), "word " + i);
+        }
+
+        int countedMisspellings = 0, countedMiscapitalizations = 0, countedDoubleWords = 0;
+        int lastWord = spellChecker.getDocument().getOriginalIndex(spellChecker.getDocument().getWordsList().size() - 1);
+        for (int i = 0; i < lastWord; i++) { // the last word is not counted
+            if ((rebuilt.getMask(i) & ErrorIndex.MISSPELLED) != 0) countedMisspellings++;
+            if ((rebuilt.getMask(i) & ErrorIndex.MISCAPITALIZED) != 0) countedMiscapitalizations++;
+            if ((rebuilt.getMask(i) & ErrorIndex.DOUBLE_WORD) != 0) countedDoubleWords++;
+        }
+        assertEquals(countedMisspellings, misspellings);
+        assertEquals(countedMiscapitalizations, miscapitalizations);
+        assertEquals(countedDoubleWords, doubleWords);
+    }
+
+    // Test 3: Check that a parallel scan of a large document finds the same errors, and counts the same metrics, as a sequential scan
+    @Test
+    void testParallelScanMatchesSequential() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 6000; i++) {
+            text.append("the the Quick bRown fox. jumps over teh lazy dog ").append(i).append(". Sentence ends here\n");
+        }
+        File document = TestFiles.write(text.toString(), ".txt");
+        SpellChecker spellChecker = new SpellChecker(document.getPath(), false);
+        assertTrue(spellChecker.getDocument().getWordsList().size() >= SpellChecker.PARALLEL_SCAN_THRESHOLD);
+        ErrorIndex parallel = spellChecker.getErrorIndex();
+        Metrics parallelMetrics = spellChecker.myMetrics;
+
+        spellChecker.setParallelScan(false);
+        spellChecker.loadNewDocument(document.getPath(), false);
+        ErrorIndex sequential = spellChecker.getErrorIndex();
+        assertNotSame(parallel, sequential);
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.getMask(i), parallel.getMask(i), "word " + i);
+        }
+        assertEquals(spellChecker.myMetrics.getNumMisspellingError(), parallelMetrics.getNumMisspellingError());
+        assertEquals(spellChecker.myMetrics.getNumMiscapitalizationError(), parallelMetrics.getNumMiscapitalizationError());
+        assertEquals(spellChecker.myMetrics.getNumDoubleWordsError(), parallelMetrics.getNumDoubleWordsError());
+    }
+
+    // Test 4: Check that the spell checker moves between errors in both directions and by number, counting where it is
+    @Test
+    void testErrorNavigation() throws IOException {
+        File document = TestFiles.write("The qwzx the the fox. the\n", ".txt");
+        SpellChecker spellChecker = new SpellChecker(document.getPath(), false);
+        int errors = spellChecker.getErrorCount();
+        assertTrue(errors >= 3);
+        assertEquals(1, spellChecker.getCurrentWordIndex()); // qwzx
+        assertEquals(1, spellChecker.getErrorNumber());
+        assertFalse(spellChecker.goToPreviousError());
+        assertEquals(1, spellChecker.getCurrentWordIndex());
+
+        assertTrue(spellChecker.goToLastError());
+        assertEquals(errors, spellChecker.getErrorNumber());
+        assertTrue(spellChecker.goToPreviousError());
+        assertEquals(errors - 1, spellChecker.getErrorNumber());
+
+        assertTrue(spellChecker.goToErrorNumber(2));
+        assertEquals(2, spellChecker.getErrorNumber());
+        assertEquals(spellChecker.getErrorIndex().getErrorPosition(1), spellChecker.getCurrentWordIndex());
+        assertFalse(spellChecker.goToErrorNumber(errors + 1));
+        assertFalse(spellChecker.goToErrorNumber(0));
+
+        assertTrue(spellChecker.goToFirstError());
+        assertEquals(1, spellChecker.getCurrentWordIndex());
+        assertTrue(spellChecker.getErrorType().contains("misspelled"));
+    }
+
+    // Test 5: Check that fixing an error removes it from the error count, and the current word then has no error number
+    @Test
+    void testFixedErrorsLeaveCount() throws IOException {
+        File document = TestFiles.write("The qwzx the end\n", ".txt");
+        SpellChecker spellChecker = new SpellChecker(document.getPath(), false);
+        int errors = spellChecker.getErrorCount();
+        ErrorIndex index = spellChecker.getErrorIndex();
+        assertEquals(1, spellChecker.getCurrentWordIndex());
+        spellChecker.getDocument().replaceWord(1, "the"); // now a double word with "The", as is the "the" after it
+        assertEquals(errors + 1, spellChecker.getErrorCount());
+        spellChecker.getDocument().replaceWord(1, "42"); // numbers are not checked
+        assertSame(index, spellChecker.getErrorIndex());
+        assertEquals(errors - 1, spellChecker.getErrorCount());
+        assertEquals(0, spellChecker.getErrorNumber());
+    }
+
+    // Test 6: Check that errors fixed through the cursor leave it one at a time, and it matches an index built again from scratch
+    @Test
+    void testFixingErrorsThroughCursor() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            text.append("Some qwzx words here.\n");
+        }
+        SpellChecker spellChecker = new SpellChecker(TestFiles.write(text.toString(), ".txt").getPath(), false);
+        ErrorIndex index = spellChecker.getErrorIndex();
+        int errors = spellChecker.getErrorCount();
+        assertTrue(errors >= 3000);
+        for (int fixed = 0; fixed < 200; fixed++) {
+            int n = fixed % 2 == 0 ? 1 : errors - fixed; // fix errors from both ends
+            assertTrue(spellChecker.goToErrorNumber(n));
+            assertEquals(n, spellChecker.getErrorNumber());
+            spellChecker.getDocument().replaceWord(spellChecker.getCurrentWordIndex(), "");
+            assertEquals(errors - fixed - 1, spellChecker.getErrorCount());
+        }
+        assertSame(index, spellChecker.getErrorIndex());
+        int[] positions = new int[index.getErrorCount()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = index.getErrorPosition(i);
+        }
+
+        spellChecker.addToIgnoredWords("zzzzqqq"); // built again, though no word is ignored
+        ErrorIndex rebuilt = spellChecker.getErrorIndex();
+        assertNotSame(index, rebuilt);
+        assertEquals(positions.length, rebuilt.getErrorCount());
+        for (int i = 0; i < positions.length; i++) {
+            assertEquals(rebuilt.getErrorPosition(i), positions[i], "error " + i);
+        }
+    }
+
+    // Test 7: Check that a batch edit of neighbouring words, across lines, is patched in to match an index built again from scratch
+    @Test
+    void testPatchedAfterBatchEdit() throws IOException {
+        SpellChecker spellChecker = new SpellChecker(TestFiles.write("Start qwzx qwzx the the Qwzx, end qwzx\nqwzx tail qwzx", ".txt").getPath(), false);
+        Document doc = spellChecker.getDocument();
+        ErrorIndex patched = spellChecker.getErrorIndex();
+        doc.replaceWords(new int[] {1, 2, 4, 5, 7, 9, 11}, new String[] {"", "word", "", "The", "", "", ""});
+        assertEquals(Arrays.asList("Start", "word", "the", "The,", "end", "\n", "tail", "\n"), doc.getWordsList());
+        assertSame(patched, spellChecker.getErrorIndex());
+        int misspellings = spellChecker.myMetrics.getNumMisspellingError();
+        int miscapitalizations = spellChecker.myMetrics.getNumMiscapitalizationError();
+        int doubleWords = spellChecker.myMetrics.getNumDoubleWordsError();
+
+        spellChecker.addToIgnoredWords("zzzzqqq"); // built again, though no word is ignored
+        ErrorIndex rebuilt = spellChecker.getErrorIndex();
+        assertNotSame(patched, rebuilt);
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(rebuilt.getMask(i), patched.getMask(i), "word " + i);
+        }
+
+        int countedMisspellings = 0, countedMiscapitalizations = 0, countedDoubleWords = 0;
+        for (int i = 0; i < doc.getOriginalIndex(doc.getWordsList().size() - 1); i++) { // the last word is not counted
+            if ((rebuilt.getMask(i) & ErrorIndex.MISSPELLED) != 0) countedMisspellings++;
+            if ((rebuilt.getMask(i) & ErrorIndex.MISCAPITALIZED) != 0) countedMiscapitalizations++;
+            if ((rebuilt.getMask(i) & ErrorIndex.DOUBLE_WORD) != 0) countedDoubleWords++;
+        }
+        assertEquals(countedMisspellings, misspellings);
+        assertEquals(countedMiscapitalizations, miscapitalizations);
+        assertEquals(countedDoubleWords, doubleWords);
+    }
+}
@@ -0,0 +1,91 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestIgnoredWordsStore {
+
+    // Test 1: Check that each document's ignored words are saved and loaded separately
+    @Test
+    void testSaveAndLoad() throws IOException {
+        File storeFile = TestFiles.missing(".dat"); // start without a store file
+        IgnoredWordsStore store = new IgnoredWordsStore(storeFile.getPath());
+        assertTrue(store.load("first.txt").isEmpty());
+
+        WordHashSet first = new WordHashSet();
+        first.add("qwzx");
+        first.add("zyxw");
+        store.save("first.txt", first);
+        WordHashSet second = new WordHashSet();
+        second.add("blorp");
+        store.save("second.txt", second);
+
+        WordHashSet loaded = new IgnoredWordsStore(storeFile.getPath()).load("first.txt");
+        assertEquals(2, loaded.size());
+        assertTrue(loaded.contains("qwzx"));
+        assertTrue(loaded.contains("zyxw"));
+        assertFalse(loaded.contains("blorp"));
+        assertTrue(store.load("second.txt").contains("blorp"));
+    }
+
+    // Test 2: Check that a word ignored in a document is still ignored when the document is opened again
+    @Test
+    void testSpellCheckerRemembersIgnoredWords() throws IOException {
+        File storeFile = TestFiles.missing(".dat");
+        File document = TestFiles.write("Start qwzx here.\n", ".txt");
+
+        SpellChecker spellChecker = new SpellChecker(document.getPath(), false);
+        spellChecker.setIgnoredWordsStore(new IgnoredWordsStore(storeFile.getPath()));
+        assertEquals("qwzx", spellChecker.getDocument().getWordsList().get(spellChecker.getCurrentWordIndex()));
+        spellChecker.addToIgnoredWords("qwzx");
+
+        SpellChecker reopened = new SpellChecker(document.getPath(), false);
+        int misspellings = reopened.myMetrics.getNumMisspellingError();
+        reopened.setIgnoredWordsStore(new IgnoredWordsStore(storeFile.getPath()));
+        assertTrue(reopened.ignoredWords.contains("qwzx"));
+        assertEquals(misspellings - 1, reopened.myMetrics.getNumMisspellingError());
+        assertNotEquals("qwzx", reopened.getDocument().getWordsList().get(reopened.getCurrentWordIndex()));
+    }
+
+    // Test 3: Check that saving replaces the file through a temporary file beside it, leaving no other files behind
+    @Test
+    void testSaveReplacesFile() throws IOException {
+        Path directory = Files.createTempDirectory("unitTestIgnoredStore");
+        File storeFile = directory.resolve("ignored.dat").toFile();
+        storeFile.deleteOnExit();
+        directory.toFile().deleteOnExit();
+        IgnoredWordsStore store = new IgnoredWordsStore(storeFile.getPath());
+        WordHashSet words = new WordHashSet();
+        words.add("qwzx");
+        store.save("first.txt", words);
+        words.add("zyxw");
+        store.save("first.txt", words);
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+        assertEquals(2, store.load("first.txt").size());
+    }
+
+    // Test 4: Check that swapping one ignored word for another, which leaves their number the same, still updates the errors
+    @Test
+    void testSwappedIgnoredWordIsSeen() throws IOException {
+        File document = TestFiles.write("Start qwzx zyxw here.\n", ".txt");
+        SpellChecker spellChecker = new SpellChecker(document.getPath(), false);
+        spellChecker.addToIgnoredWords("qwzx");
+        int errors = spellChecker.getErrorCount();
+        ErrorIndex index = spellChecker.getErrorIndex();
+
+        spellChecker.ignoredWords.remove("qwzx");
+        spellChecker.ignoredWords.add("zyxw");
+        assertNotSame(index, spellChecker.getErrorIndex()); // built again, though as many words are ignored
+        assertEquals(errors, spellChecker.getErrorCount());
+        assertTrue(spellChecker.getErrorIndex().getErrorNumber(1) >= 0); // qwzx is an error again
+        assertEquals(-1, spellChecker.getErrorIndex().getErrorNumber(2)); // zyxw is ignored
+    }
+}
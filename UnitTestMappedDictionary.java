@@ -0,0 +1,70 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class UnitTestMappedDictionary {
+    private static File compiledFile;
+
+    // Compile a small dictionary to a temporary file before running tests
+    @BeforeAll
+    static void setUp() throws IOException {
+        compiledFile = TestFiles.create(".dawg");
+        new DawgDictionary(Arrays.asList("apple", "apples", "banana", "band", "bandana")).save(compiledFile.getPath());
+    }
+
+    // Test 1: Check that the mapped file answers the same lookups as the DAWG it was compiled from
+    @Test
+    void testLookups() throws IOException {
+        MappedDictionary mappedDictionary = new MappedDictionary(compiledFile.getPath());
+        assertEquals(5, mappedDictionary.size());
+        assertTrue(mappedDictionary.containsWord("apples"));
+        assertTrue(mappedDictionary.containsWord("BanDana"));
+        assertFalse(mappedDictionary.containsWord("ban"));
+        assertFalse(mappedDictionary.containsWord("bananas"));
+    }
+
+    // Test 2: Check that the english dictionary maps a compiled file, without a bloom filter if the file has none
+    @Test
+    void testEnglishDictionaryMapsCompiledFile() {
+        EnglishDictionary englishDictionary = new EnglishDictionary(compiledFile.getPath(), true);
+        assertTrue(englishDictionary.getCompactDictionary() instanceof MappedDictionary);
+        assertNull(englishDictionary.englishDictionary); // no hash set is made beside the mapped file
+        assertTrue(englishDictionary.containsWord("Band"));
+        assertNull(englishDictionary.getBloomFilter());
+    }
+
+    // Test 3: Check that a damaged file is rejected by its checksum
+    @Test
+    void testChecksumMismatch() throws IOException {
+        File damagedFile = TestFiles.create(".dawg");
+        new DawgDictionary(Arrays.asList("apple", "banana")).save(damagedFile.getPath());
+        try (RandomAccessFile file = new RandomAccessFile(damagedFile, "rw")) {
+            file.seek(file.length() - 1);
+            file.write(0x7F); // change the last edge label
+        }
+        assertThrows(IOException.class, () -> new MappedDictionary(damagedFile.getPath()));
+    }
+
+    // Test 4: Check that a bloom filter compiled into the file is mapped with it, and turned off by a rate of 0
+    @Test
+    void testCompiledBloomFilter() throws IOException {
+        File wordList = TestFiles.write("apple\napples\nbanana\nband\nbandana\n", ".txt");
+        File filteredFile = TestFiles.create(".dawg");
+        assertEquals(5, DictionaryCompiler.compile(wordList.getPath(), filteredFile.getPath(), 0.001));
+
+        EnglishDictionary englishDictionary = new EnglishDictionary(filteredFile.getPath(), true);
+        BloomFilter bloomFilter = englishDictionary.getBloomFilter();
+        assertEquals(0.001, bloomFilter.getFalsePositiveRate());
+        assertEquals(0, bloomFilter.getMemoryFootprint()); // the bits stay in the mapped file
+        assertTrue(englishDictionary.containsWord("Bandana"));
+        assertFalse(englishDictionary.containsWord("bandanas"));
+        assertTrue(bloomFilter.getHitCount() > 0);
+        assertNull(new EnglishDictionary(filteredFile.getPath(), true, 0).getBloomFilter());
+    }
+}
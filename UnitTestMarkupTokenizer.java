@@ -0,0 +1,48 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestMarkupTokenizer {
+
+    private static List<String> tokenize(String... lines) {
+        MarkupTokenizer tokenizer = new MarkupTokenizer();
+        ArrayList<String> words = new ArrayList<String>();
+        for (String line : lines) {
+            tokenizer.tokenizeLine(line, 0, 0, line.length(), (start, end) -> words.add(line.substring(start, end)));
+        }
+        return words;
+    }
+
+    // Test 1: Check that only the words of text nodes are found, leaving out tags, attributes, comments and character references
+    @Test
+    void testTextNodeWords() {
+        assertEquals(List.of("Hello", "bold", "world.", "Tom", "Jerry"),
+                tokenize("<p class=\"a > b\">Hello <b>bold</b> world.<!-- a comment --> Tom&amp;Jerry&nbsp;</p>"));
+        assertEquals(List.of("a", "b", "AT", "T"), tokenize("a < b AT&T"));
+        assertEquals(List.of("title", "text"), tokenize("<?xml version=\"1.0\"?><!DOCTYPE x><t>title</t><![CDATA[ if (a < b) ]]>text"));
+    }
+
+    // Test 2: Check that tags, comments and script and style bodies spanning lines are left out, with the state kept between lines
+    @Test
+    void testMarkupAcrossLines() {
+        assertEquals(List.of("before", "after", "end"),
+                tokenize("before<img src='x.png'", "  alt=\"not words\">after<!--", "still a comment -->", "<script type=\"text/javascript\">", "if (a <b) { var notWords = 1; }", "</SCRIPT>end<style>p {color:red}</style>"));
+    }
+
+    // Test 3: Check that an HTML document's words keep their offsets in the markup, so saving it keeps the markup
+    @Test
+    void testDocumentWordsInMarkup() throws IOException {
+        File file = TestFiles.write("<p title=\"Teh\">The qwzx\n<em>spans</em> lines</p>\n", ".html");
+        Document doc = new Document(file.getPath(), true);
+        assertEquals(List.of("The", "qwzx", "\n", "spans", "lines", "\n"), doc.getWordsList());
+        doc.replaceWord(1, "quick");
+        doc.overwriteFile(doc.getWordsList());
+        assertEquals("<p title=\"Teh\">The quick\n<em>spans</em> lines</p>\n", new String(Files.readAllBytes(file.toPath())));
+    }
+}
@@ -0,0 +1,47 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestRankedBitSet {
+
+    // Test 1: Check rank and select on a set built from a test, including across longs
+    @Test
+    void testRankAndSelect() {
+        RankedBitSet bits = new RankedBitSet(200, i -> i % 3 == 0 || i == 199);
+        assertEquals(68, bits.count());
+        assertEquals(0, bits.rank(0));
+        assertEquals(1, bits.rank(1));
+        assertEquals(22, bits.rank(64));
+        assertEquals(68, bits.rank(200));
+        assertEquals(0, bits.select(0));
+        assertEquals(66, bits.select(22));
+        assertEquals(199, bits.select(67));
+        assertThrows(IndexOutOfBoundsException.class, () -> bits.select(68));
+    }
+
+    // Test 2: Check that setting and clearing bits keeps rank and select in step with a plain array
+    @Test
+    void testUpdatesMatchArray() {
+        Random random = new Random(7);
+        boolean[] expected = new boolean[1000];
+        RankedBitSet bits = new RankedBitSet(expected.length);
+        for (int step = 0; step < 5000; step++) {
+            int index = random.nextInt(expected.length);
+            boolean value = random.nextInt(3) > 0;
+            expected[index] = value;
+            bits.set(index, value);
+        }
+        int rank = 0;
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(rank, bits.rank(i), "rank " + i);
+            assertEquals(expected[i], bits.get(i));
+            if (expected[i]) {
+                assertEquals(i, bits.select(rank));
+                rank++;
+            }
+        }
+        assertEquals(rank, bits.count());
+    }
+}
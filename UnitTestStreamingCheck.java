@@ -0,0 +1,65 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestStreamingCheck {
+
+    // Checks a document both ways, and compares the errors, their context and the metrics
+    private static void assertStreamMatchesLoaded(String path, boolean isHTML) throws IOException {
+        SpellChecker spellChecker = new SpellChecker(path, isHTML);
+        Document doc = spellChecker.getDocument();
+        ErrorIndex index = spellChecker.getErrorIndex();
+
+        ArrayList<Integer> positions = new ArrayList<Integer>();
+        Metrics metrics = new Metrics();
+        try (FileReader reader = new FileReader(path)) {
+            spellChecker.checkStream(reader, isHTML, metrics, (position, word, errorTypes, contextBefore, contextAfter) -> {
+                positions.add(position);
+                assertEquals(doc.getWordsList().get(position), word);
+                assertEquals(doc.getTextBefore(position), contextBefore, "context before word " + position);
+                assertEquals(doc.getTextAfter(position), contextAfter, "context after word " + position);
+                assertFalse(errorTypes.isEmpty());
+            });
+        }
+
+        assertEquals(index.getErrorCount(), positions.size());
+        for (int i = 0; i < positions.size(); i++) {
+            assertEquals(index.getErrorPosition(i), positions.get(i));
+        }
+        assertEquals(spellChecker.myMetrics.getNumWords(), metrics.getNumWords());
+        assertEquals(spellChecker.myMetrics.getNumCharacters(), metrics.getNumCharacters());
+        assertEquals(spellChecker.myMetrics.getNumLines(), metrics.getNumLines());
+        assertEquals(spellChecker.myMetrics.getNumMisspellingError(), metrics.getNumMisspellingError());
+        assertEquals(spellChecker.myMetrics.getNumMiscapitalizationError(), metrics.getNumMiscapitalizationError());
+        assertEquals(spellChecker.myMetrics.getNumDoubleWordsError(), metrics.getNumDoubleWordsError());
+    }
+
+    // Test 1: Check that streaming a small text document finds the same errors, context and metrics as loading it
+    @Test
+    void testStreamMatchesLoadedText() throws IOException {
+        assertStreamMatchesLoaded("testDocument.txt", false);
+    }
+
+    // Test 2: Check that streaming an HTML document finds the same errors, context and metrics as loading it
+    @Test
+    void testStreamMatchesLoadedHTML() throws IOException {
+        assertStreamMatchesLoaded("testHTML.html", true);
+    }
+
+    // Test 3: Check that a document longer than several windows is checked the same way across window boundaries
+    @Test
+    void testStreamAcrossWindows() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 3 * SpellChecker.STREAM_WINDOW_WORDS / 10; i++) {
+            if (i % 7 == 0) text.append("\r\n");
+            text.append("the the Quick bRown fox. jumps over-teh lazy dog ").append(i).append(". end\n");
+        }
+        File document = TestFiles.write(text.toString(), ".txt");
+        assertStreamMatchesLoaded(document.getPath(), false);
+    }
+}
@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestSuggestionCache {
+
+    // Test 1: Check that the least recently used word is dropped when the cache is full
+    @Test
+    void testLeastRecentlyUsedDropped() {
+        SuggestionCache cache = new SuggestionCache(2);
+        cache.put("teh", new ArrayList<String>(Arrays.asList("the", "ten")));
+        cache.put("wrod", new ArrayList<String>(Arrays.asList("word")));
+        assertNotNull(cache.get("teh")); // "teh" is now the most recently used
+        cache.put("recieve", new ArrayList<String>(Arrays.asList("receive")));
+        assertEquals(2, cache.size());
+        assertNull(cache.get("wrod"));
+        assertEquals(Arrays.asList("the", "ten"), cache.get("teh"));
+        assertEquals(Arrays.asList("receive"), cache.get("recieve"));
+    }
+
+    // Test 2: Check the hit rate, and that changing a returned list does not change the cache
+    @Test
+    void testHitRate() {
+        SuggestionCache cache = new SuggestionCache();
+        assertEquals(0, cache.getHitRate());
+        assertNull(cache.get("teh"));
+        cache.put("teh", new ArrayList<String>(Arrays.asList("the")));
+        cache.get("teh").set(0, "THE");
+        assertEquals(Arrays.asList("the"), cache.get("teh"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    // Test 3: Check that the spell checker re-applies capitalization to cached suggestions, and empties the cache when the user dictionary changes
+    @Test
+    void testSpellCheckerCache() throws IOException {
+        File document = TestFiles.write("Start qwzx here. Qwzx again and QWZX\n", ".txt");
+        SpellChecker spellChecker = new SpellChecker(document.getPath(), false);
+        spellChecker.userDictionary.addWord("qwzxy");
+
+        ArrayList<ArrayList<String>> suggestions = new ArrayList<ArrayList<String>>();
+        while (!spellChecker.endOfDoc()) {
+            String word = SpellChecker.stripPunctuation(spellChecker.getDocument().getWordsList().get(spellChecker.getCurrentWordIndex()));
+            if (word.equalsIgnoreCase("qwzx")) suggestions.add(spellChecker.suggestMisspellingCorrections());
+            spellChecker.advanceNextError();
+        }
+        assertEquals(3, suggestions.size());
+        assertTrue(suggestions.get(0).contains("qwzxy"));
+        assertTrue(suggestions.get(1).contains("Qwzxy"));
+        assertTrue(suggestions.get(2).contains("QWZXY"));
+        assertEquals(2, spellChecker.getSuggestionCache().getHitCount());
+
+        spellChecker.userDictionary.addWord("aqwzx");
+        spellChecker.getSuggestionCache().resetCounters();
+        spellChecker.loadNewDocument(document.getPath(), false); // back to the first "qwzx"
+        assertTrue(spellChecker.suggestMisspellingCorrections().contains("aqwzx"));
+        assertEquals(1, spellChecker.getSuggestionCache().getMissCount());
+        spellChecker.close();
+    }
+}
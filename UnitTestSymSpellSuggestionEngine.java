@@ -0,0 +1,53 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class UnitTestSymSpellSuggestionEngine {
+    private static EnglishDictionary englishDictionary;
+
+    // Write a small word list to a temporary file before running tests
+    @BeforeAll
+    static void setUp() throws IOException {
+        File wordList = TestFiles.write(String.join("\n", Arrays.asList("ape", "apple", "apply", "banana", "band", "dictionary", "the", "ten")) + "\n", ".txt");
+        englishDictionary = new EnglishDictionary(wordList.getPath(), false);
+    }
+
+    // Test 1: Check that words up to two edits away are suggested, closest first
+    @Test
+    void testSuggestWithinDistance() {
+        SymSpellSuggestionEngine engine = new SymSpellSuggestionEngine(englishDictionary, new UserDictionary());
+        assertEquals(Arrays.asList("apple", "ape", "apply"), engine.suggest("appel"));
+        assertEquals(Arrays.asList("banana"), engine.suggest("bcnana")); // substitution
+        assertEquals(Arrays.asList("dictionary"), engine.suggest("dictionray")); // swap past the indexed prefix
+        assertEquals(Arrays.asList("ten", "the"), engine.suggest("teh"));
+        assertTrue(engine.suggest("zzzzzz").isEmpty());
+    }
+
+    // Test 2: Check that the distance can be limited to 1
+    @Test
+    void testMaxDistance() {
+        SymSpellSuggestionEngine engine = new SymSpellSuggestionEngine(englishDictionary, new UserDictionary(), 1);
+        assertEquals(Arrays.asList("apple"), engine.suggest("appel"));
+        assertEquals(1, engine.getMaxDistance());
+    }
+
+    // Test 3: Check that user dictionary words are suggested, and the user index follows words added and removed
+    @Test
+    void testUserDictionary() {
+        UserDictionary userDictionary = new UserDictionary();
+        SymSpellSuggestionEngine engine = new SymSpellSuggestionEngine(englishDictionary, userDictionary);
+        userDictionary.addWord("Appels");
+        ArrayList<String> suggestions = engine.suggest("appel");
+        assertEquals(Arrays.asList("appels", "apple", "ape", "apply"), suggestions);
+        userDictionary.removeWord("appels");
+        userDictionary.addWord("Bandanna");
+        assertEquals(Arrays.asList("apple", "ape", "apply"), engine.suggest("appel"));
+        assertEquals(Arrays.asList("banana", "bandanna"), engine.suggest("bandana"));
+    }
+}
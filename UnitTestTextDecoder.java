@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestTextDecoder {
+
+    private static ByteBuffer bytes(int... values) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(values.length);
+        for (int value : values) {
+            buffer.put((byte) value);
+        }
+        return buffer.flip();
+    }
+
+    // Test 1: Check that valid UTF-8 is accepted, and incomplete, overlong and surrogate sequences are not
+    @Test
+    void testIsUtf8() {
+        assertTrue(TextDecoder.isUtf8(ByteBuffer.wrap("plain ascii text, longer than eight bytes".getBytes(StandardCharsets.US_ASCII))));
+        assertTrue(TextDecoder.isUtf8(ByteBuffer.wrap("caf\u00E9 na\u00EFve \u65E5\u672C\u8A9E \uD83D\uDE00".getBytes(StandardCharsets.UTF_8))));
+        assertFalse(TextDecoder.isUtf8(bytes('c', 'a', 'f', 0xE9))); // caf\u00E9 in Windows-1252
+        assertFalse(TextDecoder.isUtf8(bytes(0xC0, 0x80))); // an overlong NUL
+        assertFalse(TextDecoder.isUtf8(bytes(0xED, 0xA0, 0x80))); // a surrogate
+        assertFalse(TextDecoder.isUtf8(bytes('a', 0xE6, 0x97))); // cut off
+    }
+
+    // Test 2: Check that the charset is detected from a byte order mark, or from whether the bytes are UTF-8
+    @Test
+    void testDetect() {
+        assertEquals(StandardCharsets.UTF_8, TextDecoder.detect(bytes(0xEF, 0xBB, 0xBF, 'a')));
+        assertEquals(3, TextDecoder.byteOrderMarkLength(bytes(0xEF, 0xBB, 0xBF, 'a')));
+        assertEquals(StandardCharsets.UTF_16LE, TextDecoder.detect(bytes(0xFF, 0xFE, 'a', 0)));
+        assertEquals(StandardCharsets.UTF_16BE, TextDecoder.detect(bytes(0xFE, 0xFF, 0, 'a')));
+        assertEquals(Charset.forName("UTF-32LE"), TextDecoder.detect(bytes(0xFF, 0xFE, 0, 0)));
+        assertEquals(StandardCharsets.UTF_8, TextDecoder.detect(bytes('c', 'a', 'f', 0xC3, 0xA9)));
+        assertEquals(0, TextDecoder.byteOrderMarkLength(bytes('c', 'a', 'f', 0xC3, 0xA9)));
+        assertNotEquals(StandardCharsets.UTF_8, TextDecoder.detect(bytes('c', 'a', 'f', 0xE9)));
+        assertEquals(StandardCharsets.UTF_8, TextDecoder.detect(bytes()));
+    }
+
+    // Test 3: Check that documents are read in their detected charset, whatever the platform's default, and saved in it
+    @Test
+    void testDocumentCharsets() throws IOException {
+        Document utf8 = new Document(TestFiles.write("The caf\u00E9 is na\u00EFve\n", ".txt").getPath(), false);
+        assertEquals(List.of("The", "caf\u00E9", "is", "na\u00EFve", "\n"), utf8.getWordsList());
+
+        Document latin = new Document(TestFiles.write("The caf\u00E9 is na\u00EFve\n".getBytes("windows-1252"), ".txt").getPath(), false);
+        assertEquals(List.of("The", "caf\u00E9", "is", "na\u00EFve", "\n"), latin.getWordsList());
+
+        byte[] bom = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+        byte[] content = "Teh r\u00E9sum\u00E9\n".getBytes(StandardCharsets.UTF_8);
+        byte[] withBom = new byte[bom.length + content.length];
+        System.arraycopy(bom, 0, withBom, 0, bom.length);
+        System.arraycopy(content, 0, withBom, bom.length, content.length);
+        File file = TestFiles.write(withBom, ".txt");
+        Document doc = new Document(file.getPath(), false);
+        assertEquals(List.of("Teh", "r\u00E9sum\u00E9", "\n"), doc.getWordsList());
+        doc.replaceWord(0, "The");
+        doc.overwriteFile(doc.getWordsList());
+        byte[] saved = Files.readAllBytes(file.toPath());
+        assertEquals("\uFEFFThe r\u00E9sum\u00E9\n", new String(saved, StandardCharsets.UTF_8));
+
+        File utf16 = TestFiles.write("\uFEFFIt is \u00FCber\n".getBytes(StandardCharsets.UTF_16LE), ".txt");
+        Document wide = new Document(utf16.getPath(), false);
+        assertEquals(StandardCharsets.UTF_16LE, wide.getCharset());
+        assertEquals(List.of("It", "is", "\u00FCber", "\n"), wide.getWordsList());
+        wide.replaceWord(2, "uber");
+        wide.overwriteFile(wide.getWordsList());
+        assertEquals("\uFEFFIt is uber\n", new String(Files.readAllBytes(utf16.toPath()), StandardCharsets.UTF_16LE));
+    }
+}
@@ -0,0 +1,51 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestToken {
+
+    // Test 1: Check that a token finds its core word, the punctuation a replacement keeps, and whether it is a number
+    @Test
+    void testCoreAndPunctuation() {
+        Token quoted = new Token("(\"Hello!\")", 0, 10);
+        assertEquals("Hello", quoted.getCore());
+        assertEquals("hello", quoted.getLowerCaseCore());
+        assertEquals("(\"", quoted.getLeadingPunctuation());
+        assertEquals("!\")", quoted.getTrailingPunctuation());
+        assertFalse(quoted.isNumeric());
+
+        Token number = new Token("-42,", 0, 4);
+        assertEquals("42", number.getCore()); // stripPunctuation strips the sign too
+        assertTrue(number.isNumeric());
+
+        Token plain = new Token("word", 0, 4);
+        assertNull(plain.getLeadingPunctuation());
+        assertNull(plain.getTrailingPunctuation());
+        assertTrue(new Token("...", 0, 3).isEmpty());
+        assertTrue(new Token("\n", 0, 1).isNewline());
+        assertEquals(SpellChecker.stripPunctuation("'#quoted'.."), new Token("'#quoted'..", 0, 11).getCore());
+    }
+
+    // Test 2: Check that tokens record where each word is in the document's text, whatever the line breaks
+    @Test
+    void testDocumentOffsets() throws IOException {
+        File document = TestFiles.write("One well-known\r\nline  two\rthree", ".txt");
+        Document doc = new Document(document.getPath(), false);
+        // One, well-, known, \n, line, "", two, \n, three, \n
+        assertEquals(0, doc.getToken(0).getStart());
+        assertEquals(4, doc.getToken(1).getStart());
+        assertEquals(9, doc.getToken(2).getStart());
+        assertEquals(14, doc.getToken(3).getStart());
+        assertEquals(16, doc.getToken(3).getEnd()); // the newline covers the CRLF
+        assertEquals(16, doc.getToken(4).getStart());
+        assertEquals(22, doc.getToken(6).getStart());
+        assertEquals(26, doc.getToken(8).getStart());
+
+        doc.replaceWord(2, "famous");
+        assertEquals("famous", doc.getWordsList().get(2));
+        assertEquals(9, doc.getToken(2).getStart()); // a replacement takes the place of the word it replaced
+    }
+}
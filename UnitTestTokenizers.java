@@ -0,0 +1,84 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestTokenizers {
+
+    private static List<String> tokenize(Tokenizer tokenizer, String... lines) {
+        ArrayList<String> words = new ArrayList<String>();
+        for (String line : lines) {
+            tokenizer.tokenizeLine(line, 0, 0, line.length(), (start, end) -> words.add(line.substring(start, end)));
+        }
+        return words;
+    }
+
+    // Test 1: Check that plain text is split at spaces the way String.split(" ") splits it
+    @Test
+    void testPlainText() {
+        assertEquals(List.of("a", "", "b\tc"), tokenize(new PlainTextTokenizer(), "a  b\tc   "));
+        assertEquals(List.of(""), tokenize(new PlainTextTokenizer(), ""));
+        assertEquals(List.of(), tokenize(new PlainTextTokenizer(), "   "));
+    }
+
+    // Test 2: Check that Markdown code, links' destinations, HTML and block and emphasis markers are left out
+    @Test
+    void testMarkdown() {
+        assertEquals(List.of("Title", "Some", "bold", "and", "emphasis", "with", "a", "link", "here."),
+                tokenize(new MarkdownTokenizer(), "# Title", "", "> - Some **bold** and _emphasis_ with `codeSpan()` a [link](http://x.io/teh) here."));
+        assertEquals(List.of("Before", "after", "text"),
+                tokenize(new MarkdownTokenizer(), "Before", "```java", "int notWords = 1;", "```", "",
+                        "    indented code", "", "after <span class=\"x\">text</span> <!-- a", "comment -->", "[id]: http://example.com"));
+        assertEquals(List.of("snake", "123"), tokenize(new MarkdownTokenizer(), "snake_case_name __snake__ 123_"));
+    }
+
+    // Test 3: Check that LaTeX commands, math, comments and the arguments of reference commands are left out
+    @Test
+    void testLatex() {
+        assertEquals(List.of("Introduction", "We", "show", "that", "holds", "(see", "for", "proofs."),
+                tokenize(new LatexTokenizer(), "\\documentclass[12pt]{article} \\usepackage{amsmath}",
+                        "\\section{Introduction}\\label{sec:intro}", "We \\emph{show} that $x^2 \\geq 0$ holds % a comment",
+                        "(see \\cite[p.~2]{knuth}) for proofs."));
+        assertEquals(List.of("Before", "after", "done"),
+                tokenize(new LatexTokenizer(), "Before \\begin{align}", "a &= b \\\\", "\\end{align} after \\[ x", "+ y \\]",
+                        "\\verb|notWords| \\newcommand{\\foo}[1]{bar} ``done''"));
+    }
+
+    // Test 4: Check that only the prose of comments in source code is found, leaving out code, literals, tags and identifiers
+    @Test
+    void testComments() {
+        assertEquals(List.of("Reads", "the", "from", "disk.", "the", "path", "the", "count,", "or", "if", "none"),
+                tokenize(new CommentTokenizer(), "/**", " * Reads the {@code File} from disk.", " *",
+                        " * @param filePath the path", " * @return the count, or {@link #NONE} if none", " */",
+                        "String s = \"// not a comment\"; char c = '\"'; int myVar = 1; // myVar",
+                        "call(x); /* foo.bar() snake_case <b>"));
+        assertEquals(List.of("Returns", "the", "count,", "or", "if", "none"),
+                tokenize(new CommentTokenizer(), "/* Returns the count, or {@link", "#NONE} if none */ x = 1;"));
+        assertTrue(CommentTokenizer.isCode("getText", 0, 7));
+        assertFalse(CommentTokenizer.isCode("e.g.", 0, 4));
+    }
+
+    // Test 5: Check that the registry finds each format's tokenizer by extension, and a document is split by it
+    @Test
+    void testRegistry() throws IOException {
+        assertTrue(TokenizerRegistry.forPath("notes/README.MD").get() instanceof MarkdownTokenizer);
+        assertTrue(TokenizerRegistry.forPath("paper.tex").get() instanceof LatexTokenizer);
+        assertTrue(TokenizerRegistry.forExtension(".cpp").get() instanceof CommentTokenizer);
+        assertTrue(TokenizerRegistry.forPath("page.xhtml").get() instanceof MarkupTokenizer);
+        assertTrue(TokenizerRegistry.forPath("no.extension/file").get() instanceof PlainTextTokenizer);
+        TokenizerRegistry.register("rst", MarkdownTokenizer::new);
+        assertTrue(TokenizerRegistry.forExtension("RST").get() instanceof MarkdownTokenizer);
+
+        File file = TestFiles.write("Teh `code` word\n", ".md");
+        Document doc = new Document(file.getPath(), TokenizerRegistry.forPath(file.getPath()));
+        assertEquals(List.of("Teh", "word", "\n"), doc.getWordsList());
+        doc.replaceWord(0, "The");
+        doc.overwriteFile(doc.getWordsList());
+        assertEquals("The `code` word\n", new String(Files.readAllBytes(file.toPath())));
+    }
+}
@@ -0,0 +1,46 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestWordHashSet {
+
+    // Test 1: Check that words are found ignoring case, and that duplicates are not added twice
+    @Test
+    void testAddAndContains() {
+        WordHashSet words = new WordHashSet();
+        assertTrue(words.add("Apple"));
+        assertFalse(words.add("APPLE"));
+        assertEquals(1, words.size());
+        assertTrue(words.contains("apple"));
+        assertTrue(words.contains("aPpLe"));
+        assertFalse(words.contains("apples"));
+    }
+
+    // Test 2: Check that a slice of a buffer is looked up in place
+    @Test
+    void testContainsSlice() {
+        WordHashSet words = new WordHashSet();
+        words.add("cat");
+        String buffer = "the CAT sat";
+        assertTrue(words.contains(buffer, 4, 7));
+        assertFalse(words.contains(buffer, 0, 3));
+        assertFalse(words.contains(buffer, 4, 6));
+    }
+
+    // Test 3: Check that removing words keeps every other word reachable while the set grows
+    @Test
+    void testRemoveAndGrow() {
+        WordHashSet words = new WordHashSet();
+        for (int i = 0; i < 1000; i++) {
+            words.add("word" + i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertTrue(words.remove("word" + i));
+        }
+        assertFalse(words.remove("word0"));
+        assertEquals(500, words.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, words.contains("word" + i));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class UnitTestWordOccurrenceIndex {
+
+    // Test 1: Check that occurrences are found ignoring case and punctuation, and move when a word is replaced
+    @Test
+    void testPositions() throws IOException {
+        Document doc = new Document(TestFiles.write("Teh cat saw teh dog, TEH end.\n", ".txt").getPath(), false);
+        WordOccurrenceIndex index = doc.getOccurrenceIndex();
+        assertArrayEquals(new int[] {0, 3, 5}, index.getPositions("teh"));
+        assertEquals(3, index.getCount("(Teh!)"));
+        assertEquals(0, index.getCount("missing"));
+
+        doc.replaceWord(3, "the");
+        assertSame(index, doc.getOccurrenceIndex());
+        assertArrayEquals(new int[] {0, 5}, index.getPositions("teh"));
+        assertArrayEquals(new int[] {3}, index.getPositions("the"));
+
+        doc.replaceWord(1, ""); // removing a word moves the words after it
+        assertSame(index, doc.getOccurrenceIndex()); // the index is kept, not built again
+        assertArrayEquals(new int[] {0, 4}, index.getPositions("teh"));
+        assertArrayEquals(new int[] {2}, index.getPositions("the"));
+        assertEquals(0, index.getCount("cat"));
+
+        doc.replaceWord(4, "teh"); // replacing a word after the removed one
+        assertArrayEquals(new int[] {0, 4}, index.getPositions("teh"));
+        doc.replaceWord(0, "");
+        assertArrayEquals(new int[] {3}, index.getPositions("teh"));
+        assertArrayEquals(new int[] {1}, index.getPositions("the"));
+    }
+
+    // Test 2: Check that Replace All fixes every occurrence with matching capitalization and counts them as accepted
+    @Test
+    void testReplaceAll() throws IOException {
+        SpellChecker spellChecker = new SpellChecker(TestFiles.write("Start qwzx here, Qwzx again and QWZX. qwzx\n", ".txt").getPath(), false);
+        assertEquals("qwzx", spellChecker.getDocument().getWordsList().get(spellChecker.getCurrentWordIndex()));
+        int misspellings = spellChecker.myMetrics.getNumMisspellingError();
+
+        assertEquals(4, spellChecker.replaceAllOccurrences("the"));
+        List<String> words = spellChecker.getDocument().getWordsList();
+        assertEquals(Arrays.asList("Start", "the", "here,", "The", "again", "and", "THE.", "the", "\n"), words);
+        assertEquals(4, spellChecker.myMetrics.getNumAcceptedSuggestions());
+        assertEquals(misspellings - 4, spellChecker.myMetrics.getNumMisspellingError());
+    }
+
+    // Test 3: Check that Delete All removes every occurrence, keeps punctuation, and counts each as a deletion
+    @Test
+    void testDeleteAll() throws IOException {
+        SpellChecker spellChecker = new SpellChecker(TestFiles.write("Start qwzx here, qwzx. again qwzx\n", ".txt").getPath(), false);
+        assertEquals(1, spellChecker.getCurrentWordIndex());
+
+        assertEquals(3, spellChecker.deleteAllOccurrences());
+        assertEquals(Arrays.asList("Start", "here,", ".", "again", "\n"), spellChecker.getDocument().getWordsList());
+        assertEquals(3, spellChecker.myMetrics.getNumDeletions());
+        assertEquals(1, spellChecker.getCurrentWordIndex());
+        assertEquals(0, spellChecker.getDocument().getOccurrenceIndex().getCount("qwzx"));
+    }
+}
@@ -3,11 +3,14 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 /**
  * The UserDictionary class is responsible for loading a list of user defined words
  * into a user dictionary, and provides functionality for resetting, adding, modifying,
- * removing, checking, and saving the dictionary.
+ * removing, checking, and saving the dictionary. A bloom filter kept alongside
+ * the words rejects most non-words before the dictionary lookup, and a word
+ * hash set mirrors the words so they can be looked up in place in a buffer.
  * 
  * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
  * @author      Jodi Keizer <jkeizer@uwo.ca>
@@ -18,13 +21,20 @@ import java.util.Collections;
  */
 
 public class UserDictionary {
+    private static final int MIN_BLOOM_CAPACITY = 64;
+
     private Hashtable<String, Boolean> userDictionary;
+    private WordHashSet words;
+    private BloomFilter bloomFilter;
+    private double falsePositiveRate = BloomFilter.DEFAULT_FALSE_POSITIVE_RATE;
+    private int version;
 
     /**
      * Constructor for the user dictionary class.
      */
     public UserDictionary() {
         userDictionary = new Hashtable<>();
+        rebuildBloomFilter();
     }
 
     /**
@@ -32,6 +42,60 @@ public class UserDictionary {
      */
     public void resetDictionary() {
         userDictionary.clear();
+        version++;
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Sets the false positive rate of the bloom filter in front of the user
+     * dictionary, and rebuilds the filter. A rate of 0 turns the filter off.
+     *
+     * @param falsePositiveRate the bloom filter's false positive rate, or 0 for no filter
+     */
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+        rebuildBloomFilter();
+    }
+
+    /**
+     * Retrieves the bloom filter in front of the user dictionary, for its hit and miss counters.
+     *
+     * @return the bloom filter, or null if it is turned off
+     */
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
+    /**
+     * Retrieves the number of changes made to the user dictionary so far. Anything
+     * computed from its words is out of date once the version changes.
+     *
+     * @return the version of the user dictionary's words
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Rebuilds the word hash set and the bloom filter from the words in the user
+     * dictionary. Bloom filters cannot forget words, so this is done whenever words
+     * are removed, and when the filter has grown past the number of words it was
+     * sized for.
+     */
+    private void rebuildBloomFilter() {
+        words = new WordHashSet(userDictionary.size());
+        for (String word : userDictionary.keySet()) {
+            words.add(word);
+        }
+        if (falsePositiveRate <= 0) {
+            bloomFilter = null;
+            return;
+        }
+        BloomFilter newFilter = new BloomFilter(Math.max(MIN_BLOOM_CAPACITY, 2 * userDictionary.size()), falsePositiveRate);
+        for (String word : userDictionary.keySet()) {
+            newFilter.add(word);
+        }
+        bloomFilter = newFilter;
     }
 
     /**
@@ -59,6 +123,8 @@ public class UserDictionary {
         } catch (IOException | ClassNotFoundException e) {
             e.printStackTrace();
         }
+        version++;
+        rebuildBloomFilter();
     }
 
     /**
@@ -67,7 +133,14 @@ public class UserDictionary {
      * @param word the word to add to the user dictionary
      */
     public void addWord(String word) {
-        userDictionary.put(word.toLowerCase(), true);
+        String lowerWord = word.toLowerCase();
+        userDictionary.put(lowerWord, true);
+        words.add(lowerWord);
+        version++;
+        if (bloomFilter != null) {
+            bloomFilter.add(lowerWord);
+            if (bloomFilter.isOverCapacity()) rebuildBloomFilter();
+        }
     }
 
     /**
@@ -77,6 +150,8 @@ public class UserDictionary {
      */
     public void removeWord(String word) {
         userDictionary.remove(word.toLowerCase());
+        version++;
+        rebuildBloomFilter();
     }
 
     /**
@@ -88,6 +163,8 @@ public class UserDictionary {
     public void editWord(String oldWord, String newWord) {
         // Remove the old word and add the new one
         userDictionary.remove(oldWord.toLowerCase());
+        version++;
+        rebuildBloomFilter();
         addWord(newWord);
     }
 
@@ -98,7 +175,42 @@ public class UserDictionary {
      * @return true if word is in dictionary, false otherwise
      */
     public boolean containsWord(String word) {
-        return userDictionary.containsKey(word.toLowerCase());
+        String lowerWord = word.toLowerCase();
+        if (bloomFilter != null && !bloomFilter.mightContain(lowerWord)) return false; // definitely not in the dictionary
+        return userDictionary.containsKey(lowerWord);
+    }
+
+    /**
+     * Checks if part of a buffer, ignoring case, is in the user dictionary. Case is
+     * folded one character at a time, so no String is created for the word.
+     *
+     * @param buffer the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return true if word is in dictionary, false otherwise
+     */
+    public boolean containsWord(CharSequence buffer, int start, int end) {
+        if (bloomFilter != null && !bloomFilter.mightContain(buffer, start, end)) return false;
+        return words.contains(buffer, start, end);
+    }
+
+    /**
+     * Passes every word in the user dictionary, in lowercase and in no particular
+     * order, to an action. The words are not copied or sorted first.
+     *
+     * @param action the action to perform on each word
+     */
+    public void forEachWord(Consumer<? super String> action) {
+        words.forEach(action);
+    }
+
+    /**
+     * Retrieves the number of words in the user dictionary.
+     *
+     * @return the number of words in the user dictionary
+     */
+    public int size() {
+        return words.size();
     }
 
     /**
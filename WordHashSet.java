@@ -0,0 +1,249 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The WordHashSet class is a set of lowercase words that can be searched with
+ * any slice of a CharSequence, ignoring case, without creating a String for
+ * the slice. Case is folded character by character while the slice is hashed
+ * and compared, so a word can be looked up in place inside a larger buffer.
+ *
+ * The set uses open addressing with linear probing, and keeps each word's hash
+ * next to it so most mismatches are rejected without comparing characters.
+ * It counts the changes made to it, so anything computed from its words can
+ * tell when they are out of date.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class WordHashSet implements Iterable<String> {
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] words;
+    private int[] hashes;
+    private int size;
+    private int modificationCount;
+
+    /**
+     * Constructor for the word hash set class.
+     */
+    public WordHashSet() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Constructor for the word hash set class, sized to hold a number of words
+     * without growing.
+     *
+     * @param expectedWords the number of words expected to be added
+     */
+    public WordHashSet(int expectedWords) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * expectedWords) capacity *= 2; // keep the table at most half full
+        words = new String[capacity];
+        hashes = new int[capacity];
+    }
+
+    /**
+     * Hashes part of a word, folding each character to lowercase.
+     *
+     * @param word the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return the hash of the lowercase word
+     */
+    static int hash(CharSequence word, int start, int end) {
+        int hash = 0x811c9dc5;
+        for (int i = start; i < end; i++) {
+            hash ^= Character.toLowerCase(word.charAt(i));
+            hash *= 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Adds a word (converted to lowercase) to the set.
+     *
+     * @param word the word to add
+     * @return true if the word was added, false if it was already in the set
+     */
+    public boolean add(String word) {
+        String lowerWord = word.toLowerCase();
+        int hash = hash(lowerWord, 0, lowerWord.length());
+        int slot = find(lowerWord, 0, lowerWord.length(), hash);
+        if (words[slot] != null) return false;
+        words[slot] = lowerWord;
+        hashes[slot] = hash;
+        size++;
+        modificationCount++;
+        if (2 * size > words.length) resize(2 * words.length);
+        return true;
+    }
+
+    /**
+     * Checks if a word, when converted to lowercase, is in the set.
+     *
+     * @param word the word to check
+     * @return true if the word is in the set, false otherwise
+     */
+    public boolean contains(String word) {
+        return contains(word, 0, word.length());
+    }
+
+    /**
+     * Checks if part of a buffer, ignoring case, is a word in the set. No
+     * objects are created by the lookup.
+     *
+     * @param buffer the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return true if the word is in the set, false otherwise
+     */
+    public boolean contains(CharSequence buffer, int start, int end) {
+        return words[find(buffer, start, end, hash(buffer, start, end))] != null;
+    }
+
+    /**
+     * Removes a word from the set.
+     *
+     * @param word the word to remove
+     * @return true if the word was removed, false if it was not in the set
+     */
+    public boolean remove(String word) {
+        int slot = find(word, 0, word.length(), hash(word, 0, word.length()));
+        if (words[slot] == null) return false;
+        words[slot] = null;
+        size--;
+        modificationCount++;
+
+        // shift later words of the same probe run back, so no lookup stops early at the gap
+        int mask = words.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; words[next] != null; next = (next + 1) & mask) {
+            int home = hashes[next] & mask;
+            boolean movable = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (movable) {
+                words[gap] = words[next];
+                hashes[gap] = hashes[next];
+                words[next] = null;
+                gap = next;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the slot holding a word, or the empty slot where it would be added.
+     */
+    private int find(CharSequence buffer, int start, int end, int hash) {
+        int mask = words.length - 1;
+        int slot = hash & mask;
+        while (words[slot] != null) {
+            if (hashes[slot] == hash && matches(words[slot], buffer, start, end)) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Compares a stored lowercase word with part of a buffer, folding the buffer to lowercase.
+     */
+    private static boolean matches(String word, CharSequence buffer, int start, int end) {
+        if (word.length() != end - start) return false;
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) != Character.toLowerCase(buffer.charAt(start + i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Moves every word into a table of a new capacity.
+     */
+    private void resize(int capacity) {
+        String[] oldWords = words;
+        int[] oldHashes = hashes;
+        words = new String[capacity];
+        hashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldWords.length; i++) {
+            if (oldWords[i] == null) continue;
+            int slot = oldHashes[i] & mask;
+            while (words[slot] != null) slot = (slot + 1) & mask;
+            words[slot] = oldWords[i];
+            hashes[slot] = oldHashes[i];
+        }
+    }
+
+    /**
+     * Removes every word from the set.
+     */
+    public void clear() {
+        if (size == 0) return;
+        Arrays.fill(words, null);
+        size = 0;
+        modificationCount++;
+    }
+
+    /**
+     * Retrieves the number of changes made to the set so far. Anything computed
+     * from its words is out of date once the count changes.
+     *
+     * @return the number of words added and removed, and times the set was cleared
+     */
+    public int getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Retrieves the number of words in the set.
+     *
+     * @return the number of words in the set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the set has no words.
+     *
+     * @return true if the set is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Iterates over the words in the set, in no particular order.
+     *
+     * @return an iterator over the lowercase words
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int slot = advance(0);
+
+            private int advance(int from) {
+                while (from < words.length && words[from] == null) from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return slot < words.length;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                String word = words[slot];
+                slot = advance(slot + 1);
+                return word;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+import java.util.function.Consumer;
+
+/**
+ * The WordLookup interface is implemented by the compact stores an
+ * EnglishDictionary can keep its words in. Lookups are case insensitive, and
+ * can be made on a slice of a buffer without creating a String for it.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public interface WordLookup {
+    /**
+     * Checks if a word, when converted to lowercase, is in the store or not.
+     *
+     * @param word the word to check
+     * @return true if the word is in the store, false otherwise
+     */
+    boolean containsWord(String word);
+
+    /**
+     * Checks if part of a buffer, ignoring case, is a word in the store. Case is
+     * folded one character at a time, and no objects are created by the lookup.
+     *
+     * @param buffer the buffer holding the word
+     * @param start the index of the first character of the word
+     * @param end the index after the last character of the word
+     * @return true if the word is in the store, false otherwise
+     */
+    boolean containsWord(CharSequence buffer, int start, int end);
+
+    /**
+     * Passes every word in the store, in lowercase, to an action.
+     *
+     * @param action the action to perform on each word
+     */
+    void forEachWord(Consumer<? super String> action);
+
+    /**
+     * Retrieves the number of distinct words in the store.
+     *
+     * @return the number of words in the store
+     */
+    int size();
+}
@@ -0,0 +1,134 @@
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * The WordOccurrenceIndex class is an inverted index of a document, mapping
+ * each word to the positions of its occurrences in the words list, so every
+ * occurrence of a word can be found without reading the whole document. Words
+ * are normalized the way the spell checker compares them: without leading or
+ * trailing punctuation, and in lowercase. Empty words and newlines are not
+ * indexed.
+ *
+ * The positions of each word are kept as original indices (see
+ * Document.getOriginalIndex), sorted in a growable int array, and are turned
+ * into positions in the words list when they are asked for. Original indices do
+ * not move when a word is removed, so an edit only changes the occurrences of
+ * the word edited: a replaced word's position moves from the old word's
+ * occurrences to the new word's, and a removed word's position is dropped.
+ *
+ * @author      Joud Adel Al-Lahham <jallahha@uwo.ca>
+ * @author      Jodi Keizer <jkeizer@uwo.ca>
+ * @author      Anna Ma <ama92@uwo.ca>
+ * @author      Ivan Quan <iquan5@uwo.ca>
+ * @author      Kevin Xie <kxie49@uwo.ca>
+ * @version     1.0
+ */
+
+public class WordOccurrenceIndex {
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final Document doc;
+    private final HashMap<String, Positions> occurrences = new HashMap<String, Positions>(); // original indices of each word
+
+    /**
+     * Constructor for the word occurrence index class, indexing every word of a document.
+     *
+     * @param doc the document to index
+     */
+    public WordOccurrenceIndex(Document doc) {
+        this.doc = doc;
+        int size = doc.getWordsList().size();
+        for (int i = 0; i < size; i++) {
+            Token token = doc.getToken(i);
+            if (isIndexed(token)) occurrences.computeIfAbsent(token.getLowerCaseCore(), word -> new Positions()).append(doc.getOriginalIndex(i));
+        }
+    }
+
+    /**
+     * Retrieves the positions of every occurrence of a word.
+     *
+     * @param word the word, which is normalized before it is looked up
+     * @return the positions of the word in the words list, in increasing order
+     */
+    public int[] getPositions(String word) {
+        Positions positions = occurrences.get(SpellChecker.stripPunctuation(word).toLowerCase());
+        if (positions == null) return NO_POSITIONS;
+        int[] indices = new int[positions.size];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = doc.getIndex(positions.positions[i]); // O(log n) each, through the document's live word counts
+        }
+        return indices;
+    }
+
+    /**
+     * Retrieves the number of occurrences of a word.
+     *
+     * @param word the word, which is normalized before it is looked up
+     * @return the number of times the word occurs in the document
+     */
+    public int getCount(String word) {
+        Positions positions = occurrences.get(SpellChecker.stripPunctuation(word).toLowerCase());
+        return positions == null ? 0 : positions.size;
+    }
+
+    /**
+     * Moves a position from one word's occurrences to another's, after the word
+     * there was replaced.
+     *
+     * @param originalIndex the original index of the replaced word
+     * @param oldToken the token of the word that was replaced
+     * @param newToken the token of the word that replaced it
+     */
+    void wordReplaced(int originalIndex, Token oldToken, Token newToken) {
+        wordRemoved(originalIndex, oldToken);
+        if (isIndexed(newToken)) occurrences.computeIfAbsent(newToken.getLowerCaseCore(), word -> new Positions()).add(originalIndex);
+    }
+
+    /**
+     * Drops a position from a word's occurrences, after the word there was removed.
+     * The positions of the words after it are original indices, so they stay as they are.
+     *
+     * @param originalIndex the original index of the removed word
+     * @param oldToken the token of the word that was removed
+     */
+    void wordRemoved(int originalIndex, Token oldToken) {
+        if (!isIndexed(oldToken)) return;
+        Positions positions = occurrences.get(oldToken.getLowerCaseCore());
+        positions.remove(originalIndex);
+        if (positions.size == 0) occurrences.remove(oldToken.getLowerCaseCore());
+    }
+
+    private static boolean isIndexed(Token token) {
+        return !token.isEmpty() && !token.isNewline();
+    }
+
+    /**
+     * The sorted positions of one word.
+     */
+    private static class Positions {
+        int[] positions = new int[2];
+        int size;
+
+        void append(int position) { // positions are appended in increasing order while indexing
+            if (size == positions.length) positions = Arrays.copyOf(positions, 2 * size);
+            positions[size++] = position;
+        }
+
+        void add(int position) {
+            int insertAt = Arrays.binarySearch(positions, 0, size, position);
+            if (insertAt >= 0) return; // already there
+            insertAt = -insertAt - 1;
+            if (size == positions.length) positions = Arrays.copyOf(positions, 2 * size);
+            System.arraycopy(positions, insertAt, positions, insertAt + 1, size - insertAt);
+            positions[insertAt] = position;
+            size++;
+        }
+
+        void remove(int position) {
+            int removeAt = Arrays.binarySearch(positions, 0, size, position);
+            if (removeAt < 0) return;
+            System.arraycopy(positions, removeAt + 1, positions, removeAt, size - removeAt - 1);
+            size--;
+        }
+    }
+}